@@ -0,0 +1,94 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures how {@link BatchFunctions} scales with the parallelism of its
+ * pool. A batch of <code>size</code> values is calculated per operation, so
+ * the time at parallelism 1 divided by the time at parallelism n is the
+ * speedup. Run it with a single benchmark thread, <code>-Dthreads=1</code>,
+ * and only parallelisms up to the number of cores mean anything.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BatchBenchmark {
+
+	@Param({ "1", "2", "4", "8", "16" })
+	public int parallelism;
+
+	@Param({ "32", "128" })
+	public int precision;
+
+	@Param({ "4096" })
+	public int size;
+
+	private MathContext mc;
+	private ForkJoinPool pool;
+	private BigDecimal[] values;
+	private BigDecimal[] out;
+
+	@Setup
+	public void setUp() {
+		mc = new MathContext(precision);
+		pool = new ForkJoinPool(parallelism);
+		values = new BigDecimal[size];
+		out = new BigDecimal[size];
+
+		// Values spread over a few magnitudes, so that some cost more than
+		// others as in a real batch.
+		for (int i = 0; i < size; i++) {
+			values[i] = BigDecimal.valueOf(i * 7919L % 100000 + 1, 3);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public BigDecimal[] exp() {
+		BatchFunctions.exp(values, out, mc, pool);
+		return out;
+	}
+
+	@Benchmark
+	public BigDecimal[] ln() {
+		BatchFunctions.ln(values, out, mc, pool);
+		return out;
+	}
+
+	@Benchmark
+	public BigDecimal[] pow() {
+		BatchFunctions.pow(values, values, out, mc, pool);
+		return out;
+	}
+}
@@ -0,0 +1,67 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.io.File;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks once for every requested thread count. All the usual
+ * JMH command line options are accepted, except that the thread count and the
+ * result file are set by the runner itself.
+ * <p>
+ * The thread counts are read from the system property <code>threads</code>
+ * (for example <code>-Dthreads=1,2,4</code>) and default to <code>1</code>
+ * and the number of available processors. The results are written as JSON to
+ * the directory named by the system property <code>results</code>, which
+ * defaults to <code>results</code>, one file per thread count.
+ */
+public final class BenchmarkRunner {
+
+	public static void main(String[] args) throws Exception {
+		CommandLineOptions commandLine = new CommandLineOptions(args);
+
+		File results = new File(System.getProperty("results", "results"));
+		if (!results.isDirectory() && !results.mkdirs()) {
+			throw new IllegalStateException("Cannot create the result directory " + results);
+		}
+
+		for (int threads : threadCounts()) {
+			File result = new File(results, "threads-" + threads + ".json");
+			Options options = new OptionsBuilder().parent(commandLine).threads(threads)
+					.resultFormat(ResultFormatType.JSON).result(result.getPath()).build();
+			new Runner(options).run();
+		}
+	}
+
+	private static int[] threadCounts() {
+		String property = System.getProperty("threads");
+		if (property == null) {
+			int cores = Runtime.getRuntime().availableProcessors();
+			return cores > 1 ? new int[] { 1, cores } : new int[] { 1 };
+		}
+		String[] parts = property.split(",");
+		int[] counts = new int[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			counts[i] = Integer.parseInt(parts[i].trim());
+		}
+		return counts;
+	}
+}
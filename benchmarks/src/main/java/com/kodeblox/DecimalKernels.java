@@ -0,0 +1,170 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * The series and the square root of {@link NumericalMethodsFunctions} as they
+ * were before they moved to {@link FixedPoint}, summing every term as a
+ * <code>BigDecimal</code> rounded through the <code>MathContext</code>. Kept
+ * so that {@link FixedPointBenchmark} can compare the two.
+ */
+final class DecimalKernels {
+
+	// Digits of the first estimate of the square root, found with doubles.
+	private static final int SEED_DIGITS = 14;
+
+	private DecimalKernels() {
+	}
+
+	static BigDecimal expTaylorSeries(BigDecimal exponent, MathContext mc) {
+		BigDecimal lastSum;
+		BigDecimal currentSum = BigDecimal.ZERO;
+		BigDecimal numerator = BigDecimal.ONE;
+		BigDecimal denominator = BigDecimal.ONE;
+		BigDecimal term;
+
+		int i = 0;
+		do {
+			i++;
+			lastSum = currentSum;
+
+			// term = x ^ n / n!
+			term = numerator.divide(denominator, mc);
+			currentSum = currentSum.add(term, mc);
+			numerator = numerator.multiply(exponent, mc);
+			denominator = denominator.multiply(BigDecimal.valueOf(i), mc);
+		} while (lastSum.compareTo(currentSum) != 0);
+		return currentSum;
+	}
+
+	static BigDecimal sinTaylorSeries(BigDecimal angle, MathContext mc) {
+		BigDecimal lastSum;
+		BigDecimal currentSum = BigDecimal.ZERO;
+		BigDecimal numerator = angle;
+		BigDecimal denominator = BigDecimal.ONE;
+		BigDecimal term;
+		int i = 1;
+		do {
+			i = i + 2;
+			lastSum = currentSum;
+
+			// term = x ^ (2 * n + 1) / (2 * n + 1)!
+			term = numerator.divide(denominator, mc);
+			currentSum = currentSum.add(term, mc);
+
+			// Negating as every alternative term is negative
+			numerator = numerator.multiply(angle, mc).multiply(angle, mc).negate();
+			denominator = denominator.multiply(BigDecimal.valueOf(i), mc).multiply(BigDecimal.valueOf(i - 1), mc);
+		} while (lastSum.compareTo(currentSum) != 0);
+		return currentSum;
+	}
+
+	static BigDecimal[] sinCosTaylorSeries(BigDecimal angle, MathContext mc) {
+		BigDecimal lastSin;
+		BigDecimal lastCos;
+		BigDecimal sin = BigDecimal.ZERO;
+		BigDecimal cos = BigDecimal.ZERO;
+
+		// term = x ^ n / n!
+		BigDecimal term = BigDecimal.ONE;
+		int n = 0;
+		do {
+			lastSin = sin;
+			lastCos = cos;
+
+			// The even terms go to the cosine and the odd ones to the sine.
+			cos = cos.add(term, mc);
+			term = term.multiply(angle, mc).divide(BigDecimal.valueOf(n + 1), mc);
+			sin = sin.add(term, mc);
+
+			// Negating as every alternative pair of terms is negative
+			term = term.multiply(angle, mc).divide(BigDecimal.valueOf(n + 2), mc).negate();
+			n = n + 2;
+		} while (lastSin.compareTo(sin) != 0 || lastCos.compareTo(cos) != 0);
+		return new BigDecimal[] { sin, cos };
+	}
+
+	static BigDecimal arctanTaylorSeries(BigDecimal value, MathContext mc) {
+		BigDecimal lastSum;
+		BigDecimal currentSum = BigDecimal.ZERO;
+		BigDecimal numerator = value;
+		BigDecimal denominator = BigDecimal.ONE;
+		BigDecimal term;
+		int i = 0;
+		do {
+			i++;
+			lastSum = currentSum;
+
+			// term = x ^ (2 * n + 1) / (2 * n + 1)
+			term = numerator.divide(denominator, mc);
+			currentSum = currentSum.add(term, mc);
+
+			// Negating as every alternative term is negative
+			numerator = numerator.multiply(value, mc).multiply(value, mc).negate();
+			denominator = BigDecimal.valueOf(2 * i + 1);
+		} while (lastSum.compareTo(currentSum) != 0);
+		return currentSum;
+	}
+
+	static BigDecimal atanhTaylorSeries(BigDecimal value, MathContext mc) {
+		BigDecimal lastSum;
+		BigDecimal currentSum = BigDecimal.ZERO;
+		BigDecimal numerator = value;
+		BigDecimal square = value.multiply(value, mc);
+		BigDecimal term;
+		int i = 1;
+		do {
+			lastSum = currentSum;
+
+			// term = x ^ (2 * n + 1) / (2 * n + 1)
+			term = numerator.divide(BigDecimal.valueOf(i), mc);
+			currentSum = currentSum.add(term, mc);
+
+			numerator = numerator.multiply(square, mc);
+			i = i + 2;
+		} while (lastSum.compareTo(currentSum) != 0);
+		return currentSum;
+	}
+
+	static BigDecimal sqrtNewtonRaphson(BigDecimal value, MathContext mc) {
+
+		// y = (y + value / y) / 2, starting from the square root of the
+		// mantissa found with doubles.
+		int exponent = value.precision() - value.scale() - 1;
+		if ((exponent & 1) != 0) {
+			exponent--;
+		}
+		BigDecimal y = BigDecimal.valueOf(Math.sqrt(value.movePointLeft(exponent).doubleValue()))
+				.scaleByPowerOfTen(exponent / 2);
+
+		int steps = 1;
+		for (int precision = mc.getPrecision(); precision > 2 * SEED_DIGITS; precision = precision / 2 + 2) {
+			steps++;
+		}
+		MathContext[] precisions = new MathContext[steps];
+		precisions[steps - 1] = mc;
+		for (int i = steps - 2; i >= 0; i--) {
+			precisions[i] = new MathContext(precisions[i + 1].getPrecision() / 2 + 2);
+		}
+
+		for (MathContext stepMc : precisions) {
+			y = y.add(value.divide(y, stepMc), stepMc).divide(BigDecimal.valueOf(2), stepMc);
+		}
+		return y;
+	}
+}
@@ -0,0 +1,91 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for <code>exp</code>, <code>ln</code>, <code>pow</code>,
+ * <code>sqrt</code> and <code>root</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExponentialBenchmark {
+
+	@Param({ "16", "32", "64", "128", "512", "2048" })
+	public int precision;
+
+	@Param({ "TINY", "NEAR_ONE", "LARGE", "HUGE" })
+	public Magnitude magnitude;
+
+	private MathContext mc;
+	private BigDecimal exponent;
+	private BigDecimal value;
+	private BigDecimal powExponent;
+	private long longExponent;
+	private long rootExponent;
+
+	@Setup
+	public void setUp() {
+		mc = new MathContext(precision);
+		exponent = magnitude.pick("1.2345E-20", "1.0001", "50.69", "12345.6789");
+		value = magnitude.pick("1.2345E-20", "1.0001", "123456.789", "1.2345E+30");
+		powExponent = new BigDecimal("2.123");
+		longExponent = 123;
+		rootExponent = 7;
+	}
+
+	@Benchmark
+	public BigDecimal exp() {
+		return BigDecimalFunctions.exp(exponent, mc);
+	}
+
+	@Benchmark
+	public BigDecimal ln() {
+		return BigDecimalFunctions.ln(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal powLong() {
+		return BigDecimalFunctions.pow(value, longExponent, mc);
+	}
+
+	@Benchmark
+	public BigDecimal powBigDecimal() {
+		return BigDecimalFunctions.pow(value, powExponent, mc);
+	}
+
+	@Benchmark
+	public BigDecimal sqrt() {
+		return BigDecimalFunctions.sqrt(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal root() {
+		return BigDecimalFunctions.root(value, rootExponent, mc);
+	}
+}
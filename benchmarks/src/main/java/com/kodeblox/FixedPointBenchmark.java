@@ -0,0 +1,115 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the kernels of {@link NumericalMethodsFunctions}, which sum their
+ * series in {@link FixedPoint}, with the same kernels summing in
+ * <code>BigDecimal</code>, kept in {@link DecimalKernels}. The arguments have
+ * as many digits as the precision, like the arguments left after an argument
+ * reduction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FixedPointBenchmark {
+
+	@Param({ "16", "32", "64", "128", "200", "512", "2048" })
+	public int precision;
+
+	private MathContext mc;
+	private BigDecimal value;
+	private BigDecimal two;
+
+	@Setup
+	public void setUp() {
+		mc = new MathContext(precision);
+		value = BigDecimal.valueOf(2345).divide(BigDecimal.valueOf(9999), mc);
+		two = BigDecimal.valueOf(2);
+	}
+
+	@Benchmark
+	public BigDecimal expFixedPoint() {
+		return NumericalMethodsFunctions.expTaylorSeries(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal expDecimal() {
+		return DecimalKernels.expTaylorSeries(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal sinFixedPoint() {
+		return NumericalMethodsFunctions.sinTaylorSeries(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal sinDecimal() {
+		return DecimalKernels.sinTaylorSeries(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal[] sinCosFixedPoint() {
+		return NumericalMethodsFunctions.sinCosTaylorSeries(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal[] sinCosDecimal() {
+		return DecimalKernels.sinCosTaylorSeries(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal arctanFixedPoint() {
+		return NumericalMethodsFunctions.arctanTaylorSeries(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal arctanDecimal() {
+		return DecimalKernels.arctanTaylorSeries(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal atanhFixedPoint() {
+		return NumericalMethodsFunctions.atanhTaylorSeries(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal atanhDecimal() {
+		return DecimalKernels.atanhTaylorSeries(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal sqrtFixedPoint() {
+		return NumericalMethodsFunctions.sqrtNewtonRaphson(two, mc);
+	}
+
+	@Benchmark
+	public BigDecimal sqrtDecimal() {
+		return DecimalKernels.sqrtNewtonRaphson(two, mc);
+	}
+}
@@ -0,0 +1,72 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for <code>arcsin</code>, <code>arccos</code> and
+ * <code>arctan</code>. Since arcsine and arccosine are only defined on
+ * <code>[-1, 1]</code>, their <code>LARGE</code> and <code>HUGE</code>
+ * arguments move towards the end of that interval instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InverseTrigonometricBenchmark {
+
+	@Param({ "16", "32", "64", "128", "512", "2048" })
+	public int precision;
+
+	@Param({ "TINY", "NEAR_ONE", "LARGE", "HUGE" })
+	public Magnitude magnitude;
+
+	private MathContext mc;
+	private BigDecimal sine;
+	private BigDecimal tangent;
+
+	@Setup
+	public void setUp() {
+		mc = new MathContext(precision);
+		sine = magnitude.pick("1.2345E-20", "0.5", "-0.9999", "0.99999999");
+		tangent = magnitude.pick("1.2345E-20", "0.9999", "50", "1.2345E+15");
+	}
+
+	@Benchmark
+	public BigDecimal arcsin() {
+		return BigDecimalFunctions.arcsin(sine, mc);
+	}
+
+	@Benchmark
+	public BigDecimal arccos() {
+		return BigDecimalFunctions.arccos(sine, mc);
+	}
+
+	@Benchmark
+	public BigDecimal arctan() {
+		return BigDecimalFunctions.arctan(tangent, mc);
+	}
+}
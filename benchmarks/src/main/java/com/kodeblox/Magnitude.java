@@ -0,0 +1,40 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+
+/**
+ * Size classes of the arguments fed to the benchmarks. Every benchmark maps
+ * the classes onto arguments that are valid for the function under test, so
+ * for functions with a bounded domain (like <code>arcsin</code>)
+ * <code>LARGE</code> and <code>HUGE</code> stand for the hardest arguments
+ * inside that domain rather than for big numbers.
+ */
+public enum Magnitude {
+	TINY, NEAR_ONE, LARGE, HUGE;
+
+	/**
+	 * Picks the argument belonging to this magnitude.
+	 *
+	 * @param arguments
+	 *            the arguments in the order <code>TINY</code>,
+	 *            <code>NEAR_ONE</code>, <code>LARGE</code>, <code>HUGE</code>.
+	 * @return the argument for this magnitude
+	 */
+	public BigDecimal pick(String... arguments) {
+		return new BigDecimal(arguments[ordinal()]);
+	}
+}
@@ -0,0 +1,84 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for <code>factorial</code>, <code>gamma</code>,
+ * <code>lnGamma</code>, <code>getWhole</code> and <code>getFraction</code>.
+ * The factorial arguments are whole numbers of increasing size, the gamma
+ * arguments are fractions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MiscellaneousBenchmark {
+
+	@Param({ "16", "32", "64", "128", "512", "2048" })
+	public int precision;
+
+	@Param({ "TINY", "NEAR_ONE", "LARGE", "HUGE" })
+	public Magnitude magnitude;
+
+	private MathContext mc;
+	private BigDecimal whole;
+	private BigDecimal fraction;
+	private BigDecimal number;
+
+	@Setup
+	public void setUp() {
+		mc = new MathContext(precision);
+		whole = magnitude.pick("5", "20", "500", "5000");
+		fraction = magnitude.pick("0.125", "1.0001", "123.456", "12345.678");
+		number = magnitude.pick("1.2345E-20", "1.0001", "123456.789", "1.2345E+300");
+	}
+
+	@Benchmark
+	public BigDecimal factorial() {
+		return BigDecimalFunctions.factorial(whole, mc);
+	}
+
+	@Benchmark
+	public BigDecimal gamma() {
+		return BigDecimalFunctions.gamma(fraction, mc);
+	}
+
+	@Benchmark
+	public BigDecimal lnGamma() {
+		return BigDecimalFunctions.lnGamma(fraction, mc);
+	}
+
+	@Benchmark
+	public BigDecimal getWhole() {
+		return BigDecimalFunctions.getWhole(number);
+	}
+
+	@Benchmark
+	public BigDecimal getFraction() {
+		return BigDecimalFunctions.getFraction(number);
+	}
+}
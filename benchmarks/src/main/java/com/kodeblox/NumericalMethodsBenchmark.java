@@ -0,0 +1,109 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for the series and Newton-Raphson kernels in
+ * {@link NumericalMethodsFunctions}. The kernels expect arguments that have
+ * already been reduced by {@link BigDecimalFunctions}, so only the
+ * <code>TINY</code> and <code>NEAR_ONE</code> magnitudes are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NumericalMethodsBenchmark {
+
+	@Param({ "16", "32", "64", "128", "512", "2048" })
+	public int precision;
+
+	@Param({ "TINY", "NEAR_ONE" })
+	public Magnitude magnitude;
+
+	private MathContext mc;
+	private BigDecimal series;
+	private BigDecimal newton;
+	private BigDecimal inverse;
+
+	@Setup
+	public void setUp() {
+		mc = new MathContext(precision);
+		series = magnitude.pick("1.2345E-20", "1.0001");
+		newton = magnitude.pick("0.0012345", "1.0001");
+		inverse = magnitude.pick("1.2345E-20", "0.2345");
+	}
+
+	@Benchmark
+	public BigDecimal expTaylorSeries() {
+		return NumericalMethodsFunctions.expTaylorSeries(series, mc);
+	}
+
+	@Benchmark
+	public BigDecimal lnNewtonRaphson() {
+		return NumericalMethodsFunctions.lnNewtonRaphson(newton, mc);
+	}
+
+	@Benchmark
+	public BigDecimal rootNewtonRaphson() {
+		return NumericalMethodsFunctions.rootNewtonRaphson(newton, 7, mc);
+	}
+
+	@Benchmark
+	public BigDecimal sqrtNewtonRaphson() {
+		return NumericalMethodsFunctions.sqrtNewtonRaphson(newton, mc);
+	}
+
+	@Benchmark
+	public BigDecimal sinTaylorSeries() {
+		return NumericalMethodsFunctions.sinTaylorSeries(series, mc);
+	}
+
+	@Benchmark
+	public BigDecimal cosTaylorSeries() {
+		return NumericalMethodsFunctions.cosTaylorSeries(series, mc);
+	}
+
+	@Benchmark
+	public BigDecimal tanCompute() {
+		return NumericalMethodsFunctions.tanCompute(series, mc);
+	}
+
+	@Benchmark
+	public BigDecimal arcsinCompute() {
+		return NumericalMethodsFunctions.arcsinCompute(inverse, mc);
+	}
+
+	@Benchmark
+	public BigDecimal arccosCompute() {
+		return NumericalMethodsFunctions.arccosCompute(inverse, mc);
+	}
+
+	@Benchmark
+	public BigDecimal arctanTaylorSeries() {
+		return NumericalMethodsFunctions.arctanTaylorSeries(inverse, mc);
+	}
+}
@@ -0,0 +1,101 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the Taylor series kernels with their binary splitting
+ * counterparts, to find the precision from which {@link BigDecimalFunctions}
+ * switches to binary splitting. <code>SHORT</code> arguments are short
+ * decimals, <code>REDUCED</code> arguments have as many digits as the
+ * precision, like the arguments left after an argument reduction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SeriesBenchmark {
+
+	public enum Argument {
+		SHORT, REDUCED
+	}
+
+	@Param({ "16", "32", "64", "128", "256", "512", "1024", "2048" })
+	public int precision;
+
+	@Param({ "SHORT", "REDUCED" })
+	public Argument argument;
+
+	private MathContext mc;
+	private BigDecimal value;
+
+	@Setup
+	public void setUp() {
+		mc = new MathContext(precision);
+		value = argument == Argument.SHORT ? new BigDecimal("0.2345")
+				: BigDecimal.valueOf(2345).divide(BigDecimal.valueOf(9999), mc);
+	}
+
+	@Benchmark
+	public BigDecimal expTaylorSeries() {
+		return NumericalMethodsFunctions.expTaylorSeries(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal expBinarySplitting() {
+		return NumericalMethodsFunctions.expBinarySplitting(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal sinTaylorSeries() {
+		return NumericalMethodsFunctions.sinTaylorSeries(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal sinBinarySplitting() {
+		return NumericalMethodsFunctions.sinBinarySplitting(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal cosTaylorSeries() {
+		return NumericalMethodsFunctions.cosTaylorSeries(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal cosBinarySplitting() {
+		return NumericalMethodsFunctions.cosBinarySplitting(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal arctanTaylorSeries() {
+		return NumericalMethodsFunctions.arctanTaylorSeries(value, mc);
+	}
+
+	@Benchmark
+	public BigDecimal arctanBinarySplitting() {
+		return NumericalMethodsFunctions.arctanBinarySplitting(value, mc);
+	}
+}
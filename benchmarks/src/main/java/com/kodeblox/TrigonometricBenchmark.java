@@ -0,0 +1,73 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for <code>sin</code>, <code>cos</code>, <code>sincos</code> and
+ * <code>tan</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TrigonometricBenchmark {
+
+	@Param({ "16", "32", "64", "128", "512", "2048" })
+	public int precision;
+
+	@Param({ "TINY", "NEAR_ONE", "LARGE", "HUGE" })
+	public Magnitude magnitude;
+
+	private MathContext mc;
+	private BigDecimal angle;
+
+	@Setup
+	public void setUp() {
+		mc = new MathContext(precision);
+		angle = magnitude.pick("1.2345E-20", "1.0001", "123.456", "1.2345E+15");
+	}
+
+	@Benchmark
+	public BigDecimal sin() {
+		return BigDecimalFunctions.sin(angle, mc);
+	}
+
+	@Benchmark
+	public BigDecimal cos() {
+		return BigDecimalFunctions.cos(angle, mc);
+	}
+
+	@Benchmark
+	public BigDecimal[] sincos() {
+		return BigDecimalFunctions.sincos(angle, mc);
+	}
+
+	@Benchmark
+	public BigDecimal tan() {
+		return BigDecimalFunctions.tan(angle, mc);
+	}
+}
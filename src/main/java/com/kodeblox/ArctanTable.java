@@ -0,0 +1,109 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Table of <code>arctan(k / 32)</code> for <code>k = 0 ... 32</code>, used by
+ * {@link BigDecimalFunctions#arctan(BigDecimal, MathContext)} to bring a
+ * value in <code>[0, 1]</code> within <code>1 / 64</code> of <code>0</code>.
+ * Like {@link LogarithmTable}, the widest table calculated so far is cached,
+ * reads never lock, and it is only calculated again when more digits are
+ * needed.
+ */
+final class ArctanTable {
+
+	/**
+	 * Number of entries in the table after the first. Each entry covers
+	 * <code>1 / SIZE</code> of <code>[0, 1]</code>.
+	 */
+	static final int SIZE = 32;
+
+	// Tables are calculated to a multiple of this many digits.
+	private static final int BAND_DIGITS = 64;
+
+	private static volatile Widest widest;
+
+	private ArctanTable() {
+	}
+
+	/**
+	 * Returns <code>arctan(k / SIZE)</code> to at least <code>digits</code>
+	 * digits.
+	 *
+	 * @param k
+	 *            the index of the entry, from <code>0</code> to
+	 *            <code>SIZE</code>.
+	 * @param digits
+	 *            the least number of correct digits needed.
+	 * @return <code>arctan(k / SIZE)</code>
+	 */
+	static BigDecimal entry(int k, int digits) {
+		Widest current = widest;
+		if (current == null || current.digits < digits) {
+			current = widen(digits);
+		}
+		return current.entries[k];
+	}
+
+	private static synchronized Widest widen(int digits) {
+
+		// Another thread might have widened the table while this one was
+		// waiting.
+		Widest current = widest;
+		if (current != null && current.digits >= digits) {
+			return current;
+		}
+
+		digits = (digits + BAND_DIGITS - 1) / BAND_DIGITS * BAND_DIGITS;
+		if (current != null) {
+			digits = Math.max(digits, current.digits * 2);
+		}
+
+		// Every entry is found from the one before, so the rounding errors of
+		// all of them add up in the last one.
+		MathContext mc = new MathContext(digits);
+		MathContext newMc = new MathContext(digits + 5);
+		BigDecimal[] entries = new BigDecimal[SIZE + 1];
+		entries[0] = BigDecimal.ZERO;
+		BigDecimal sum = BigDecimal.ZERO;
+		for (int k = 1; k <= SIZE; k++) {
+
+			// arctan(k / SIZE) = arctan((k - 1) / SIZE) + arctan(SIZE / (SIZE ^ 2 + k * (k - 1)))
+			BigDecimal step = BigDecimal.valueOf(SIZE).divide(BigDecimal.valueOf(SIZE * SIZE + k * (k - 1)), newMc);
+			sum = sum.add(NumericalMethodsFunctions.arctanTaylorSeries(step, newMc), newMc);
+			entries[k] = sum.round(mc);
+		}
+
+		current = new Widest(digits, entries);
+		widest = current;
+		return current;
+	}
+
+	/**
+	 * The widest table together with its number of correct digits.
+	 */
+	private static final class Widest {
+		final int digits;
+		final BigDecimal[] entries;
+
+		Widest(int digits, BigDecimal[] entries) {
+			this.digits = digits;
+			this.entries = entries;
+		}
+	}
+}
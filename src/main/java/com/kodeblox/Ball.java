@@ -0,0 +1,223 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * A ball of numbers, given by its midpoint and a radius, within which a
+ * result is known to lie. Every operation on balls widens the radius by the
+ * rounding error of the new midpoint, so a ball found through any number of
+ * operations still holds the exact result. When the whole ball rounds to a
+ * single value, that value is the exact result rounded correctly, which
+ * {@link BigDecimalFunctions} uses to take only as many guard digits as a
+ * result needs.
+ * <p>
+ * The radius only needs to be an upper bound, so it is kept to a few digits
+ * and always rounded up.
+ */
+final class Ball {
+
+	// Radii are rounded up, and the lower bounds that they are divided by
+	// are rounded down.
+	private static final MathContext RADIUS_MC = new MathContext(3, RoundingMode.UP);
+	private static final MathContext LOWER_MC = new MathContext(3, RoundingMode.DOWN);
+
+	private final BigDecimal midpoint;
+	private final BigDecimal radius;
+
+	/**
+	 * Creates the ball of the numbers within <code>radius</code> of
+	 * <code>midpoint</code>.
+	 *
+	 * @param midpoint
+	 *            the midpoint of the ball.
+	 * @param radius
+	 *            a non negative radius.
+	 */
+	Ball(BigDecimal midpoint, BigDecimal radius) {
+		this.midpoint = midpoint;
+		this.radius = radius.signum() == 0 ? BigDecimal.ZERO : radius.round(RADIUS_MC);
+	}
+
+	/**
+	 * Returns the ball of the exact <code>value</code> only.
+	 */
+	static Ball valueOf(BigDecimal value) {
+		return new Ball(value, BigDecimal.ZERO);
+	}
+
+	/**
+	 * Returns the ball of a <code>value</code> that is within one unit in its
+	 * last place of the exact one, like a constant or a table entry rounded
+	 * from more digits.
+	 */
+	static Ball withinUlp(BigDecimal value) {
+		return new Ball(value, value.ulp());
+	}
+
+	/**
+	 * Returns the ball of a <code>value</code> that is within one unit in the
+	 * last place of the exact one rounded to <code>digits</code> digits. Unlike
+	 * {@link #withinUlp(BigDecimal)}, this also holds for values that happen
+	 * to round to fewer digits, like <code>0.8</code>.
+	 */
+	static Ball withinUlp(BigDecimal value, int digits) {
+		return new Ball(value, BigDecimal.ONE.scaleByPowerOfTen(value.precision() - value.scale() - digits));
+	}
+
+	BigDecimal getMidpoint() {
+		return midpoint;
+	}
+
+	BigDecimal getRadius() {
+		return radius;
+	}
+
+	/**
+	 * Returns an upper bound of the absolute values in the ball.
+	 */
+	BigDecimal magnitude() {
+		return midpoint.abs().add(radius, RADIUS_MC);
+	}
+
+	/**
+	 * Returns this ball with its radius widened by <code>error</code>.
+	 */
+	Ball widen(BigDecimal error) {
+		return new Ball(midpoint, radius.add(error, RADIUS_MC));
+	}
+
+	Ball negate() {
+		return new Ball(midpoint.negate(), radius);
+	}
+
+	/**
+	 * Returns this ball times <code>10<sup>n</sup></code>, which is exact.
+	 */
+	Ball scaleByPowerOfTen(int n) {
+		return new Ball(midpoint.scaleByPowerOfTen(n), radius.scaleByPowerOfTen(n));
+	}
+
+	Ball add(Ball augend, MathContext mc) {
+		BigDecimal sum = midpoint.add(augend.midpoint, mc);
+		return new Ball(sum, radius.add(augend.radius, RADIUS_MC).add(error(sum, mc), RADIUS_MC));
+	}
+
+	Ball subtract(Ball subtrahend, MathContext mc) {
+		return add(subtrahend.negate(), mc);
+	}
+
+	Ball multiply(Ball multiplicand, MathContext mc) {
+		BigDecimal product = midpoint.multiply(multiplicand.midpoint, mc);
+
+		// |x * y - a * b| <= |a| * s + |b| * r + r * s
+		BigDecimal spread = midpoint.abs().multiply(multiplicand.radius, RADIUS_MC)
+				.add(multiplicand.midpoint.abs().multiply(radius, RADIUS_MC), RADIUS_MC)
+				.add(radius.multiply(multiplicand.radius, RADIUS_MC), RADIUS_MC);
+		return new Ball(product, spread.add(error(product, mc), RADIUS_MC));
+	}
+
+	/**
+	 * Divides this ball by <code>divisor</code>.
+	 *
+	 * @throws ArithmeticException
+	 *             if <code>divisor</code> holds <code>0</code>.
+	 */
+	Ball divide(Ball divisor, MathContext mc) {
+		BigDecimal lower = divisor.midpoint.abs().subtract(divisor.radius, LOWER_MC);
+		if (lower.signum() <= 0) {
+			throw new ArithmeticException("Division by a ball holding zero");
+		}
+		BigDecimal quotient = midpoint.divide(divisor.midpoint, mc);
+
+		// |x / y - a / b| <= (r + |a / b| * s) / (|b| - s)
+		BigDecimal spread = radius.add(quotient.abs().multiply(divisor.radius, RADIUS_MC), RADIUS_MC).divide(lower,
+				RADIUS_MC);
+		return new Ball(quotient, spread.add(error(quotient, mc), RADIUS_MC));
+	}
+
+	/**
+	 * Returns the square root of this ball, which must not hold negative
+	 * numbers. The root of the midpoint <code>a</code> is rounded correctly,
+	 * and the roots of the other numbers <code>x</code> are within
+	 * <p>
+	 * <code>|x - a| / (sqrt(x) + sqrt(a)) <= r / sqrt(a)</code>
+	 * <p>
+	 * of it.
+	 *
+	 * @throws ArithmeticException
+	 *             if the ball holds negative numbers.
+	 */
+	Ball sqrt(MathContext mc) {
+		if (midpoint.subtract(radius).signum() < 0) {
+			throw new ArithmeticException("Square root of a ball holding negative values");
+		}
+		if (midpoint.signum() == 0) {
+			return this;
+		}
+		BigDecimal root = NumericalMethodsFunctions.sqrtNewtonRaphson(midpoint, mc);
+		BigDecimal unit = BigDecimal.ONE.scaleByPowerOfTen(root.precision() - root.scale() - mc.getPrecision());
+		BigDecimal spread = radius.divide(root.subtract(unit, LOWER_MC), RADIUS_MC);
+		return new Ball(root, spread.add(unit, RADIUS_MC));
+	}
+
+	/**
+	 * Returns this ball with its midpoint rounded according to the passed
+	 * context <code>mc</code>.
+	 */
+	Ball round(MathContext mc) {
+		BigDecimal rounded = midpoint.round(mc);
+		return new Ball(rounded, radius.add(error(rounded, mc), RADIUS_MC));
+	}
+
+	/**
+	 * Returns the value that every number in the ball rounds to according to
+	 * the passed context <code>mc</code>, which is the exact result rounded
+	 * correctly.
+	 *
+	 * @param mc
+	 *            rounding mode and precision of the result.
+	 * @return the rounded value, or <code>null</code> if the ends of the ball
+	 *         round to different values
+	 */
+	BigDecimal correctlyRounded(MathContext mc) {
+		if (radius.signum() != 0) {
+			BigDecimal lower = midpoint.subtract(radius).round(mc);
+			BigDecimal upper = midpoint.add(radius).round(mc);
+			if (lower.compareTo(upper) != 0) {
+				return null;
+			}
+		}
+		return midpoint.round(mc);
+	}
+
+	/**
+	 * Returns a bound on the rounding error of a <code>result</code> rounded
+	 * according to <code>mc</code>. A result with fewer digits than the
+	 * context was not rounded.
+	 */
+	private static BigDecimal error(BigDecimal result, MathContext mc) {
+		return mc.getPrecision() == 0 || result.precision() < mc.getPrecision() ? BigDecimal.ZERO : result.ulp();
+	}
+
+	@Override
+	public String toString() {
+		return midpoint + " +/- " + radius;
+	}
+}
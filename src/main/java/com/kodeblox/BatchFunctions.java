@@ -0,0 +1,873 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The functions of {@link BigDecimalFunctions} applied to whole batches of
+ * values, split across a <code>ForkJoinPool</code>. Every result is the same
+ * as the one of the single value function, rounded according to the passed
+ * context <code>mc</code>.
+ * <p>
+ * The array methods write the result for <code>in[i]</code> to
+ * <code>out[i]</code>, and the list methods return a new list in the order of
+ * the values. Without a pool, the common pool is used. The first value is
+ * calculated on the calling thread before the rest are split, so that the
+ * constants needed at the precision of <code>mc</code> are calculated once
+ * and then only read by the workers. If a value throws an exception, the
+ * exception is thrown by the batch method and the results of the other values
+ * may or may not have been written.
+ */
+public final class BatchFunctions {
+
+	// Batches are cut into about this many chunks for every worker, so that
+	// workers which finish early can steal from the others.
+	private static final int CHUNKS_PER_WORKER = 8;
+
+	// A chunk is not split further while this many tasks are already queued
+	// and waiting to be stolen.
+	private static final int MAXIMUM_SURPLUS = 3;
+
+	private BatchFunctions() {
+	}
+
+	/**
+	 * Calculates <code>e<sup>in[i]</sup></code> into <code>out[i]</code>.
+	 *
+	 * @param in
+	 *            the exponents.
+	 * @param out
+	 *            the results, at least as long as <code>in</code>.
+	 * @param mc
+	 *            rounding mode and precision for the results.
+	 * @param pool
+	 *            the pool to split the work across.
+	 * @see BigDecimalFunctions#exp(BigDecimal, MathContext)
+	 */
+	public static void exp(final BigDecimal[] in, final BigDecimal[] out, final MathContext mc, ForkJoinPool pool) {
+		run(new Element(in, out) {
+			@Override
+			void compute(int i) {
+				out[i] = BigDecimalFunctions.exp(in[i], mc);
+			}
+		}, pool);
+	}
+
+	/**
+	 * Same as {@link #exp(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 */
+	public static void exp(BigDecimal[] in, BigDecimal[] out, MathContext mc) {
+		exp(in, out, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Same as {@link #exp(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * for lists.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> exp(List<BigDecimal> in, MathContext mc, ForkJoinPool pool) {
+		BigDecimal[] values = toArray(in);
+		exp(values, values, mc, pool);
+		return Arrays.asList(values);
+	}
+
+	/**
+	 * Same as {@link #exp(List, MathContext, ForkJoinPool)} on the common pool.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> exp(List<BigDecimal> in, MathContext mc) {
+		return exp(in, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Calculates <code>log<sub>e</sub>(in[i])</code> into <code>out[i]</code>.
+	 *
+	 * @param in
+	 *            the values, all greater than 0.
+	 * @param out
+	 *            the results, at least as long as <code>in</code>.
+	 * @param mc
+	 *            rounding mode and precision for the results.
+	 * @param pool
+	 *            the pool to split the work across.
+	 * @see BigDecimalFunctions#ln(BigDecimal, MathContext)
+	 */
+	public static void ln(final BigDecimal[] in, final BigDecimal[] out, final MathContext mc, ForkJoinPool pool) {
+		run(new Element(in, out) {
+			@Override
+			void compute(int i) {
+				out[i] = BigDecimalFunctions.ln(in[i], mc);
+			}
+		}, pool);
+	}
+
+	/**
+	 * Same as {@link #ln(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 */
+	public static void ln(BigDecimal[] in, BigDecimal[] out, MathContext mc) {
+		ln(in, out, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Same as {@link #ln(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * for lists.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> ln(List<BigDecimal> in, MathContext mc, ForkJoinPool pool) {
+		BigDecimal[] values = toArray(in);
+		ln(values, values, mc, pool);
+		return Arrays.asList(values);
+	}
+
+	/**
+	 * Same as {@link #ln(List, MathContext, ForkJoinPool)} on the common pool.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> ln(List<BigDecimal> in, MathContext mc) {
+		return ln(in, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Calculates <code>bases[i]<sup>exponents[i]</sup></code> into
+	 * <code>out[i]</code>.
+	 *
+	 * @param bases
+	 *            the bases.
+	 * @param exponents
+	 *            the exponents, as many as the bases.
+	 * @param out
+	 *            the results, at least as long as <code>bases</code>.
+	 * @param mc
+	 *            rounding mode and precision for the results.
+	 * @param pool
+	 *            the pool to split the work across.
+	 * @see BigDecimalFunctions#pow(BigDecimal, BigDecimal, MathContext)
+	 */
+	public static void pow(final BigDecimal[] bases, final BigDecimal[] exponents, final BigDecimal[] out,
+			final MathContext mc, ForkJoinPool pool) {
+		if (exponents.length != bases.length) {
+			throw new IllegalArgumentException("Pow requires as many exponents as bases");
+		}
+		run(new Element(bases, out) {
+			@Override
+			void compute(int i) {
+				out[i] = BigDecimalFunctions.pow(bases[i], exponents[i], mc);
+			}
+		}, pool);
+	}
+
+	/**
+	 * Same as {@link #pow(BigDecimal[], BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 */
+	public static void pow(BigDecimal[] bases, BigDecimal[] exponents, BigDecimal[] out, MathContext mc) {
+		pow(bases, exponents, out, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Same as {@link #pow(BigDecimal[], BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * for lists.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> pow(List<BigDecimal> bases, List<BigDecimal> exponents, MathContext mc,
+			ForkJoinPool pool) {
+		BigDecimal[] values = toArray(bases);
+		pow(values, toArray(exponents), values, mc, pool);
+		return Arrays.asList(values);
+	}
+
+	/**
+	 * Same as {@link #pow(List, List, MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> pow(List<BigDecimal> bases, List<BigDecimal> exponents, MathContext mc) {
+		return pow(bases, exponents, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Calculates <code>in[i]<sup>exponent</sup></code> into
+	 * <code>out[i]</code>.
+	 *
+	 * @param in
+	 *            the bases.
+	 * @param exponent
+	 *            the exponent of every base.
+	 * @param out
+	 *            the results, at least as long as <code>in</code>.
+	 * @param mc
+	 *            rounding mode and precision for the results.
+	 * @param pool
+	 *            the pool to split the work across.
+	 * @see BigDecimalFunctions#pow(BigDecimal, long, MathContext)
+	 */
+	public static void pow(final BigDecimal[] in, final long exponent, final BigDecimal[] out, final MathContext mc,
+			ForkJoinPool pool) {
+		run(new Element(in, out) {
+			@Override
+			void compute(int i) {
+				out[i] = BigDecimalFunctions.pow(in[i], exponent, mc);
+			}
+		}, pool);
+	}
+
+	/**
+	 * Same as {@link #pow(BigDecimal[], long, BigDecimal[], MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 */
+	public static void pow(BigDecimal[] in, long exponent, BigDecimal[] out, MathContext mc) {
+		pow(in, exponent, out, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Same as {@link #pow(BigDecimal[], long, BigDecimal[], MathContext, ForkJoinPool)}
+	 * for lists.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> pow(List<BigDecimal> in, long exponent, MathContext mc, ForkJoinPool pool) {
+		BigDecimal[] values = toArray(in);
+		pow(values, exponent, values, mc, pool);
+		return Arrays.asList(values);
+	}
+
+	/**
+	 * Same as {@link #pow(List, long, MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> pow(List<BigDecimal> in, long exponent, MathContext mc) {
+		return pow(in, exponent, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Calculates the <code>exponent</code><sup>th</sup> root of
+	 * <code>in[i]</code> into <code>out[i]</code>.
+	 *
+	 * @param in
+	 *            the values to be rooted.
+	 * @param exponent
+	 *            the root of every value.
+	 * @param out
+	 *            the results, at least as long as <code>in</code>.
+	 * @param mc
+	 *            rounding mode and precision for the results.
+	 * @param pool
+	 *            the pool to split the work across.
+	 * @see BigDecimalFunctions#root(BigDecimal, long, MathContext)
+	 */
+	public static void root(final BigDecimal[] in, final long exponent, final BigDecimal[] out, final MathContext mc,
+			ForkJoinPool pool) {
+		run(new Element(in, out) {
+			@Override
+			void compute(int i) {
+				out[i] = BigDecimalFunctions.root(in[i], exponent, mc);
+			}
+		}, pool);
+	}
+
+	/**
+	 * Same as {@link #root(BigDecimal[], long, BigDecimal[], MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 */
+	public static void root(BigDecimal[] in, long exponent, BigDecimal[] out, MathContext mc) {
+		root(in, exponent, out, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Same as {@link #root(BigDecimal[], long, BigDecimal[], MathContext, ForkJoinPool)}
+	 * for lists.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> root(List<BigDecimal> in, long exponent, MathContext mc, ForkJoinPool pool) {
+		BigDecimal[] values = toArray(in);
+		root(values, exponent, values, mc, pool);
+		return Arrays.asList(values);
+	}
+
+	/**
+	 * Same as {@link #root(List, long, MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> root(List<BigDecimal> in, long exponent, MathContext mc) {
+		return root(in, exponent, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Calculates the square root of <code>in[i]</code> into
+	 * <code>out[i]</code>.
+	 *
+	 * @param in
+	 *            the values to be rooted.
+	 * @param out
+	 *            the results, at least as long as <code>in</code>.
+	 * @param mc
+	 *            rounding mode and precision for the results.
+	 * @param pool
+	 *            the pool to split the work across.
+	 * @see BigDecimalFunctions#sqrt(BigDecimal, MathContext)
+	 */
+	public static void sqrt(final BigDecimal[] in, final BigDecimal[] out, final MathContext mc, ForkJoinPool pool) {
+		run(new Element(in, out) {
+			@Override
+			void compute(int i) {
+				out[i] = BigDecimalFunctions.sqrt(in[i], mc);
+			}
+		}, pool);
+	}
+
+	/**
+	 * Same as {@link #sqrt(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 */
+	public static void sqrt(BigDecimal[] in, BigDecimal[] out, MathContext mc) {
+		sqrt(in, out, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Same as {@link #sqrt(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * for lists.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> sqrt(List<BigDecimal> in, MathContext mc, ForkJoinPool pool) {
+		BigDecimal[] values = toArray(in);
+		sqrt(values, values, mc, pool);
+		return Arrays.asList(values);
+	}
+
+	/**
+	 * Same as {@link #sqrt(List, MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> sqrt(List<BigDecimal> in, MathContext mc) {
+		return sqrt(in, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Calculates the <code>sine</code> of <code>in[i]</code> into
+	 * <code>out[i]</code>.
+	 *
+	 * @param in
+	 *            the angles in radians.
+	 * @param out
+	 *            the results, at least as long as <code>in</code>.
+	 * @param mc
+	 *            rounding mode and precision for the results.
+	 * @param pool
+	 *            the pool to split the work across.
+	 * @see BigDecimalFunctions#sin(BigDecimal, MathContext)
+	 */
+	public static void sin(final BigDecimal[] in, final BigDecimal[] out, final MathContext mc, ForkJoinPool pool) {
+		run(new Element(in, out) {
+			@Override
+			void compute(int i) {
+				out[i] = BigDecimalFunctions.sin(in[i], mc);
+			}
+		}, pool);
+	}
+
+	/**
+	 * Same as {@link #sin(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 */
+	public static void sin(BigDecimal[] in, BigDecimal[] out, MathContext mc) {
+		sin(in, out, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Same as {@link #sin(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * for lists.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> sin(List<BigDecimal> in, MathContext mc, ForkJoinPool pool) {
+		BigDecimal[] values = toArray(in);
+		sin(values, values, mc, pool);
+		return Arrays.asList(values);
+	}
+
+	/**
+	 * Same as {@link #sin(List, MathContext, ForkJoinPool)} on the common pool.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> sin(List<BigDecimal> in, MathContext mc) {
+		return sin(in, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Calculates the <code>cosine</code> of <code>in[i]</code> into
+	 * <code>out[i]</code>.
+	 *
+	 * @param in
+	 *            the angles in radians.
+	 * @param out
+	 *            the results, at least as long as <code>in</code>.
+	 * @param mc
+	 *            rounding mode and precision for the results.
+	 * @param pool
+	 *            the pool to split the work across.
+	 * @see BigDecimalFunctions#cos(BigDecimal, MathContext)
+	 */
+	public static void cos(final BigDecimal[] in, final BigDecimal[] out, final MathContext mc, ForkJoinPool pool) {
+		run(new Element(in, out) {
+			@Override
+			void compute(int i) {
+				out[i] = BigDecimalFunctions.cos(in[i], mc);
+			}
+		}, pool);
+	}
+
+	/**
+	 * Same as {@link #cos(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 */
+	public static void cos(BigDecimal[] in, BigDecimal[] out, MathContext mc) {
+		cos(in, out, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Same as {@link #cos(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * for lists.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> cos(List<BigDecimal> in, MathContext mc, ForkJoinPool pool) {
+		BigDecimal[] values = toArray(in);
+		cos(values, values, mc, pool);
+		return Arrays.asList(values);
+	}
+
+	/**
+	 * Same as {@link #cos(List, MathContext, ForkJoinPool)} on the common pool.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> cos(List<BigDecimal> in, MathContext mc) {
+		return cos(in, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Calculates both the <code>sine</code> and the <code>cosine</code> of
+	 * <code>in[i]</code> into <code>sinOut[i]</code> and
+	 * <code>cosOut[i]</code>.
+	 *
+	 * @param in
+	 *            the angles in radians.
+	 * @param sinOut
+	 *            the sines, at least as long as <code>in</code>.
+	 * @param cosOut
+	 *            the cosines, at least as long as <code>in</code>.
+	 * @param mc
+	 *            rounding mode and precision for the results.
+	 * @param pool
+	 *            the pool to split the work across.
+	 * @see BigDecimalFunctions#sincos(BigDecimal, MathContext)
+	 */
+	public static void sincos(final BigDecimal[] in, final BigDecimal[] sinOut, final BigDecimal[] cosOut,
+			final MathContext mc, ForkJoinPool pool) {
+		if (cosOut.length < in.length) {
+			throw new IllegalArgumentException("The output array is shorter than the input");
+		}
+		run(new Element(in, sinOut) {
+			@Override
+			void compute(int i) {
+				BigDecimal[] sinCos = BigDecimalFunctions.sincos(in[i], mc);
+				sinOut[i] = sinCos[0];
+				cosOut[i] = sinCos[1];
+			}
+		}, pool);
+	}
+
+	/**
+	 * Same as {@link #sincos(BigDecimal[], BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 */
+	public static void sincos(BigDecimal[] in, BigDecimal[] sinOut, BigDecimal[] cosOut, MathContext mc) {
+		sincos(in, sinOut, cosOut, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Calculates the <code>tangent</code> of <code>in[i]</code> into
+	 * <code>out[i]</code>.
+	 *
+	 * @param in
+	 *            the angles in radians.
+	 * @param out
+	 *            the results, at least as long as <code>in</code>.
+	 * @param mc
+	 *            rounding mode and precision for the results.
+	 * @param pool
+	 *            the pool to split the work across.
+	 * @see BigDecimalFunctions#tan(BigDecimal, MathContext)
+	 */
+	public static void tan(final BigDecimal[] in, final BigDecimal[] out, final MathContext mc, ForkJoinPool pool) {
+		run(new Element(in, out) {
+			@Override
+			void compute(int i) {
+				out[i] = BigDecimalFunctions.tan(in[i], mc);
+			}
+		}, pool);
+	}
+
+	/**
+	 * Same as {@link #tan(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 */
+	public static void tan(BigDecimal[] in, BigDecimal[] out, MathContext mc) {
+		tan(in, out, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Same as {@link #tan(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * for lists.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> tan(List<BigDecimal> in, MathContext mc, ForkJoinPool pool) {
+		BigDecimal[] values = toArray(in);
+		tan(values, values, mc, pool);
+		return Arrays.asList(values);
+	}
+
+	/**
+	 * Same as {@link #tan(List, MathContext, ForkJoinPool)} on the common pool.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> tan(List<BigDecimal> in, MathContext mc) {
+		return tan(in, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Calculates the <code>factorial</code> of <code>in[i]</code> into
+	 * <code>out[i]</code>.
+	 *
+	 * @param in
+	 *            the numbers whose factorials are to be found.
+	 * @param out
+	 *            the results, at least as long as <code>in</code>.
+	 * @param mc
+	 *            rounding mode and precision for the results.
+	 * @param pool
+	 *            the pool to split the work across.
+	 * @see BigDecimalFunctions#factorial(BigDecimal, MathContext)
+	 */
+	public static void factorial(final BigDecimal[] in, final BigDecimal[] out, final MathContext mc,
+			ForkJoinPool pool) {
+		run(new Element(in, out) {
+			@Override
+			void compute(int i) {
+				out[i] = BigDecimalFunctions.factorial(in[i], mc);
+			}
+		}, pool);
+	}
+
+	/**
+	 * Same as {@link #factorial(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 */
+	public static void factorial(BigDecimal[] in, BigDecimal[] out, MathContext mc) {
+		factorial(in, out, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Same as {@link #factorial(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * for lists.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> factorial(List<BigDecimal> in, MathContext mc, ForkJoinPool pool) {
+		BigDecimal[] values = toArray(in);
+		factorial(values, values, mc, pool);
+		return Arrays.asList(values);
+	}
+
+	/**
+	 * Same as {@link #factorial(List, MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> factorial(List<BigDecimal> in, MathContext mc) {
+		return factorial(in, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Calculates the <code>arcsine</code> of <code>in[i]</code> into
+	 * <code>out[i]</code>.
+	 *
+	 * @param in
+	 *            the values, all between -1 and 1.
+	 * @param out
+	 *            the results, at least as long as <code>in</code>.
+	 * @param mc
+	 *            rounding mode and precision for the results.
+	 * @param pool
+	 *            the pool to split the work across.
+	 * @see BigDecimalFunctions#arcsin(BigDecimal, MathContext)
+	 */
+	public static void arcsin(final BigDecimal[] in, final BigDecimal[] out, final MathContext mc,
+			ForkJoinPool pool) {
+		run(new Element(in, out) {
+			@Override
+			void compute(int i) {
+				out[i] = BigDecimalFunctions.arcsin(in[i], mc);
+			}
+		}, pool);
+	}
+
+	/**
+	 * Same as {@link #arcsin(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 */
+	public static void arcsin(BigDecimal[] in, BigDecimal[] out, MathContext mc) {
+		arcsin(in, out, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Same as {@link #arcsin(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * for lists.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> arcsin(List<BigDecimal> in, MathContext mc, ForkJoinPool pool) {
+		BigDecimal[] values = toArray(in);
+		arcsin(values, values, mc, pool);
+		return Arrays.asList(values);
+	}
+
+	/**
+	 * Same as {@link #arcsin(List, MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> arcsin(List<BigDecimal> in, MathContext mc) {
+		return arcsin(in, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Calculates the <code>arccosine</code> of <code>in[i]</code> into
+	 * <code>out[i]</code>.
+	 *
+	 * @param in
+	 *            the values, all between -1 and 1.
+	 * @param out
+	 *            the results, at least as long as <code>in</code>.
+	 * @param mc
+	 *            rounding mode and precision for the results.
+	 * @param pool
+	 *            the pool to split the work across.
+	 * @see BigDecimalFunctions#arccos(BigDecimal, MathContext)
+	 */
+	public static void arccos(final BigDecimal[] in, final BigDecimal[] out, final MathContext mc,
+			ForkJoinPool pool) {
+		run(new Element(in, out) {
+			@Override
+			void compute(int i) {
+				out[i] = BigDecimalFunctions.arccos(in[i], mc);
+			}
+		}, pool);
+	}
+
+	/**
+	 * Same as {@link #arccos(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 */
+	public static void arccos(BigDecimal[] in, BigDecimal[] out, MathContext mc) {
+		arccos(in, out, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Same as {@link #arccos(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * for lists.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> arccos(List<BigDecimal> in, MathContext mc, ForkJoinPool pool) {
+		BigDecimal[] values = toArray(in);
+		arccos(values, values, mc, pool);
+		return Arrays.asList(values);
+	}
+
+	/**
+	 * Same as {@link #arccos(List, MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> arccos(List<BigDecimal> in, MathContext mc) {
+		return arccos(in, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Calculates the <code>arctangent</code> of <code>in[i]</code> into
+	 * <code>out[i]</code>.
+	 *
+	 * @param in
+	 *            the values.
+	 * @param out
+	 *            the results, at least as long as <code>in</code>.
+	 * @param mc
+	 *            rounding mode and precision for the results.
+	 * @param pool
+	 *            the pool to split the work across.
+	 * @see BigDecimalFunctions#arctan(BigDecimal, MathContext)
+	 */
+	public static void arctan(final BigDecimal[] in, final BigDecimal[] out, final MathContext mc,
+			ForkJoinPool pool) {
+		run(new Element(in, out) {
+			@Override
+			void compute(int i) {
+				out[i] = BigDecimalFunctions.arctan(in[i], mc);
+			}
+		}, pool);
+	}
+
+	/**
+	 * Same as {@link #arctan(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 */
+	public static void arctan(BigDecimal[] in, BigDecimal[] out, MathContext mc) {
+		arctan(in, out, mc, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Same as {@link #arctan(BigDecimal[], BigDecimal[], MathContext, ForkJoinPool)}
+	 * for lists.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> arctan(List<BigDecimal> in, MathContext mc, ForkJoinPool pool) {
+		BigDecimal[] values = toArray(in);
+		arctan(values, values, mc, pool);
+		return Arrays.asList(values);
+	}
+
+	/**
+	 * Same as {@link #arctan(List, MathContext, ForkJoinPool)}
+	 * on the common pool.
+	 *
+	 * @return the results, in the order of the values
+	 */
+	public static List<BigDecimal> arctan(List<BigDecimal> in, MathContext mc) {
+		return arctan(in, mc, ForkJoinPool.commonPool());
+	}
+
+	private static BigDecimal[] toArray(List<BigDecimal> values) {
+		return values.toArray(new BigDecimal[values.size()]);
+	}
+
+	private static void run(Element element, ForkJoinPool pool) {
+		if (pool == null) {
+			throw new IllegalArgumentException("Batches require a pool");
+		}
+		int length = element.length;
+		if (length == 0) {
+			return;
+		}
+
+		// The first value calculates the constants for the precision.
+		element.compute(0);
+		if (length > 1) {
+			int leaf = Math.max(1, length / (pool.getParallelism() * CHUNKS_PER_WORKER));
+			pool.invoke(new Chunk(element, 1, length, leaf));
+		}
+	}
+
+	/**
+	 * The calculation of one value of a batch.
+	 */
+	private abstract static class Element {
+		final int length;
+
+		Element(BigDecimal[] in, BigDecimal[] out) {
+			if (out.length < in.length) {
+				throw new IllegalArgumentException("The output array is shorter than the input");
+			}
+			this.length = in.length;
+		}
+
+		abstract void compute(int i);
+	}
+
+	/**
+	 * A range of values of a batch. The range is halved until it is at most
+	 * <code>leaf</code> values long, but only while the pool does not have
+	 * enough queued tasks already, so that expensive values are spread finely
+	 * and cheap ones do not drown the pool in tasks.
+	 */
+	private static final class Chunk extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Element element;
+		private final int from;
+		private final int to;
+		private final int leaf;
+
+		// Split off halves which are joined once this chunk is done.
+		private Chunk next;
+
+		Chunk(Element element, int from, int to, int leaf) {
+			this.element = element;
+			this.from = from;
+			this.to = to;
+			this.leaf = leaf;
+		}
+
+		@Override
+		protected void compute() {
+			int end = to;
+			Chunk forked = null;
+			while (end - from > leaf && getSurplusQueuedTaskCount() <= MAXIMUM_SURPLUS) {
+				int middle = (from + end) >>> 1;
+				Chunk half = new Chunk(element, middle, end, leaf);
+				half.next = forked;
+				forked = half;
+				half.fork();
+				end = middle;
+			}
+			for (int i = from; i < end; i++) {
+				element.compute(i);
+			}
+			for (; forked != null; forked = forked.next) {
+				forked.join();
+			}
+		}
+	}
+}
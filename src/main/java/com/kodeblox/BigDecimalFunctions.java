@@ -15,17 +15,75 @@ limitations under the License.*/
 package com.kodeblox;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.MathContext;
+import java.math.RoundingMode;
 import com.kodeblox.NumericalMethodsFunctions;
-import com.google.common.math.BigIntegerMath;
 
 /**
  * Mathematical functions needed for BigDecimal
  */
 public final class BigDecimalFunctions {
 
+	/**
+	 * <code>PI</code> to 34 digits. Use {@link #pi(MathContext)} when more
+	 * digits are needed.
+	 */
 	public static final BigDecimal PI = new BigDecimal("3.141592653589793238462643383279503");
 
+	private static final BigDecimal HALF = new BigDecimal("0.5");
+	private static final BigDecimal TWO = BigDecimal.valueOf(2);
+	private static final BigDecimal NEAR_ONE = new BigDecimal("0.96875");
+
+	// Precisions from which the series are summed by binary splitting, as
+	// measured with SeriesBenchmark. The exponential gains from it early,
+	// since it also saves the squarings. The sine, the cosine and the
+	// arctangent series halve their argument first, which keeps them ahead
+	// of binary splitting for long arguments at every precision measured,
+	// and for short ones up to SHORT_BINARY_SPLITTING_PRECISION.
+	private static final int EXP_BINARY_SPLITTING_PRECISION = 32;
+	private static final int SHORT_BINARY_SPLITTING_PRECISION = 512;
+	private static final int SHORT_DIGITS = 16;
+
+	// Guard digits of the first try at a correctly rounded result, and of the
+	// last. Every retry takes four times as many.
+	private static final int GUARD_DIGITS = 5;
+	private static final int MAXIMUM_GUARD_DIGITS = 80;
+
+	// Whole powers with at most this many digits are found exactly.
+	private static final int EXACT_POWER_DIGITS = Math.max(0,
+			Integer.getInteger("com.kodeblox.exactPowerDigits", 512));
+
+	// Denominators of the exponents raised through square roots.
+	private static final int[] ROOT_DEGREES = { 2, 4 };
+	private static final BigDecimal LONG_RANGE = BigDecimal.valueOf(Long.MAX_VALUE);
+
+	private static final double LN10 = Math.log(10);
+	private static final double LOG2_10 = Math.log(10) / Math.log(2);
+	private static final double LOG10_2 = Math.log10(2);
+
+	/**
+	 * Returns <code>PI</code> rounded according to the passed context
+	 * <code>mc</code>. The value is calculated once to the widest precision
+	 * asked for and then reused.
+	 *
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>PI</code>
+	 */
+	public static BigDecimal pi(MathContext mc) {
+		long start = Metrics.start(Metrics.Function.PI, mc);
+		try {
+			return piCompute(mc);
+		} finally {
+			Metrics.stop(Metrics.Function.PI, start);
+		}
+	}
+
+	private static BigDecimal piCompute(MathContext mc) {
+		return MathConstant.PI.get(mc);
+	}
+
 	/**
 	 * Calculates <code>e<sup>exponent</sup></code>. The result is rounded
 	 * according to the passed context <code>mc</code>.
@@ -35,84 +93,120 @@ public final class BigDecimalFunctions {
 	 * @param mc
 	 *            rounding mode and precision for the result of this operation.
 	 * @return <code>e<sup>exponent</sup></code>
+	 * @throws ArithmeticException
+	 *             if the result is too large or too small to be represented.
 	 */
 	public static BigDecimal exp(BigDecimal exponent, MathContext mc) {
-
-		MathContext newMc = new MathContext(mc.getPrecision() + 3);
-
-		// If the exponent is lesser than 0, negate the exponent, calculate
-		// the value and find the reciprocal.
-		// 1 / e ^(-exponent)
-		if (exponent.compareTo(BigDecimal.ZERO) < 0) {
-			return BigDecimal.ONE.divide(exp(exponent.negate(), newMc), newMc);
+		long start = Metrics.start(Metrics.Function.EXP, mc);
+		try {
+			return expCompute(exponent, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.EXP, start);
 		}
+	}
+
+	private static BigDecimal expCompute(BigDecimal exponent, MathContext mc) {
 
 		// If the exponent is 0, we all know that the result would be one.
 		if (exponent.compareTo(BigDecimal.ZERO) == 0) {
 			return BigDecimal.ONE;
 		}
 
-		// If the exponent is greater than 0, control will come here.
-
-		// Now to find the whole part of the exponent.
-		// i.e. if the exponent is say 1.64, the whole part is 1.
-		BigDecimal wholePart = getWhole(exponent);
-
-		// Checking to see if the exponent is close to one.
-		// If the whole part is 0 or 1, then the exponent is close to 1.
-		// And if the exponent is close to 1, we can directly start the Taylor's
-		// Series
-		// without fear and the result is returned.
-		if (wholePart.compareTo(BigDecimal.ZERO) == 0 || wholePart.compareTo(BigDecimal.ONE) == 0) {
-			return NumericalMethodsFunctions.expTaylorSeries(exponent, newMc).round(mc);
+		// e ^ 1 is a constant.
+		if (exponent.compareTo(BigDecimal.ONE) == 0) {
+			return MathConstant.E.get(mc);
 		}
 
-		// If the exponent is a larger number, control will come here.
-
-		// The logic behind working with such numbers is that if a large number
-		// is broken into its whole and fractional parts, then 1 +
-		// fraction/whole
-		// will always be near 1.Also,
-
-		// e ^ x = (e ^ (1 + fraction/whole))^ whole
+		// Low precisions can often be answered from doubles.
+		BigDecimal fast = FastPath.exp(exponent, mc);
+		if (fast != null) {
+			return fast;
+		}
 
-		// So, we first find the exponent near 1, raise e to that power then
-		// again
-		// raise the result to the integral power(since whole is an integer).
+		final LookupTables.Table table = LookupTables.get(mc);
+		return roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
+				return new Ball[] { expBall(Ball.valueOf(exponent), newMc, table) };
+			}
+		}, mc)[0];
+	}
 
-		// Now to find the fraction part of the exponent.
-		// i.e. if the exponent is say 1.64, the fraction part is 0.64.
-		BigDecimal fractionPart = getFraction(exponent);
+	/**
+	 * Calculates <code>e<sup>exponent</sup></code> to the precision of
+	 * <code>mc</code>, in a ball that holds the exact result. The
+	 * <code>table</code> is used if it has the digits.
+	 */
+	private static Ball expBall(Ball exponent, MathContext mc, LookupTables.Table table) {
+		BigDecimal value = exponent.getMidpoint();
 
-		// newExponent = 1 + fractionPart / wholePart
-		BigDecimal newExponent = BigDecimal.ONE.add(fractionPart.divide(wholePart, newMc), newMc);
-		BigDecimal power = wholePart;
+		// The exponent is first reduced by a multiple of ln 10 as,
 
-		// taylor = e ^ newExponent
-		BigDecimal taylor = NumericalMethodsFunctions.expTaylorSeries(newExponent, newMc);
-		BigDecimal longMaxValue = BigDecimal.valueOf(Long.MAX_VALUE);
+		// e ^ exponent = 10 ^ k * e ^ remainder
+		// where, k = round(exponent / ln 10)
 
-		// In case the whole part is so large that it does not fit in long, then
-		// the powers must be
-		// done in multi steps using the following logic:
+		// so that scaling the result back only moves the decimal point, which
+		// is exact. k only needs to be close, so double is good enough here.
+		double quotient = value.doubleValue() / LN10;
+		if (Math.abs(quotient) > Integer.MAX_VALUE) {
+			throw new ArithmeticException(value.signum() > 0 ? "Overflow" : "Underflow");
+		}
+		long k = Math.round(quotient);
+		int kDigits = k == 0 ? 0 : Long.toString(Math.abs(k)).length();
+
+		// The remainder is then halved a number of times,
+
+		// e ^ remainder = (e ^ (remainder / 2 ^ halvings)) ^ (2 ^ halvings)
+
+		// so that the Taylor's Series only needs a few terms, and the result is
+		// squared back as many times. About sqrt(precision) halvings balance
+		// the two, but a remainder that is already small needs fewer. Binary
+		// splitting does not gain from halving, and neither do the lookup
+		// tables, which leave even fewer terms.
+		boolean tabled = table != null && table.covers(mc);
+		boolean splitting = !tabled && mc.getPrecision() >= EXP_BINARY_SPLITTING_PRECISION;
+		int magnitude = k == 0 ? value.precision() - value.scale() : 1;
+		int halvings = splitting || tabled ? 0
+				: Math.max(0, (int) Math.ceil(Math.sqrt(mc.getPrecision()) + magnitude * LOG2_10));
+
+		// Every squaring doubles the relative error, so the working precision
+		// has to cover for them.
+		MathContext newMc = new MathContext(mc.getPrecision() + (int) Math.ceil(halvings * LOG10_2));
+
+		// remainder = exponent - k * ln 10
+		// ln 10 needs as many more digits as k has, since they cancel out.
+		Ball remainder = exponent;
+		if (k != 0) {
+			MathContext lnMc = new MathContext(newMc.getPrecision() + kDigits);
+			Ball ln10 = Ball.withinUlp(MathConstant.LN10.get(lnMc));
+			remainder = exponent.subtract(ln10.multiply(Ball.valueOf(BigDecimal.valueOf(k)), MathContext.UNLIMITED),
+					new MathContext(lnMc.getPrecision() + 1));
+		}
 
-		// e ^ x = e ^ a * e ^ b * e ^ c
-		// where, x = a + b + c
+		// remainder / 2 ^ halvings = remainder * 5 ^ halvings / 10 ^ halvings
+		remainder = remainder.multiply(Ball.valueOf(BigDecimal.valueOf(5).pow(halvings)), MathContext.UNLIMITED)
+				.scaleByPowerOfTen(-halvings).round(newMc);
+
+		Ball result;
+		BigDecimal reduced = remainder.getMidpoint();
+		if (tabled) {
+			result = table.exp(reduced, newMc);
+		} else if (splitting) {
+			result = NumericalMethodsFunctions.expBinarySplittingBall(reduced, newMc);
+		} else {
+			result = NumericalMethodsFunctions.expTaylorSeriesBall(reduced, newMc);
+		}
 
-		// Thus, each time e will be powered by the maximum long and the
-		// exponent will
-		// be decreased by the same maximum until the exponent is lesser than
-		// the maximum.
-		BigDecimal result = BigDecimal.ONE;
-		if (wholePart.compareTo(longMaxValue) > 0) {
-			while (power.compareTo(longMaxValue) > 0) {
-				result = result.multiply(pow(taylor, Long.MAX_VALUE, newMc), newMc);
-				power = power.subtract(longMaxValue, newMc);
-			}
+		// The remainder is off by at most its radius r, which changes the
+		// result by a factor of e ^ r, where e ^ r - 1 <= 2 * r for the small
+		// radii of a working precision.
+		result = result.widen(result.magnitude().multiply(remainder.getRadius()).multiply(TWO));
+		for (int i = 0; i < halvings; i++) {
+			Cancellation.check();
+			result = result.multiply(result, newMc);
 		}
 
-		// One multiplication was left, so the last multiplication is done here
-		return result.multiply(pow(taylor, power.longValue(), newMc)).round(mc);
+		return result.scaleByPowerOfTen((int) k);
 	}
 
 	/**
@@ -129,30 +223,115 @@ public final class BigDecimalFunctions {
 	 * @return <code>base<sup>exponent</sup></code>
 	 */
 	public static BigDecimal pow(BigDecimal base, long exponent, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.POW, mc);
+		try {
+			return powCompute(base, exponent, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.POW, start);
+		}
+	}
 
-		// If the exponent is lesser than 0, negate the exponent, calculate
-		// the value and find the reciprocal.
+	private static BigDecimal powCompute(final BigDecimal base, final long exponent, MathContext mc) {
+		if (exponent == 0) {
+			return BigDecimal.ONE;
+		}
+
+		// Powers with few enough digits are found exactly, and rounded once.
+		// If the exponent is lesser than 0, the reciprocal is found.
 		// 1 / base ^(-exponent)
-		if (exponent < 0) {
-			return BigDecimal.ONE.divide(pow(base, -exponent, mc), mc);
+		BigDecimal exact = exactPower(base, exponent);
+		if (exact != null) {
+			return exponent < 0 ? BigDecimal.ONE.divide(exact, mc) : exact.round(mc);
 		}
 
-		BigDecimal result = BigDecimal.ONE;
+		return roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
 
-		// A fast algorithm to compute powers.
+				// The relative error doubles with every squaring, so it grows
+				// as much as the exponent, which needs as many more digits.
+				MathContext powerMc = new MathContext(newMc.getPrecision() + digits(exponent));
+				Ball power = power(Ball.valueOf(base), BigInteger.valueOf(exponent).abs(), powerMc);
+				return new Ball[] { exponent < 0 ? Ball.valueOf(BigDecimal.ONE).divide(power, powerMc) : power };
+			}
+		}, mc)[0];
+	}
 
-		while (exponent > 0) {
+	/**
+	 * Returns <code>base<sup>|exponent|</sup></code> exactly, or
+	 * <code>null</code> if it would have more than
+	 * {@link #EXACT_POWER_DIGITS} digits.
+	 */
+	private static BigDecimal exactPower(BigDecimal base, long exponent) {
+		if (base.signum() == 0) {
+			return BigDecimal.ZERO;
+		}
+		double magnitude = Math.abs((double) exponent);
+		if (base.precision() * magnitude > EXACT_POWER_DIGITS
+				|| Math.abs(base.scale() * magnitude) > Integer.MAX_VALUE) {
+			return null;
+		}
+		return base.pow((int) magnitude);
+	}
 
-			if ((exponent & 1) == 1) {
-				result = result.multiply(base, mc);
+	/**
+	 * Calculates <code>base<sup>exponent</sup></code> for a positive
+	 * <code>exponent</code> by sliding window exponentiation, in a ball that
+	 * holds the exact result. The bits of the exponent are taken in windows of
+	 * up to <code>width</code> bits that end in a set bit, and every window
+	 * multiplies by one of the odd powers of the base found first, so that
+	 * only about one multiplication every <code>width</code> bits is needed on
+	 * top of the squarings.
+	 */
+	private static Ball power(Ball base, BigInteger exponent, MathContext mc) {
+		int bits = exponent.bitLength();
+		int width = bits < 8 ? 1 : bits < 24 ? 2 : bits < 80 ? 3 : 4;
+
+		// base, base ^ 3, base ^ 5 ... base ^ (2 ^ width - 1)
+		Ball[] odd = new Ball[1 << (width - 1)];
+		odd[0] = base;
+		if (width > 1) {
+			Ball square = base.multiply(base, mc);
+			for (int i = 1; i < odd.length; i++) {
+				odd[i] = odd[i - 1].multiply(square, mc);
 			}
-			base = base.multiply(base, mc);
-			exponent >>= 1;
 		}
 
+		Ball result = null;
+		for (int i = bits - 1; i >= 0;) {
+			Cancellation.check();
+			if (!exponent.testBit(i)) {
+				result = result.multiply(result, mc);
+				i--;
+				continue;
+			}
+
+			// The longest window from bit i that ends in a set bit
+			int low = Math.max(0, i - width + 1);
+			while (!exponent.testBit(low)) {
+				low++;
+			}
+			int window = exponent.shiftRight(low).intValue() & ((1 << (i - low + 1)) - 1);
+			if (result != null) {
+				for (int j = low; j <= i; j++) {
+					result = result.multiply(result, mc);
+				}
+				result = result.multiply(odd[window >> 1], mc);
+			} else {
+				result = odd[window >> 1];
+			}
+			i = low - 1;
+		}
 		return result;
 	}
 
+	/**
+	 * Returns the number of decimal digits of <code>|value|</code>.
+	 */
+	private static int digits(long value) {
+		return value == Long.MIN_VALUE ? 19 : Long.toString(Math.abs(value)).length();
+	}
+
 	/**
 	 * Returns the whole part of <code>number</code>.
 	 *
@@ -190,29 +369,137 @@ public final class BigDecimalFunctions {
 	 *             if <code>value <= 0</code>.
 	 */
 	public static BigDecimal ln(BigDecimal value, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.LN, mc);
+		try {
+			return lnCompute(value, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.LN, start);
+		}
+	}
+
+	private static BigDecimal lnCompute(BigDecimal value, MathContext mc) {
 		// If the value is lesser than or equal to 0, logarithm cannot
 		// be calculated. IllegalArgumentException thrown.
 		if (value.compareTo(BigDecimal.ZERO) <= 0) {
 			throw new IllegalArgumentException("Log requires values greater than 0");
 		}
 
-		MathContext newMc = new MathContext(mc.getPrecision() + 3);
-		// Calculates the number of digits in the significand.
-		long wholeDigits = value.precision() - value.scale();
-		final int THRESHOLD = 3;
+		// The logarithms of 2 and 10 are constants.
+		if (value.compareTo(TWO) == 0) {
+			return MathConstant.LN2.get(mc);
+		}
+		if (value.compareTo(BigDecimal.TEN) == 0) {
+			return MathConstant.LN10.get(mc);
+		}
+
+		// log 1 = 0
+		if (value.compareTo(BigDecimal.ONE) == 0) {
+			return BigDecimal.ZERO;
+		}
+
+		BigDecimal fast = FastPath.ln(value, mc);
+		if (fast != null) {
+			return fast;
+		}
+
+		final LookupTables.Table table = LookupTables.get(mc);
+		return roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
+				return new Ball[] { lnBall(value, newMc, table) };
+			}
+		}, mc)[0];
+	}
+
+	/**
+	 * Calculates <code>log<sub>e</sub> value</code> of a positive
+	 * <code>value</code> to the precision of <code>mc</code>, in a ball that
+	 * holds the exact result. The <code>table</code> is used if it has the
+	 * digits.
+	 */
+	private static Ball lnBall(BigDecimal value, MathContext mc, LookupTables.Table table) {
+
+		// Values between 0.5 and 1 would cancel out with the reductions below,
+		// so their reciprocal is used instead. Values just below 1 are already
+		// reduced and go straight to the series, since rounding the reciprocal
+		// would lose the digits that tell them apart from 1.
+
+		// log value = -log (1 / value)
+		boolean below = value.compareTo(BigDecimal.ONE) < 0 && value.compareTo(HALF) >= 0;
+		boolean nearOne = below && value.compareTo(NEAR_ONE) >= 0;
+		boolean reciprocal = below && !nearOne;
+
+		// The value is split into its mantissa and decimal exponent,
+
+		// value = mantissa * 10 ^ exponent
+		// log value = exponent * log 10 + log mantissa
+
+		// where 1 <= mantissa < 10. For values below 0.5 the exponent is
+		// negative and cancels out with the rest, so it needs as many more
+		// digits as it has.
+		int exponent = value.precision() - value.scale() - 1;
+		int exponentDigits = exponent == 0 ? 0 : Integer.toString(Math.abs(exponent)).length();
+		MathContext newMc = new MathContext(mc.getPrecision() + exponentDigits);
+		Ball mantissa = Ball.valueOf(value);
+		if (below) {
+			if (reciprocal) {
+				mantissa = Ball.valueOf(BigDecimal.ONE).divide(mantissa, newMc);
+			}
+			exponent = 0;
+		}
+		mantissa = mantissa.scaleByPowerOfTen(-exponent);
+
+		// The mantissa is halved until it is lesser than 2,
+
+		// log mantissa = halvings * log 2 + log (mantissa / 2 ^ halvings)
+		int halvings = 0;
+		while (mantissa.getMidpoint().compareTo(TWO) >= 0) {
+			mantissa = mantissa.multiply(Ball.valueOf(HALF), MathContext.UNLIMITED);
+			halvings++;
+		}
+
+		// and then divided by the nearest entry 1 + k / 32 of the table below
+		// it, which leaves a reduced value lesser than 1 + 1 / 32. The lookup
+		// tables have finer entries, and their reciprocals to multiply with.
+
+		// log mantissa = log (1 + k / 32) + log (mantissa / (1 + k / 32))
+		Ball reduced;
+		Ball log;
+		if (table != null && table.covers(mc)) {
+			int k = nearOne ? 0 : table.index(mantissa.getMidpoint());
+			reduced = k == 0 ? mantissa : mantissa.multiply(table.reciprocal(k), newMc);
+			log = table.ln(k);
+		} else {
+			int k = nearOne ? 0
+					: mantissa.getMidpoint().subtract(BigDecimal.ONE).multiply(BigDecimal.valueOf(LogarithmTable.SIZE))
+							.intValue();
+			BigDecimal entry = BigDecimal.ONE
+					.add(BigDecimal.valueOf(k).divide(BigDecimal.valueOf(LogarithmTable.SIZE)));
+			reduced = k == 0 ? mantissa : mantissa.divide(Ball.valueOf(entry), newMc);
+			log = k == 0 ? Ball.valueOf(BigDecimal.ZERO)
+					: Ball.withinUlp(LogarithmTable.entry(k, newMc.getPrecision()), newMc.getPrecision());
+		}
+
+		// The rest is found from the quickly converging series,
 
-		// If the number is within a threshold, simple Newton-Raphson is done.
-		// But for a big number,
-		// the number is first reduced to value ^ (1 / significandDigits). Then
-		// the logarithm is calculated and then multiplied by significandDigits.
+		// log reduced = 2 * atanh((reduced - 1) / (reduced + 1))
+		Ball one = Ball.valueOf(BigDecimal.ONE);
+		Ball ratio = reduced.subtract(one, MathContext.UNLIMITED).divide(reduced.add(one, MathContext.UNLIMITED),
+				newMc);
 
-		// log value = significandDigits * log value ^ (1 / significandDigits).
-		if (wholeDigits < THRESHOLD) {
-			return NumericalMethodsFunctions.lnNewtonRaphson(value, newMc).round(mc);
+		Ball result = atanhBall(ratio, newMc).multiply(Ball.valueOf(TWO), newMc);
+
+		result = result.add(log, newMc);
+		if (halvings != 0) {
+			result = result.add(Ball.withinUlp(MathConstant.LN2.get(newMc))
+					.multiply(Ball.valueOf(BigDecimal.valueOf(halvings)), MathContext.UNLIMITED), newMc);
+		}
+		if (exponent != 0) {
+			result = result.add(Ball.withinUlp(MathConstant.LN10.get(newMc))
+					.multiply(Ball.valueOf(BigDecimal.valueOf(exponent)), MathContext.UNLIMITED), newMc);
 		}
-		return BigDecimal.valueOf(wholeDigits)
-				.multiply(NumericalMethodsFunctions.lnNewtonRaphson(root(value, wholeDigits, newMc), newMc), newMc)
-				.round(mc);
+
+		return reciprocal ? result.negate() : result;
 	}
 
 	/**
@@ -228,6 +515,15 @@ public final class BigDecimalFunctions {
 	 * @return <code>base<sup>exponent</sup></code>
 	 */
 	public static BigDecimal pow(BigDecimal base, BigDecimal exponent, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.POW, mc);
+		try {
+			return powCompute(base, exponent, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.POW, start);
+		}
+	}
+
+	private static BigDecimal powCompute(BigDecimal base, BigDecimal exponent, MathContext mc) {
 
 		// Check if the power is an integer
 		// If so, then use the long exponent function which is faster
@@ -235,18 +531,84 @@ public final class BigDecimalFunctions {
 			return pow(base, exponent.longValue(), mc);
 		}
 
-		MathContext newMc = new MathContext(mc.getPrecision() + 3);
+		BigDecimal fast = FastPath.pow(base, exponent, mc);
+		if (fast != null) {
+			return fast;
+		}
+
+		if (base.signum() <= 0) {
+			throw new IllegalArgumentException("Log requires values greater than 0");
+		}
+
+		// Exponents that are a whole number of halves or quarters are found
+		// from square roots, exact to a unit of their last digit, and a whole
+		// power as,
+
+		// base ^ (numerator / degree) = (base ^ (1 / degree)) ^ numerator
+		for (final int degree : ROOT_DEGREES) {
+			BigDecimal scaled = exponent.multiply(BigDecimal.valueOf(degree));
+			if (getFraction(scaled).signum() == 0 && scaled.abs().compareTo(LONG_RANGE) < 0) {
+				final long numerator = scaled.longValue();
+				return roundCorrectly(new BallFunction() {
+					@Override
+					public Ball[] apply(MathContext newMc) {
+						MathContext powerMc = new MathContext(newMc.getPrecision() + digits(numerator));
+						Ball power = power(root(base, degree, powerMc), BigInteger.valueOf(numerator).abs(), powerMc);
+						return new Ball[] {
+								numerator < 0 ? Ball.valueOf(BigDecimal.ONE).divide(power, powerMc) : power };
+					}
+				}, mc)[0];
+			}
+		}
+
 		// The calculation is done as,
 		// base^exponent = e ^ (exponent * ln base)
 
-		// ln = ln base
-		BigDecimal ln = ln(base, newMc);
+		// where every digit of the product before the point only moves the
+		// result by a power of 10, so ln base needs as many more digits.
+		double product = Math.abs(exponent.doubleValue()) * (Math.abs(base.precision() - base.scale()) + 1) * LN10;
+		final int extra = (int) Math.min(MAXIMUM_GUARD_DIGITS, Math.max(0, Math.ceil(Math.log10(product))));
+		return roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
+				MathContext lnMc = new MathContext(newMc.getPrecision() + extra);
 
-		// exp = exponent * ln base
-		BigDecimal exp = exponent.multiply(ln, newMc);
+				// exp = exponent * ln base
+				Ball exp = lnBall(base, lnMc, null).multiply(Ball.valueOf(exponent), lnMc);
 
-		// return e ^ (exponent * ln base)
-		return exp(exp, newMc).round(mc);
+				// return e ^ (exponent * ln base)
+				return new Ball[] { expBall(exp, newMc, null) };
+			}
+		}, mc)[0];
+	}
+
+	/**
+	 * Returns the <code>degree<sup>th</sup></code> root of a positive
+	 * <code>base</code>, for a <code>degree</code> of <code>2</code> or
+	 * <code>4</code>, to at least the precision of <code>mc</code>, in a ball
+	 * that holds the exact root. The digits of the base are extended to a
+	 * whole number that many times longer, whose root is found exactly to its
+	 * floor, since
+	 * <p>
+	 * <code>floor(n<sup>1/4</sup>) = floor(floor(n<sup>1/2</sup>)<sup>1/2</sup>)</code>
+	 * <p>
+	 * So the root is off by less than a unit, and exact when it is a whole
+	 * number of units.
+	 */
+	private static Ball root(BigDecimal base, int degree, MathContext mc) {
+
+		// base = unscaled * 10 ^ shift / 10 ^ (shift + scale), where the
+		// power of 10 has to have a whole root.
+		int shift = Math.max(0, degree * mc.getPrecision() - base.precision());
+		shift += Math.floorMod(-(shift + base.scale()), degree);
+		BigInteger value = base.unscaledValue().multiply(BigInteger.TEN.pow(shift));
+		BigInteger root = FixedPoint.sqrt(value);
+		if (degree == 4) {
+			root = FixedPoint.sqrt(root);
+		}
+		int scale = (shift + base.scale()) / degree;
+		BigDecimal radius = root.pow(degree).equals(value) ? BigDecimal.ZERO : BigDecimal.ONE.movePointLeft(scale);
+		return new Ball(new BigDecimal(root, scale), radius);
 	}
 
 	/**
@@ -260,8 +622,54 @@ public final class BigDecimalFunctions {
 	 * @return <code>value<sup>(1/2)</sup></code>
 	 */
 	public static BigDecimal sqrt(BigDecimal value, MathContext mc) {
-		MathContext newMc = new MathContext(mc.getPrecision() + 3);
-		return NumericalMethodsFunctions.sqrtNewtonRaphson(value, newMc).round(mc);
+		long start = Metrics.start(Metrics.Function.SQRT, mc);
+		try {
+			return sqrtCompute(value, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.SQRT, start);
+		}
+	}
+
+	private static BigDecimal sqrtCompute(final BigDecimal value, MathContext mc) {
+
+		// The square roots of 2 and 3 are constants.
+		if (value.compareTo(TWO) == 0) {
+			return MathConstant.SQRT2.get(mc);
+		}
+		if (value.compareTo(BigDecimal.valueOf(3)) == 0) {
+			return MathConstant.SQRT3.get(mc);
+		}
+
+		BigDecimal fast = FastPath.sqrt(value, mc);
+		if (fast != null) {
+			return fast;
+		}
+		if (value.signum() == 0) {
+			return BigDecimal.ZERO;
+		}
+		if (value.signum() < 0) {
+			throw new ArithmeticException("Square root of a negative value");
+		}
+
+		// The root is found like for pow(value, 0.5), so that both round the
+		// same.
+		BigDecimal result = roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
+				return new Ball[] { root(value, 2, newMc) };
+			}
+		}, mc)[0];
+
+		// An exact root keeps the preferred scale of half the scale of the
+		// value, where it can. Its digits are about half those of the value,
+		// which rules out most results before squaring them.
+		BigDecimal exact = result.stripTrailingZeros();
+		int digits = 2 * exact.precision() - value.stripTrailingZeros().precision();
+		if (digits >= 0 && digits <= 1 && exact.multiply(exact).compareTo(value) == 0) {
+			int preferred = value.scale() / 2;
+			return exact.scale() < preferred ? exact.setScale(preferred).round(mc) : exact;
+		}
+		return result;
 	}
 
 	/**
@@ -278,6 +686,15 @@ public final class BigDecimalFunctions {
 	 * @return <code>base<sup>(1/exponent)</sup></code>
 	 */
 	public static BigDecimal root(BigDecimal base, long exponent, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.ROOT, mc);
+		try {
+			return rootCompute(base, exponent, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.ROOT, start);
+		}
+	}
+
+	private static BigDecimal rootCompute(BigDecimal base, long exponent, MathContext mc) {
 		MathContext newMc = new MathContext(mc.getPrecision() + 3);
 		return NumericalMethodsFunctions.rootNewtonRaphson(base, exponent, newMc).round(mc);
 	}
@@ -293,45 +710,36 @@ public final class BigDecimalFunctions {
 	 * @return <code>sin (angle)</code>
 	 */
 	public static BigDecimal sin(BigDecimal angle, MathContext mc) {
-
-		MathContext newMc = new MathContext(mc.getPrecision() + 3);
-
-		// Checking to see if the entered angle is greater than 2 * PI
-		// and reduce accordingly.
-		if (angle.compareTo(BigDecimalFunctions.PI.multiply(BigDecimal.valueOf(2), newMc)) >= 0) {
-
-			// angle = n * 2 * PI + reducedAngle
-			// n = floor(angle / 2 * PI)
-			long n = angle.divide(BigDecimalFunctions.PI.multiply(BigDecimal.valueOf(2), newMc), newMc).longValue();
-			angle = angle.subtract(BigDecimalFunctions.PI.multiply(BigDecimal.valueOf(n * 2), newMc), newMc);
-		}
-
-		// All angle values to be reduced between 0 to PI / 2
-		// for quick calculation.
-		// Checking to see if the angle is greater than PI
-		// If so reduce
-		if (angle.compareTo(BigDecimalFunctions.PI) >= 0) {
-			angle = angle.subtract(BigDecimalFunctions.PI, newMc).negate();
-		}
-
-		// Checking to see if the angle is greater than PI / 2
-		if (angle.compareTo(BigDecimalFunctions.PI.divide(BigDecimal.valueOf(2), newMc)) > 0) {
-			angle = angle.subtract(BigDecimalFunctions.PI, newMc).negate();
+		long start = Metrics.start(Metrics.Function.SIN, mc);
+		try {
+			return sinCompute(angle, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.SIN, start);
 		}
+	}
 
-		// Checking whether the angle is negative
-		if (angle.compareTo(BigDecimal.ZERO) < 0) {
+	private static BigDecimal sinCompute(BigDecimal angle, MathContext mc) {
 
-			// Since sin(-angle) = -sin(angle).
-			return sin(angle.negate(), newMc).negate().round(mc);
+		BigDecimal fast = FastPath.sin(angle, mc);
+		if (fast != null) {
+			return fast;
 		}
 
 		// Returns 0 for 0 rads
-		if (angle.compareTo(BigDecimal.ZERO) == 0) {
+		if (angle.signum() == 0) {
 			return BigDecimal.ZERO;
 		}
 
-		return NumericalMethodsFunctions.sinTaylorSeries(angle, newMc).round(mc);
+		return roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
+				ReducedAngle reduced = ReducedAngle.of(angle, newMc);
+				if (reduced.swapped()) {
+					return new Ball[] { reduced.sin(null, cosSeries(reduced, newMc)) };
+				}
+				return new Ball[] { reduced.sin(sinSeries(reduced, newMc), null) };
+			}
+		}, mc)[0];
 	}
 
 	/**
@@ -345,46 +753,81 @@ public final class BigDecimalFunctions {
 	 * @return <code>cos (angle)</code>
 	 */
 	public static BigDecimal cos(BigDecimal angle, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.COS, mc);
+		try {
+			return cosCompute(angle, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.COS, start);
+		}
+	}
 
-		MathContext newMc = new MathContext(mc.getPrecision() + 3);
-
-		// Checking to see if the entered angle is greater than 2 * PI
-		// and reduce accordingly.
-		if (angle.compareTo(BigDecimalFunctions.PI.multiply(BigDecimal.valueOf(2), newMc)) >= 0) {
+	private static BigDecimal cosCompute(BigDecimal angle, MathContext mc) {
 
-			// angle = n * 2 * PI + reducedAngle
-			// n = floor(angle / 2 * PI)
-			long n = angle.divide(BigDecimalFunctions.PI.multiply(BigDecimal.valueOf(2), newMc), newMc).longValue();
-			angle = angle.subtract(BigDecimalFunctions.PI.multiply(BigDecimal.valueOf(n * 2), newMc), newMc);
+		BigDecimal fast = FastPath.cos(angle, mc);
+		if (fast != null) {
+			return fast;
 		}
 
-		// All angle values to be reduced between 0 to PI / 2
-		// for quick calculation.
-		// Checking to see if the angle is greater than PI
-		// If so reduce
-		if (angle.compareTo(BigDecimalFunctions.PI) >= 0) {
-			angle = angle.subtract(BigDecimalFunctions.PI.multiply(BigDecimal.valueOf(2), newMc), newMc).negate();
+		// Returns 1 for 0 rads
+		if (angle.signum() == 0) {
+			return BigDecimal.ONE;
 		}
 
-		// Checking to see if the angle is greater than PI / 2
-		if (angle.compareTo(BigDecimalFunctions.PI.divide(BigDecimal.valueOf(2), newMc)) > 0) {
-			angle = angle.subtract(BigDecimalFunctions.PI, newMc).negate();
-			return NumericalMethodsFunctions.cosTaylorSeries(angle, newMc).negate().round(mc);
+		return roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
+				ReducedAngle reduced = ReducedAngle.of(angle, newMc);
+				if (reduced.swapped()) {
+					return new Ball[] { reduced.cos(sinSeries(reduced, newMc), null) };
+				}
+				return new Ball[] { reduced.cos(null, cosSeries(reduced, newMc)) };
+			}
+		}, mc)[0];
+	}
+
+	/**
+	 * Calculates both the <code>sine</code> and the <code>cosine</code> of an
+	 * angle in <code>radians</code>. The angle is reduced once and both series
+	 * are summed together, which costs little more than either of
+	 * {@link #sin(BigDecimal, MathContext)} and
+	 * {@link #cos(BigDecimal, MathContext)}. The results are rounded according
+	 * to the passed context <code>mc</code>.
+	 * 
+	 * @param angle
+	 *            the angle in radians.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>{ sin (angle), cos (angle) }</code>
+	 */
+	public static BigDecimal[] sincos(BigDecimal angle, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.SINCOS, mc);
+		try {
+			return sincosCompute(angle, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.SINCOS, start);
 		}
+	}
 
-		// Checking whether the angle is negative
-		if (angle.compareTo(BigDecimal.ZERO) < 0) {
+	private static BigDecimal[] sincosCompute(BigDecimal angle, MathContext mc) {
 
-			// Since cos(-angle) = cos(angle).
-			return cos(angle.negate(), newMc).round(mc);
+		BigDecimal fastSin = FastPath.sin(angle, mc);
+		BigDecimal fastCos = fastSin == null ? null : FastPath.cos(angle, mc);
+		if (fastCos != null) {
+			return new BigDecimal[] { fastSin, fastCos };
 		}
 
-		// Returns 1 for 0 rads
-		if (angle.compareTo(BigDecimal.ZERO) == 0) {
-			return BigDecimal.ONE;
+		if (angle.signum() == 0) {
+			return new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ONE };
 		}
 
-		return NumericalMethodsFunctions.cosTaylorSeries(angle, newMc).round(mc);
+		return roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
+				ReducedAngle reduced = ReducedAngle.of(angle, newMc);
+				Ball[] sinCos = sinCosSeries(reduced, newMc);
+				return new Ball[] { reduced.sin(sinCos[0], sinCos[1]), reduced.cos(sinCos[0], sinCos[1]) };
+			}
+		}, mc);
 	}
 
 	/**
@@ -400,70 +843,193 @@ public final class BigDecimalFunctions {
 	 *             if <code>angle = PI / 2</code> (or its odd multiple).
 	 */
 	public static BigDecimal tan(BigDecimal angle, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.TAN, mc);
+		try {
+			return tanCompute(angle, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.TAN, start);
+		}
+	}
 
-		MathContext newMc = new MathContext(mc.getPrecision() + 3);
+	private static BigDecimal tanCompute(BigDecimal angle, MathContext mc) {
 
-		// Checking to see if the entered angle is greater than 2 * PI
-		// and reduce accordingly.
-		if (angle.compareTo(BigDecimalFunctions.PI.multiply(BigDecimal.valueOf(2), newMc)) >= 0) {
+		BigDecimal fast = FastPath.tan(angle, mc);
+		if (fast != null) {
+			return fast;
+		}
 
-			// angle = n * 2 * PI + reducedAngle
-			// n = floor(angle / 2 * PI)
-			long n = angle.divide(BigDecimalFunctions.PI.multiply(BigDecimal.valueOf(2), newMc), newMc).longValue();
-			angle = angle.subtract(BigDecimalFunctions.PI.multiply(BigDecimal.valueOf(n * 2), newMc), newMc);
+		// Returns 0 for 0 rads
+		if (angle.signum() == 0) {
+			return BigDecimal.ZERO;
 		}
 
-		// All angle values to be reduced between 0 to PI / 2
-		// for quick calculation.
-		// Checking to see if the angle is greater than PI
-		// If so reduce
-		if (angle.compareTo(BigDecimalFunctions.PI) >= 0) {
-			angle = angle.subtract(BigDecimalFunctions.PI, newMc);
+		return roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
+				ReducedAngle reduced = ReducedAngle.of(angle, newMc);
+				Ball[] sinCos = sinCosSeries(reduced, newMc);
+				Ball cos = reduced.cos(sinCos[0], sinCos[1]);
+				if (cos.getMidpoint().signum() == 0) {
+					throw new ArithmeticException("The Angle is an odd multiple of PI / 2");
+				}
+				return new Ball[] { reduced.sin(sinCos[0], sinCos[1]).divide(cos, newMc) };
+			}
+		}, mc)[0];
+	}
+
+	/**
+	 * Calculates the <code>factorial</code> of a value. The result is rounded
+	 * according to the passed context <code>mc</code>. The factorial of a
+	 * fraction is <code>gamma(value + 1)</code>.
+	 * 
+	 * @param value
+	 *            the number whose factorial is to be found.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>value!</code>
+	 * @throws IllegalArgumentException
+	 *             if <code>value</code> is a negative integer.
+	 */
+	public static BigDecimal factorial(BigDecimal value, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.FACTORIAL, mc);
+		try {
+			return factorialCompute(value, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.FACTORIAL, start);
 		}
+	}
+
+	private static BigDecimal factorialCompute(BigDecimal value, MathContext mc) {
 
-		// Checking to see if the angle is greater than PI / 2
-		if (angle.compareTo(BigDecimalFunctions.PI.divide(BigDecimal.valueOf(2), newMc)) > 0) {
-			angle = angle.subtract(BigDecimalFunctions.PI, newMc).negate();
-			return NumericalMethodsFunctions.tanCompute(angle, newMc).negate().round(mc);
+		// Whole numbers that fit an int are multiplied out exactly and
+		// rounded once.
+		if (getFraction(value).signum() == 0 && value.compareTo(BigDecimal.valueOf(Integer.MAX_VALUE)) <= 0) {
+			if (value.signum() < 0) {
+				throw new IllegalArgumentException("Factorial is not defined for negative integers");
+			}
+			return new BigDecimal(Factorial.of(value.intValue()), mc);
+		}
+		return gamma(value.add(BigDecimal.ONE), mc);
+	}
+
+	/**
+	 * Calculates the <code>gamma</code> function of a value. The result is
+	 * rounded according to the passed context <code>mc</code>.
+	 * 
+	 * @param value
+	 *            the number whose gamma is to be found.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>gamma(value)</code>
+	 * @throws IllegalArgumentException
+	 *             if <code>value</code> is zero or a negative integer.
+	 */
+	public static BigDecimal gamma(BigDecimal value, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.GAMMA, mc);
+		try {
+			return gammaCompute(value, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.GAMMA, start);
 		}
+	}
 
-		// Checking whether the angle is PI / 2
-		if (angle.compareTo(BigDecimalFunctions.PI.divide(BigDecimal.valueOf(2), newMc)) == 0) {
-			throw new ArithmeticException("The Angle is an odd multiple of PI / 2");
+	private static BigDecimal gammaCompute(final BigDecimal value, MathContext mc) {
+
+		if (getFraction(value).signum() == 0) {
+			if (value.signum() <= 0) {
+				throw new IllegalArgumentException("Gamma is not defined for zero and negative integers");
+			}
+
+			// gamma(n) = (n - 1)!
+			if (value.compareTo(BigDecimal.valueOf(Integer.MAX_VALUE)) <= 0) {
+				return new BigDecimal(Factorial.of(value.intValue() - 1), mc);
+			}
 		}
 
-		// Checking whether the angle is negative
-		if (angle.compareTo(BigDecimal.ZERO) < 0) {
+		return roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
+				return new Ball[] { gammaBall(value, newMc) };
+			}
+		}, mc)[0];
+	}
+
+	/**
+	 * Calculates the <code>gamma</code> function of a value that is not a
+	 * whole number to the precision of <code>mc</code>, in a ball that holds
+	 * the exact result.
+	 */
+	private static Ball gammaBall(BigDecimal value, MathContext mc) {
+		if (value.compareTo(HALF) >= 0) {
 
-			// Since tan(-angle) = -tan(angle).
-			return tan(angle.negate(), newMc).negate().round(mc);
+			// The log gamma is accurate to one more digit after the decimal
+			// point than the result has digits, which is its relative error.
+			int digits = mc.getPrecision() + 1;
+			return expBall(new Ball(Gamma.ln(value, digits), BigDecimal.ONE.movePointLeft(digits)), mc, null);
 		}
 
-		// Returns 0 for 0 rads
-		if (angle.compareTo(BigDecimal.ZERO) == 0) {
-			return BigDecimal.ZERO;
+		// Reflection, gamma(x) = PI / (sin(PI * x) * gamma(1 - x)). The
+		// angle is reduced exactly first, sin(PI * x) = (-1)^n * sin(PI * f)
+		// where x = n + f.
+		BigDecimal whole = value.setScale(0, BigDecimal.ROUND_FLOOR);
+		BigDecimal fraction = value.subtract(whole);
+		if (fraction.compareTo(HALF) > 0) {
+			fraction = BigDecimal.ONE.subtract(fraction);
 		}
+		Ball pi = Ball.withinUlp(MathConstant.PI.get(mc));
+		Ball angle = pi.multiply(Ball.valueOf(fraction), mc);
 
-		return NumericalMethodsFunctions.tanCompute(angle, newMc).round(mc);
+		// |sin(a) - sin(b)| <= |a - b|
+		Ball sin = Ball.withinUlp(sin(angle.getMidpoint(), mc)).widen(angle.getRadius());
+		Ball result = pi.divide(sin.multiply(gammaBall(BigDecimal.ONE.subtract(value), mc), mc), mc);
+		return whole.toBigInteger().testBit(0) ? result.negate() : result;
 	}
 
 	/**
-	 * Calculates the <code>factorial</code> of a value. The result is rounded
-	 * according to the passed context <code>mc</code>.
+	 * Calculates the natural logarithm of the <code>gamma</code> function of
+	 * a value. Unlike <code>ln(gamma(value))</code>, it does not need the huge
+	 * intermediate result for large values. The result is rounded according to
+	 * the passed context <code>mc</code>.
 	 * 
 	 * @param value
-	 *            the number whose factorial is to be found.
+	 *            the number whose log gamma is to be found.
 	 * @param mc
 	 *            rounding mode and precision for the result of this operation.
-	 * @return <code>value!</code>
+	 * @return <code>ln(gamma(value))</code>
+	 * @throws IllegalArgumentException
+	 *             if <code>value <= 0</code>.
 	 */
-	public static BigDecimal factorial(BigDecimal value, MathContext mc) {
+	public static BigDecimal lnGamma(BigDecimal value, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.LN_GAMMA, mc);
+		try {
+			return lnGammaCompute(value, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.LN_GAMMA, start);
+		}
+	}
 
-		MathContext newMc = new MathContext(mc.getPrecision() + 3);
+	private static BigDecimal lnGammaCompute(BigDecimal value, MathContext mc) {
 
-		// Using Google's Guava library for factorial.
-		// Feeling too lazy to write my own :-D.
-		return new BigDecimal(BigIntegerMath.factorial(Integer.parseInt(value.toString())).toString(), newMc).round(mc);
+		if (value.signum() <= 0) {
+			throw new IllegalArgumentException("Log gamma is only defined for positive values");
+		}
+
+		// gamma(1) = gamma(2) = 1
+		if (value.compareTo(BigDecimal.ONE) == 0 || value.compareTo(TWO) == 0) {
+			return BigDecimal.ZERO;
+		}
+
+		// Near 1 and 2 the result is small, so more digits after the decimal
+		// point are needed until the requested number of them is significant.
+		int digits = mc.getPrecision() + 3;
+		while (true) {
+			BigDecimal result = Gamma.ln(value, digits);
+			int needed = mc.getPrecision() + 3 - (result.precision() - result.scale());
+			if (result.signum() != 0 && needed <= digits) {
+				return result.round(mc);
+			}
+			digits = result.signum() == 0 ? digits * 2 : needed + 1;
+		}
 	}
 
 	/**
@@ -479,6 +1045,15 @@ public final class BigDecimalFunctions {
 	 *             if <code>value >= 1</code> and <code>value <= -1</code>.
 	 */
 	public static BigDecimal arcsin(BigDecimal value, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.ARCSIN, mc);
+		try {
+			return arcsinCompute(value, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.ARCSIN, start);
+		}
+	}
+
+	private static BigDecimal arcsinCompute(BigDecimal value, MathContext mc) {
 
 		// Sin can give maximum value of 1. Thus arcsin cannot calculate values
 		// greater than 1.
@@ -495,7 +1070,7 @@ public final class BigDecimalFunctions {
 
 		// arcsin(1) = PI / 2
 		if (value.compareTo(BigDecimal.ONE) == 0) {
-			return BigDecimalFunctions.PI.divide(BigDecimal.valueOf(2), newMc).round(mc);
+			return MathConstant.HALF_PI.get(mc);
 		}
 
 		// arcsin(0) = 0
@@ -503,7 +1078,7 @@ public final class BigDecimalFunctions {
 			return BigDecimal.ZERO;
 		}
 
-		return NumericalMethodsFunctions.arcsinCompute(value, newMc).round(mc);
+		return inverseSine(value, false, newMc).round(mc);
 	}
 	
 	/**
@@ -519,6 +1094,15 @@ public final class BigDecimalFunctions {
 	 *             if <code>value >= 1</code> and <code>value <= -1</code>.
 	 */
 	public static BigDecimal arccos(BigDecimal value, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.ARCCOS, mc);
+		try {
+			return arccosCompute(value, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.ARCCOS, start);
+		}
+	}
+
+	private static BigDecimal arccosCompute(BigDecimal value, MathContext mc) {
 
 		// Cos can give maximum value of 1. Thus arccos cannot calculate values
 		// greater than 1.
@@ -530,7 +1114,7 @@ public final class BigDecimalFunctions {
 
 		// Since arccos(-value) = -arccos(value).
 		if (value.compareTo(BigDecimal.ZERO) < 0) {
-			return BigDecimalFunctions.PI.subtract(arccos(value.negate(), mc), mc);
+			return MathConstant.PI.get(newMc).subtract(arccos(value.negate(), newMc), newMc).round(mc);
 		}
 
 		// arccos(1) = 0
@@ -540,10 +1124,10 @@ public final class BigDecimalFunctions {
 
 		// arccos(0) = PI / 2
 		if (value.compareTo(BigDecimal.ZERO) == 0) {
-			return BigDecimalFunctions.PI.divide(BigDecimal.valueOf(2), newMc).round(mc);
+			return MathConstant.HALF_PI.get(mc);
 		}
 
-		return NumericalMethodsFunctions.arccosCompute(value, newMc).round(mc);
+		return inverseSine(value, true, newMc).round(mc);
 	}
 
 	/**
@@ -557,39 +1141,629 @@ public final class BigDecimalFunctions {
 	 * @return <code>tan<sup>-1</sup>(value)</code>
 	 */
 	public static BigDecimal arctan(BigDecimal value, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.ARCTAN, mc);
+		try {
+			return arctanCompute(value, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.ARCTAN, start);
+		}
+	}
+
+	private static BigDecimal arctanCompute(BigDecimal value, MathContext mc) {
 
 		// Since arctan(-value) = -arctan(value).
 		if (value.compareTo(BigDecimal.ZERO) < 0) {
 			return arctan(value.negate(), mc).negate();
 		}
 
+		BigDecimal fast = FastPath.arctan(value, mc);
+		if (fast != null) {
+			return fast;
+		}
+
 		// For values greater than 1, arctan converges veryyyyyy slowly.
 		// So arctan(value) = PI / 2 - arctan(1 / value) is used.
+		MathContext newMc = new MathContext(mc.getPrecision() + 3);
+
 		if (value.compareTo(BigDecimal.ONE) > 0) {
-			return BigDecimalFunctions.PI.divide(BigDecimal.valueOf(2), mc)
-					.subtract(arctan(BigDecimal.ONE.divide(value, mc), mc), mc);
+			return MathConstant.HALF_PI.get(newMc)
+					.subtract(arctan(BigDecimal.ONE.divide(value, newMc), newMc), newMc).round(mc);
 		}
 
-		MathContext newMc = new MathContext(mc.getPrecision() + 3);
+		// arctan(1) = PI / 4
+		if (value.compareTo(BigDecimal.ONE) == 0) {
+			return MathConstant.QUARTER_PI.get(mc);
+		}
 
 		// arctan(0) = 0
 		if (value.compareTo(BigDecimal.ZERO) == 0) {
 			return BigDecimal.ZERO;
 		}
 
-		// For faster convergence we reduce the value using the identity
-		// arctan(value) = PI / 6 + arctan((sqrt(3) * value - 1) / (sqrt(3) + 1))
-		// when value is lesser than 2 - sqrt(3).
-		BigDecimal rootThree = BigDecimalFunctions.sqrt(BigDecimal.valueOf(3), newMc);
+		return arctanOfFraction(value, newMc).round(mc);
+	}
 
-		if (value.compareTo(BigDecimal.valueOf(2).subtract(rootThree, newMc)) > 0) {
+	/**
+	 * Calculates the <code>hyperbolic sine</code> of the given value. The result is
+	 * rounded according to the passed context <code>mc</code>.
+	 *
+	 * @param value
+	 *            the number whose hyperbolic sine is to be found.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>sinh (value)</code>
+	 * @throws ArithmeticException
+	 *             if the result is too large to be represented.
+	 */
+	public static BigDecimal sinh(BigDecimal value, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.SINH, mc);
+		try {
+			return sinhCompute(value, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.SINH, start);
+		}
+	}
+
+	private static BigDecimal sinhCompute(final BigDecimal value, MathContext mc) {
+		if (value.signum() == 0) {
+			return BigDecimal.ZERO;
+		}
+
+		final LookupTables.Table table = LookupTables.get(mc);
+		return roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
+				return new Ball[] { sinhCosh(value, false, newMc, table)[0] };
+			}
+		}, mc)[0];
+	}
+
+	/**
+	 * Calculates the <code>hyperbolic cosine</code> of the given value. The result is
+	 * rounded according to the passed context <code>mc</code>.
+	 *
+	 * @param value
+	 *            the number whose hyperbolic cosine is to be found.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>cosh (value)</code>
+	 * @throws ArithmeticException
+	 *             if the result is too large to be represented.
+	 */
+	public static BigDecimal cosh(BigDecimal value, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.COSH, mc);
+		try {
+			return coshCompute(value, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.COSH, start);
+		}
+	}
 
-			value = rootThree.multiply(value, newMc).subtract(BigDecimal.ONE, newMc).divide(rootThree.add(value, newMc),
-					newMc);
-			return NumericalMethodsFunctions.arctanTaylorSeries(value, newMc)
-					.add(BigDecimalFunctions.PI.divide(BigDecimal.valueOf(6), newMc), newMc).round(mc);
+	private static BigDecimal coshCompute(final BigDecimal value, MathContext mc) {
+		if (value.signum() == 0) {
+			return BigDecimal.ONE;
 		}
 
-		return NumericalMethodsFunctions.arctanTaylorSeries(value, newMc).round(mc);
+		final LookupTables.Table table = LookupTables.get(mc);
+		return roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
+				return new Ball[] { sinhCosh(value, true, newMc, table)[1] };
+			}
+		}, mc)[0];
+	}
+
+	/**
+	 * Calculates both the <code>hyperbolic sine</code> and the
+	 * <code>hyperbolic cosine</code> of the given value, from a single
+	 * exponential, or a single pass over their series near <code>0</code>.
+	 * The results are rounded according to the passed context
+	 * <code>mc</code>.
+	 *
+	 * @param value
+	 *            the number whose hyperbolic sine and cosine are to be found.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>{ sinh (value), cosh (value) }</code>
+	 * @throws ArithmeticException
+	 *             if the results are too large to be represented.
+	 */
+	public static BigDecimal[] sinhcosh(BigDecimal value, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.SINHCOSH, mc);
+		try {
+			return sinhcoshCompute(value, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.SINHCOSH, start);
+		}
+	}
+
+	private static BigDecimal[] sinhcoshCompute(final BigDecimal value, MathContext mc) {
+		if (value.signum() == 0) {
+			return new BigDecimal[] { BigDecimal.ZERO, BigDecimal.ONE };
+		}
+
+		final LookupTables.Table table = LookupTables.get(mc);
+		return roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
+				return sinhCosh(value, true, newMc, table);
+			}
+		}, mc);
+	}
+
+	/**
+	 * Calculates the <code>hyperbolic tangent</code> of the given value. The result is
+	 * rounded according to the passed context <code>mc</code>.
+	 *
+	 * @param value
+	 *            the number whose hyperbolic tangent is to be found.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>tanh (value)</code>
+	 */
+	public static BigDecimal tanh(BigDecimal value, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.TANH, mc);
+		try {
+			return tanhCompute(value, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.TANH, start);
+		}
+	}
+
+	private static BigDecimal tanhCompute(final BigDecimal value, MathContext mc) {
+		if (value.signum() == 0) {
+			return BigDecimal.ZERO;
+		}
+
+		// Past (precision * ln 10 + 2) / 2, where 1 - tanh |value| < 2 * e ^ (-2 * |value|),
+		// the result is within half a unit in the last place of 1. Every
+		// number between that and 1 rounds the same way, so one of them
+		// stands in for the exact result, without an exponential that might
+		// not even be representable.
+		if (value.abs().doubleValue() > (mc.getPrecision() * LN10 + 2) / 2) {
+			BigDecimal near = BigDecimal.ONE.subtract(BigDecimal.ONE.movePointLeft(mc.getPrecision() + 1));
+			return (value.signum() < 0 ? near.negate() : near).round(mc);
+		}
+
+		final LookupTables.Table table = LookupTables.get(mc);
+		return roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
+				if (value.abs().compareTo(HALF) < 0) {
+					Ball[] sinhCosh = NumericalMethodsFunctions.sinhCoshTaylorSeriesBall(value, newMc);
+					return new Ball[] { sinhCosh[0].divide(sinhCosh[1], newMc) };
+				}
+
+				// tanh |value| = (1 - e ^ (-2 * |value|)) / (1 + e ^ (-2 * |value|))
+				Ball exp = expBall(Ball.valueOf(value.abs().multiply(TWO).negate()), newMc, table);
+				Ball one = Ball.valueOf(BigDecimal.ONE);
+				Ball result = one.subtract(exp, newMc).divide(one.add(exp, newMc), newMc);
+				return new Ball[] { value.signum() < 0 ? result.negate() : result };
+			}
+		}, mc)[0];
+	}
+
+	/**
+	 * Calculates the <code>inverse hyperbolic sine</code> of the given value. The result is
+	 * rounded according to the passed context <code>mc</code>.
+	 *
+	 * @param value
+	 *            the number whose inverse hyperbolic sine is to be found.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>sinh<sup>-1</sup>(value)</code>
+	 */
+	public static BigDecimal asinh(BigDecimal value, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.ASINH, mc);
+		try {
+			return asinhCompute(value, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.ASINH, start);
+		}
+	}
+
+	private static BigDecimal asinhCompute(final BigDecimal value, MathContext mc) {
+		if (value.signum() == 0) {
+			return BigDecimal.ZERO;
+		}
+
+		return roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
+				Ball x = Ball.valueOf(value.abs());
+				Ball root = x.multiply(x, MathContext.UNLIMITED)
+						.add(Ball.valueOf(BigDecimal.ONE), MathContext.UNLIMITED).sqrt(newMc);
+
+				// asinh |value| = atanh (|value| / sqrt(value ^ 2 + 1))
+				// asinh |value| = log (|value| + sqrt(value ^ 2 + 1))
+
+				// The first keeps the digits of small values, which the
+				// logarithm of a value close to 1 would lose.
+				Ball result = value.abs().compareTo(HALF) < 0 ? atanhBall(x.divide(root, newMc), newMc)
+						: lnBall(x.add(root, newMc), newMc);
+				return new Ball[] { value.signum() < 0 ? result.negate() : result };
+			}
+		}, mc)[0];
+	}
+
+	/**
+	 * Calculates the <code>inverse hyperbolic cosine</code> of the given value. The result is
+	 * rounded according to the passed context <code>mc</code>.
+	 *
+	 * @param value
+	 *            the number whose inverse hyperbolic cosine is to be found.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>cosh<sup>-1</sup>(value)</code>
+	 * @throws IllegalArgumentException
+	 *             if <code>value < 1</code>.
+	 */
+	public static BigDecimal acosh(BigDecimal value, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.ACOSH, mc);
+		try {
+			return acoshCompute(value, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.ACOSH, start);
+		}
+	}
+
+	private static BigDecimal acoshCompute(final BigDecimal value, MathContext mc) {
+		if (value.compareTo(BigDecimal.ONE) < 0) {
+			throw new IllegalArgumentException("Acosh requires values greater than equal to 1");
+		}
+		if (value.compareTo(BigDecimal.ONE) == 0) {
+			return BigDecimal.ZERO;
+		}
+
+		return roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
+
+				// acosh value = 2 * atanh (sqrt((value - 1) / (value + 1)))
+				// acosh value = log (value + sqrt(value ^ 2 - 1))
+
+				// The first keeps the digits of values close to 1, and its
+				// argument stays below 1 / 2 up to 5 / 3.
+				if (value.multiply(BigDecimal.valueOf(3)).compareTo(BigDecimal.valueOf(5)) <= 0) {
+					Ball ratio = Ball.valueOf(value.subtract(BigDecimal.ONE))
+							.divide(Ball.valueOf(value.add(BigDecimal.ONE)), newMc);
+					return new Ball[] {
+							atanhBall(ratio.sqrt(newMc), newMc).multiply(Ball.valueOf(TWO), MathContext.UNLIMITED) };
+				}
+				Ball root = Ball.valueOf(value.multiply(value).subtract(BigDecimal.ONE)).sqrt(newMc);
+				return new Ball[] { lnBall(Ball.valueOf(value).add(root, newMc), newMc) };
+			}
+		}, mc)[0];
+	}
+
+	/**
+	 * Calculates the <code>inverse hyperbolic tangent</code> of the given value. The result is
+	 * rounded according to the passed context <code>mc</code>.
+	 *
+	 * @param value
+	 *            the number whose inverse hyperbolic tangent is to be found.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>tanh<sup>-1</sup>(value)</code>
+	 * @throws IllegalArgumentException
+	 *             if <code>value <= -1</code> or <code>value >= 1</code>.
+	 */
+	public static BigDecimal atanh(BigDecimal value, MathContext mc) {
+		long start = Metrics.start(Metrics.Function.ATANH, mc);
+		try {
+			return atanhCompute(value, mc);
+		} finally {
+			Metrics.stop(Metrics.Function.ATANH, start);
+		}
+	}
+
+	private static BigDecimal atanhCompute(final BigDecimal value, MathContext mc) {
+		if (value.abs().compareTo(BigDecimal.ONE) >= 0) {
+			throw new IllegalArgumentException("Atanh requires values between -1 and 1");
+		}
+		if (value.signum() == 0) {
+			return BigDecimal.ZERO;
+		}
+
+		return roundCorrectly(new BallFunction() {
+			@Override
+			public Ball[] apply(MathContext newMc) {
+
+				// The series of the logarithm is summed directly up to 1 / 2.
+				if (value.abs().compareTo(HALF) <= 0) {
+					return new Ball[] { NumericalMethodsFunctions.atanhTaylorSeriesBall(value, newMc) };
+				}
+
+				// atanh value = log ((1 + value) / (1 - value)) / 2
+				Ball ratio = Ball.valueOf(BigDecimal.ONE.add(value))
+						.divide(Ball.valueOf(BigDecimal.ONE.subtract(value)), newMc);
+				return new Ball[] { lnBall(ratio, newMc).multiply(Ball.valueOf(HALF), MathContext.UNLIMITED) };
+			}
+		}, mc)[0];
+	}
+
+	/**
+	 * Calculates the <code>hyperbolic sine</code> and, if <code>cosh</code>
+	 * is set, the <code>hyperbolic cosine</code> of <code>value</code> to the
+	 * precision of <code>mc</code>, in balls that hold the exact results.
+	 * Values within <code>1 / 2</code> of <code>0</code> are summed directly by
+	 * their series, which do not cancel out there. The others go through a
+	 * single exponential and its reciprocal,
+	 * <p>
+	 * <code>sinh (value) = (e<sup>value</sup> - e<sup>-value</sup>) / 2</code>
+	 * <br>
+	 * <code>cosh (value) = (e<sup>value</sup> + e<sup>-value</sup>) / 2</code>
+	 */
+	private static Ball[] sinhCosh(BigDecimal value, boolean cosh, MathContext mc, LookupTables.Table table) {
+		if (value.abs().compareTo(HALF) < 0) {
+			return cosh ? NumericalMethodsFunctions.sinhCoshTaylorSeriesBall(value, mc)
+					: new Ball[] { NumericalMethodsFunctions.sinhTaylorSeriesBall(value, mc), null };
+		}
+
+		Ball exp = expBall(Ball.valueOf(value), mc, table);
+		Ball reciprocal = Ball.valueOf(BigDecimal.ONE).divide(exp, mc);
+		Ball half = Ball.valueOf(HALF);
+		return new Ball[] { exp.subtract(reciprocal, mc).multiply(half, MathContext.UNLIMITED),
+				exp.add(reciprocal, mc).multiply(half, MathContext.UNLIMITED) };
+	}
+
+	/**
+	 * Calculates <code>log<sub>e</sub></code> of a ball of positive numbers.
+	 * The logarithm of the midpoint <code>a</code> is off from those of the
+	 * other numbers by at most <code>r / (a - r)</code>.
+	 */
+	private static Ball lnBall(Ball value, MathContext mc) {
+		BigDecimal midpoint = value.getMidpoint();
+		BigDecimal radius = value.getRadius();
+		Ball result = lnBall(midpoint, mc, null);
+		if (radius.signum() == 0) {
+			return result;
+		}
+		return result.widen(radius.divide(midpoint.subtract(radius), new MathContext(3, RoundingMode.UP)));
+	}
+
+	/**
+	 * Calculates <code>tanh<sup>-1</sup></code> of a ball within
+	 * <code>1 / 2</code> of <code>0</code>, which is also the series of the
+	 * logarithm. The result is off by at most twice the radius, since atanh
+	 * grows at most twice as fast as its argument there.
+	 */
+	private static Ball atanhBall(Ball value, MathContext mc) {
+		return NumericalMethodsFunctions.atanhTaylorSeriesBall(value.getMidpoint(), mc)
+				.widen(value.getRadius().multiply(TWO));
+	}
+
+	/**
+	 * Calculates the <code>arctangent</code> of a value in <code>[0, 1]</code>.
+	 * The value is reduced with the identity
+	 * <p>
+	 * <code>arctan(value) = arctan(k / 32) + arctan((32 * value - k) / (32 + k * value))</code>
+	 * <p>
+	 * where <code>k / 32</code> is the entry of {@link ArctanTable} nearest to
+	 * the value, which leaves less than <code>1 / 64</code> to the series.
+	 */
+	private static BigDecimal arctanOfFraction(BigDecimal value, MathContext mc) {
+		BigDecimal scaled = value.multiply(BigDecimal.valueOf(ArctanTable.SIZE));
+		int k = scaled.setScale(0, RoundingMode.HALF_EVEN).intValue();
+		if (k == 0) {
+			return arctanSeries(value, mc);
+		}
+
+		BigDecimal reduced = scaled.subtract(BigDecimal.valueOf(k))
+				.divide(BigDecimal.valueOf(ArctanTable.SIZE).add(value.multiply(BigDecimal.valueOf(k))), mc);
+		return ArctanTable.entry(k, mc.getPrecision()).add(arctanSeries(reduced, mc), mc);
+	}
+
+	/**
+	 * Calculates the <code>arcsine</code> or the <code>arccosine</code> of a
+	 * value in <code>(0, 1)</code>, with the one square root both need. As
+	 * <code>c = sqrt(1 - value<sup>2</sup>)</code> is the cosine of the
+	 * arcsine,
+	 * <p>
+	 * <code>arcsin(value) = arctan(value / c)</code>, <code>arccos(value) = arctan(c / value)</code>
+	 * <p>
+	 * and the two add up to <code>PI / 2</code>. Only the smaller ratio is
+	 * used, so that the arctangent is of a value in <code>(0, 1]</code>, and
+	 * the other angle is found from it without cancelling out.
+	 */
+	private static BigDecimal inverseSine(BigDecimal value, boolean cosine, MathContext mc) {
+
+		// 1 - value ^ 2 is found exactly, so that values close to 1 keep
+		// their digits.
+		BigDecimal c = NumericalMethodsFunctions.sqrtNewtonRaphson(BigDecimal.ONE.subtract(value.multiply(value)), mc);
+		boolean sineSmaller = value.compareTo(c) <= 0;
+		BigDecimal angle = sineSmaller ? arctanOfFraction(value.divide(c, mc), mc)
+				: arctanOfFraction(c.divide(value, mc), mc);
+
+		// angle is the arcsine if the sine is the smaller, the arccosine if not.
+		return sineSmaller != cosine ? angle : MathConstant.HALF_PI.get(mc).subtract(angle, mc);
+	}
+
+	// The sine and the cosine change by at most as much as the angle, so the
+	// error of the reduction carries over as it is.
+	private static Ball sinSeries(ReducedAngle reduced, MathContext mc) {
+		BigDecimal angle = reduced.angle;
+		Ball sin = binarySplitting(angle, mc) ? NumericalMethodsFunctions.sinCosBinarySplittingBall(angle, mc)[0]
+				: NumericalMethodsFunctions.sinTaylorSeriesBall(angle, mc);
+		return sin.widen(reduced.error);
+	}
+
+	private static Ball cosSeries(ReducedAngle reduced, MathContext mc) {
+		BigDecimal angle = reduced.angle;
+		Ball cos = binarySplitting(angle, mc) ? NumericalMethodsFunctions.sinCosBinarySplittingBall(angle, mc)[1]
+				: NumericalMethodsFunctions.cosTaylorSeriesBall(angle, mc);
+		return cos.widen(reduced.error);
+	}
+
+	private static Ball[] sinCosSeries(ReducedAngle reduced, MathContext mc) {
+		BigDecimal angle = reduced.angle;
+		Ball[] sinCos = binarySplitting(angle, mc) ? NumericalMethodsFunctions.sinCosBinarySplittingBall(angle, mc)
+				: NumericalMethodsFunctions.sinCosTaylorSeriesBall(angle, mc);
+		return new Ball[] { sinCos[0].widen(reduced.error), sinCos[1].widen(reduced.error) };
+	}
+
+	private static BigDecimal arctanSeries(BigDecimal value, MathContext mc) {
+		return binarySplitting(value, mc) ? NumericalMethodsFunctions.arctanBinarySplitting(value, mc)
+				: NumericalMethodsFunctions.arctanTaylorSeries(value, mc);
+	}
+
+	/**
+	 * Rounds the results of <code>function</code> correctly according to the
+	 * passed context <code>mc</code>. The function is first calculated with
+	 * {@link #GUARD_DIGITS} more digits, which leaves almost every ball within
+	 * a single rounded value. The rare results that lie too close to a
+	 * rounding boundary for that are calculated again with more digits, up
+	 * to {@link #MAXIMUM_GUARD_DIGITS}, past which the midpoints are rounded
+	 * as they are.
+	 */
+	private static BigDecimal[] roundCorrectly(BallFunction function, MathContext mc) {
+		Ball[] balls = null;
+		for (int guard = GUARD_DIGITS; guard <= MAXIMUM_GUARD_DIGITS; guard *= 4) {
+			balls = function.apply(new MathContext(mc.getPrecision() + guard));
+			BigDecimal[] results = new BigDecimal[balls.length];
+			boolean rounded = true;
+			for (int i = 0; i < balls.length && rounded; i++) {
+				results[i] = balls[i].correctlyRounded(mc);
+				rounded = results[i] != null;
+			}
+			if (rounded) {
+				return results;
+			}
+		}
+		BigDecimal[] results = new BigDecimal[balls.length];
+		for (int i = 0; i < balls.length; i++) {
+			results[i] = balls[i].getMidpoint().round(mc);
+		}
+		return results;
+	}
+
+	/**
+	 * Tells whether a series of <code>argument</code> is faster to sum by
+	 * binary splitting than term by term at the precision of <code>mc</code>.
+	 */
+	static boolean binarySplitting(BigDecimal argument, MathContext mc) {
+		return argument.precision() <= SHORT_DIGITS && mc.getPrecision() >= SHORT_BINARY_SPLITTING_PRECISION;
+	}
+
+	/**
+	 * A function calculated in balls that hold the exact results, to the
+	 * precision of the passed context <code>mc</code>.
+	 */
+	private interface BallFunction {
+		Ball[] apply(MathContext mc);
+	}
+
+	/**
+	 * An angle reduced to <code>[0, PI / 4]</code>, together with how to get
+	 * back the sine and the cosine of the original angle from those of the
+	 * reduced one, so that the sine, the cosine and the tangent share one
+	 * reduction. Keeping the reduced angle below <code>PI / 4</code> keeps both
+	 * series short and from cancelling out, which they would near
+	 * <code>PI / 2</code>.
+	 * <p>
+	 * The angle is reduced by the nearest multiple of <code>PI / 2</code>, as
+	 * many whole multiples as it takes, with <code>PI</code> taken to as many
+	 * digits as the reduction cancels out. So the reduced angle has all the
+	 * digits of the context however large the angle is, and however close it
+	 * is to a multiple of <code>PI / 2</code>.
+	 */
+	static final class ReducedAngle {
+
+		// |original angle| = quadrant * PI / 2 + (reflected ? -angle : angle)
+		final BigDecimal angle;
+		final int quadrant;
+		final boolean reflected;
+		final boolean negative;
+
+		// Bound on how far the reduced angle is from the exact one.
+		final BigDecimal error;
+
+		private ReducedAngle(BigDecimal angle, int quadrant, boolean reflected, boolean negative, BigDecimal error) {
+			this.angle = angle;
+			this.quadrant = quadrant;
+			this.reflected = reflected;
+			this.negative = negative;
+			this.error = error;
+		}
+
+		static ReducedAngle of(BigDecimal angle, MathContext mc) {
+			boolean negative = angle.signum() < 0;
+			angle = angle.abs();
+			if (angle.compareTo(MathConstant.QUARTER_PI.get(mc)) <= 0) {
+				return new ReducedAngle(angle, 0, false, negative, BigDecimal.ZERO);
+			}
+
+			// angle = n * PI / 2 + reduced, where n is the nearest whole
+			// number, so that |reduced| <= PI / 4.
+
+			// Every digit of n cancels out in the subtraction, so as many more
+			// digits of PI are taken. The leading digits of the reduced angle
+			// cancel out too when the angle is close to a multiple of PI / 2,
+			// in which case the reduction is done again with as many more.
+			int least = mc.getPrecision() + Math.max(0, angle.precision() - angle.scale());
+			BigInteger n;
+			BigDecimal halfPi;
+			BigDecimal reduced;
+			for (int digits = least;;) {
+				Cancellation.check();
+				MathContext reductionMc = new MathContext(digits);
+				halfPi = MathConstant.HALF_PI.get(reductionMc);
+				n = angle.divide(halfPi, reductionMc).setScale(0, RoundingMode.HALF_EVEN).toBigInteger();
+				reduced = angle.subtract(halfPi.multiply(new BigDecimal(n)), reductionMc);
+
+				// The digits lost are the zeros after the point.
+				int needed = reduced.signum() == 0 ? 2 * digits
+						: least - Math.min(0, reduced.precision() - reduced.scale());
+				if (needed <= digits) {
+					break;
+				}
+				digits = needed;
+			}
+
+			// PI / 2 is within a unit of its last place, which n multiplies,
+			// and the reduced angle is rounded twice.
+			BigDecimal rounded = reduced.abs().round(mc);
+			BigDecimal error = halfPi.ulp().multiply(new BigDecimal(n.abs())).add(reduced.ulp())
+					.add(reduced.abs().subtract(rounded).abs());
+
+			// Angles in the upper half of the quadrant are measured back from
+			// the next one.
+			return new ReducedAngle(rounded, n.intValue() & 3, reduced.signum() < 0, negative, error);
+		}
+
+		/**
+		 * Tells whether the sine of the original angle is found from the cosine
+		 * of the reduced one, and the other way round.
+		 */
+		boolean swapped() {
+			return quadrant % 2 == 1;
+		}
+
+		/**
+		 * Returns the sine of the original angle from the sine and the cosine of
+		 * the reduced one, only one of which is needed.
+		 */
+		Ball sin(Ball sin, Ball cos) {
+
+			// sin (PI / 2 + angle) = cos (angle), sin (PI + angle) = -sin (angle)
+			Ball value = swapped() ? cos : reflect(sin);
+			return quadrant >= 2 != negative ? value.negate() : value;
+		}
+
+		/**
+		 * Returns the cosine of the original angle from the sine and the cosine
+		 * of the reduced one, only one of which is needed.
+		 */
+		Ball cos(Ball sin, Ball cos) {
+
+			// cos (PI / 2 + angle) = -sin (angle), cos (PI + angle) = -cos (angle)
+			Ball value = swapped() ? reflect(sin) : cos;
+			return quadrant == 1 || quadrant == 2 ? value.negate() : value;
+		}
+
+		// sin (-angle) = -sin (angle)
+		private Ball reflect(Ball sin) {
+			return reflected ? sin.negate() : sin;
+		}
 	}
 }
@@ -0,0 +1,509 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * An asynchronous front for the functions of {@link BigDecimalFunctions},
+ * for callers that must not block on a long calculation. Every function
+ * returns a <code>CompletableFuture</code> of the result of the static
+ * function, calculated on an executor.
+ * <p>
+ * Cancelling the future, with or without interruption, stops the
+ * calculation: its series and iterations check for cancellation between
+ * their steps, so the thread is freed soon after, without finishing the
+ * work. With a timeout, the future fails with a <code>TimeoutException</code>
+ * once it has passed, counted from the call, and the calculation is stopped
+ * the same way.
+ * <p>
+ * Without an executor, calculations run on virtual threads where the JVM has
+ * them, and on the common <code>ForkJoinPool</code> otherwise. Instances are
+ * thread safe.
+ */
+public final class BigDecimalFunctionsAsync {
+
+	private final Executor executor;
+	private final long timeoutNanos;
+
+	/**
+	 * Creates a front on the default executor, without a timeout.
+	 */
+	public BigDecimalFunctionsAsync() {
+		this(DefaultExecutor.INSTANCE);
+	}
+
+	/**
+	 * Creates a front on <code>executor</code>, without a timeout.
+	 *
+	 * @param executor
+	 *            the executor that runs the calculations.
+	 */
+	public BigDecimalFunctionsAsync(Executor executor) {
+		this.executor = executor;
+		this.timeoutNanos = 0;
+	}
+
+	/**
+	 * Creates a front on <code>executor</code> whose calculations fail after
+	 * <code>timeout</code>.
+	 *
+	 * @param executor
+	 *            the executor that runs the calculations.
+	 * @param timeout
+	 *            the time allowed for every calculation, from the call.
+	 * @param unit
+	 *            the unit of <code>timeout</code>.
+	 * @throws IllegalArgumentException
+	 *             if <code>timeout</code> is not positive.
+	 */
+	public BigDecimalFunctionsAsync(Executor executor, long timeout, TimeUnit unit) {
+		if (timeout <= 0) {
+			throw new IllegalArgumentException("Timeout must be positive");
+		}
+		this.executor = executor;
+		this.timeoutNanos = unit.toNanos(timeout);
+	}
+
+	/**
+	 * @see BigDecimalFunctions#pi(MathContext)
+	 */
+	public CompletableFuture<BigDecimal> pi(final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.pi(mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#exp(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> exp(final BigDecimal exponent, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.exp(exponent, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#ln(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> ln(final BigDecimal value, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.ln(value, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#pow(BigDecimal, BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> pow(final BigDecimal base, final BigDecimal exponent, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.pow(base, exponent, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#pow(BigDecimal, long, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> pow(final BigDecimal base, final long exponent, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.pow(base, exponent, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#sqrt(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> sqrt(final BigDecimal value, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.sqrt(value, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#root(BigDecimal, long, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> root(final BigDecimal base, final long exponent, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.root(base, exponent, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#sin(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> sin(final BigDecimal angle, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.sin(angle, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#cos(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> cos(final BigDecimal angle, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.cos(angle, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#sincos(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal[]> sincos(final BigDecimal angle, final MathContext mc) {
+		return submit(new Callable<BigDecimal[]>() {
+			@Override
+			public BigDecimal[] call() {
+				return BigDecimalFunctions.sincos(angle, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#tan(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> tan(final BigDecimal angle, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.tan(angle, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#factorial(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> factorial(final BigDecimal value, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.factorial(value, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#gamma(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> gamma(final BigDecimal value, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.gamma(value, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#lnGamma(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> lnGamma(final BigDecimal value, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.lnGamma(value, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#arcsin(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> arcsin(final BigDecimal value, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.arcsin(value, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#arccos(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> arccos(final BigDecimal value, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.arccos(value, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#arctan(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> arctan(final BigDecimal value, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.arctan(value, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#sinh(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> sinh(final BigDecimal value, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.sinh(value, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#cosh(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> cosh(final BigDecimal value, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.cosh(value, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#tanh(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> tanh(final BigDecimal value, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.tanh(value, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#sinhcosh(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal[]> sinhcosh(final BigDecimal value, final MathContext mc) {
+		return submit(new Callable<BigDecimal[]>() {
+			@Override
+			public BigDecimal[] call() {
+				return BigDecimalFunctions.sinhcosh(value, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#asinh(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> asinh(final BigDecimal value, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.asinh(value, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#acosh(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> acosh(final BigDecimal value, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.acosh(value, mc);
+			}
+		});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#atanh(BigDecimal, MathContext)
+	 */
+	public CompletableFuture<BigDecimal> atanh(final BigDecimal value, final MathContext mc) {
+		return submit(new Callable<BigDecimal>() {
+			@Override
+			public BigDecimal call() {
+				return BigDecimalFunctions.atanh(value, mc);
+			}
+		});
+	}
+
+	/**
+	 * Calculates the approximations left in <code>progression</code>,
+	 * passing each to <code>consumer</code> on the thread of the calculation
+	 * as soon as it is found. The future completes with the last
+	 * approximation. When it is cancelled or times out, the consumer has
+	 * already been given every approximation found until then.
+	 *
+	 * @param progression
+	 *            the progression to refine, which must not be used meanwhile.
+	 * @param consumer
+	 *            receives every approximation.
+	 * @return the last approximation of <code>progression</code>
+	 */
+	public CompletableFuture<Progression.Approximation> refine(final Progression progression,
+			final Consumer<? super Progression.Approximation> consumer) {
+		return submit(new Callable<Progression.Approximation>() {
+			@Override
+			public Progression.Approximation call() {
+				while (progression.hasNext()) {
+					consumer.accept(progression.next());
+				}
+				return progression.last();
+			}
+		});
+	}
+
+	private <T> CompletableFuture<T> submit(Callable<T> callable) {
+		final Task<T> task = new Task<T>(callable);
+		if (timeoutNanos > 0) {
+			task.timeout = Timer.INSTANCE.schedule(new Runnable() {
+				@Override
+				public void run() {
+					task.expire();
+				}
+			}, timeoutNanos, TimeUnit.NANOSECONDS);
+		}
+		try {
+			executor.execute(task);
+		} catch (RejectedExecutionException e) {
+			task.cancellation.cancel();
+			task.completeExceptionally(e);
+		}
+		return task;
+	}
+
+	/**
+	 * A calculation together with the future of its result.
+	 */
+	private static final class Task<T> extends CompletableFuture<T> implements Runnable {
+		final Callable<T> callable;
+		final Cancellation cancellation = new Cancellation();
+		volatile ScheduledFuture<?> timeout;
+
+		Task(Callable<T> callable) {
+			this.callable = callable;
+		}
+
+		@Override
+		public void run() {
+			try {
+				complete(cancellation.call(callable));
+			} catch (CancellationException e) {
+
+				// The future was cancelled or has expired already.
+			} catch (Throwable e) {
+				completeExceptionally(e);
+			} finally {
+				ScheduledFuture<?> current = timeout;
+				if (current != null) {
+					current.cancel(false);
+				}
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			cancellation.cancel();
+			return super.cancel(mayInterruptIfRunning);
+		}
+
+		@Override
+		public boolean completeExceptionally(Throwable e) {
+
+			// Whatever completes the future first, the calculation is no
+			// longer needed.
+			cancellation.cancel();
+			return super.completeExceptionally(e);
+		}
+
+		void expire() {
+			completeExceptionally(new TimeoutException("Calculation timed out"));
+		}
+	}
+
+	/**
+	 * Virtual threads where the JVM has them, which are looked up by
+	 * reflection since they are newer than the Java this is built for.
+	 */
+	private static final class DefaultExecutor {
+		static final Executor INSTANCE = create();
+
+		private static Executor create() {
+			try {
+				return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			} catch (ReflectiveOperationException e) {
+				return ForkJoinPool.commonPool();
+			} catch (RuntimeException e) {
+				return ForkJoinPool.commonPool();
+			}
+		}
+	}
+
+	/**
+	 * The single daemon thread that expires the futures with a timeout.
+	 */
+	private static final class Timer {
+		static final ScheduledExecutorService INSTANCE = create();
+
+		private static ScheduledExecutorService create() {
+			ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1,
+					new ThreadFactoryBuilder().setDaemon(true).setNameFormat("BigDecimalFunctionsAsync-timer").build());
+			timer.setRemoveOnCancelPolicy(true);
+			return timer;
+		}
+	}
+}
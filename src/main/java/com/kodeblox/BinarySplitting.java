@@ -0,0 +1,150 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * Sums a series by binary splitting. The series is
+ * <p>
+ * <code>sum(n = 0 ... terms - 1) of (p(0) * ... * p(n)) / (q(0) * ... * q(n) * b(n))</code>
+ * <p>
+ * where <code>p</code>, <code>q</code> and <code>b</code> are whole numbers.
+ * Neighbouring terms are combined exactly with <code>BigInteger</code>, in
+ * pairs, then pairs of pairs and so on, and the sum is found with a single
+ * division at the end. When <code>p</code> and <code>q</code> are short this
+ * is much faster than dividing every term at full precision, since most of
+ * the work goes into a few multiplications of large numbers of equal size.
+ */
+abstract class BinarySplitting {
+
+	/**
+	 * Returns the numerator of the ratio of the <code>n<sup>th</sup></code>
+	 * term to the one before. For <code>n = 0</code> it is the numerator of the
+	 * first term.
+	 *
+	 * @param n
+	 *            the index of the term.
+	 * @return <code>p(n)</code>
+	 */
+	abstract BigInteger p(long n);
+
+	/**
+	 * Returns the denominator of the ratio of the <code>n<sup>th</sup></code>
+	 * term to the one before. For <code>n = 0</code> it is the denominator of
+	 * the first term.
+	 *
+	 * @param n
+	 *            the index of the term.
+	 * @return <code>q(n)</code>
+	 */
+	abstract BigInteger q(long n);
+
+	/**
+	 * Returns the extra denominator of the <code>n<sup>th</sup></code> term
+	 * alone, which does not carry over to the terms after it. Series without
+	 * one return <code>null</code>, which saves the multiplications.
+	 *
+	 * @param n
+	 *            the index of the term.
+	 * @return <code>b(n)</code>, or <code>null</code> if it is always
+	 *         <code>1</code>
+	 */
+	BigInteger b(long n) {
+		return null;
+	}
+
+	/**
+	 * Sums the first <code>terms</code> terms of the series. The result is
+	 * rounded according to the passed context <code>mc</code>.
+	 *
+	 * @param terms
+	 *            the number of terms to sum, at least <code>1</code>.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return the sum of the series
+	 */
+	BigDecimal sum(long terms, MathContext mc) {
+		Split split = split(0, terms, false);
+		Metrics.steps(Metrics.Kernel.BINARY_SPLITTING, terms, mc);
+		BigInteger denominator = split.b == null ? split.q : split.q.multiply(split.b);
+		return new BigDecimal(split.t).divide(new BigDecimal(denominator), mc);
+	}
+
+	/**
+	 * Combines the terms from <code>from</code> up to but excluding
+	 * <code>to</code>. The product of the <code>p</code> is only needed by
+	 * the left half of a split, so it is left out elsewhere.
+	 */
+	private Split split(long from, long to, boolean product) {
+		if (to - from == 1) {
+			BigInteger p = p(from);
+			return new Split(p, q(from), b(from), p);
+		}
+
+		Cancellation.check();
+		long middle = (from + to) >>> 1;
+		Split left = split(from, middle, true);
+		Split right = split(middle, to, product);
+
+		// T = B(right) * Q(right) * T(left) + B(left) * P(left) * T(right)
+		BigInteger t = right.q.multiply(left.t);
+		BigInteger u = left.p.multiply(right.t);
+		BigInteger b = null;
+		if (left.b != null) {
+			t = t.multiply(right.b);
+			u = u.multiply(left.b);
+			b = left.b.multiply(right.b);
+		}
+		return new Split(product ? left.p.multiply(right.p) : null, left.q.multiply(right.q), b, t.add(u));
+	}
+
+	/**
+	 * Returns the numerator of <code>value</code> written as a fraction over
+	 * a power of ten.
+	 */
+	static BigInteger numerator(BigDecimal value) {
+		return value.scale() < 0 ? value.unscaledValue().multiply(BigInteger.TEN.pow(-value.scale()))
+				: value.unscaledValue();
+	}
+
+	/**
+	 * Returns the power of ten below the numerator of <code>value</code>.
+	 */
+	static BigInteger denominator(BigDecimal value) {
+		return value.scale() > 0 ? BigInteger.TEN.pow(value.scale()) : BigInteger.ONE;
+	}
+
+	/**
+	 * The products of <code>p</code>, <code>q</code> and <code>b</code> over
+	 * a range of terms, together with the numerator <code>t</code> of their
+	 * sum over <code>q * b</code>.
+	 */
+	private static final class Split {
+		final BigInteger p;
+		final BigInteger q;
+		final BigInteger b;
+		final BigInteger t;
+
+		Split(BigInteger p, BigInteger q, BigInteger b, BigInteger t) {
+			this.p = p;
+			this.q = q;
+			this.b = b;
+			this.t = t;
+		}
+	}
+}
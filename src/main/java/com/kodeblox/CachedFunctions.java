@@ -0,0 +1,361 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+/**
+ * An opt-in memoizing front for the functions of {@link BigDecimalFunctions},
+ * for callers that repeat the same arguments. The static functions are not
+ * affected by it.
+ * <p>
+ * Results are kept per function, argument, precision and rounding mode, up to
+ * a bound on their number, and the least recently used are evicted first.
+ * Arguments are compared by value, so <code>1.50</code> and <code>1.5</code>
+ * share a result. It is calculated from the arguments of the call that missed,
+ * like the static function would, so it has their scale for later calls too.
+ * When several threads ask for the same missing result at once, it is
+ * calculated by one of them while the others wait for it. Exceptions are not
+ * cached.
+ * <p>
+ * Instances are thread safe.
+ */
+public final class CachedFunctions {
+
+	private final LoadingCache<Key, BigDecimal[]> cache;
+
+	/**
+	 * Creates a cache of at most <code>maximumSize</code> results.
+	 *
+	 * @param maximumSize
+	 *            the most results kept.
+	 * @throws IllegalArgumentException
+	 *             if <code>maximumSize</code> is negative.
+	 */
+	public CachedFunctions(long maximumSize) {
+		cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats()
+				.build(new CacheLoader<Key, BigDecimal[]>() {
+					@Override
+					public BigDecimal[] load(Key key) {
+						return key.function.apply(key.originalArgument, key.originalSecond, key.mc);
+					}
+				});
+	}
+
+	/**
+	 * @see BigDecimalFunctions#exp(BigDecimal, MathContext)
+	 */
+	public BigDecimal exp(BigDecimal exponent, MathContext mc) {
+		return get(Function.EXP, exponent, null, mc)[0];
+	}
+
+	/**
+	 * @see BigDecimalFunctions#ln(BigDecimal, MathContext)
+	 */
+	public BigDecimal ln(BigDecimal value, MathContext mc) {
+		return get(Function.LN, value, null, mc)[0];
+	}
+
+	/**
+	 * @see BigDecimalFunctions#pow(BigDecimal, BigDecimal, MathContext)
+	 */
+	public BigDecimal pow(BigDecimal base, BigDecimal exponent, MathContext mc) {
+		return get(Function.POW, base, exponent, mc)[0];
+	}
+
+	/**
+	 * @see BigDecimalFunctions#pow(BigDecimal, long, MathContext)
+	 */
+	public BigDecimal pow(BigDecimal base, long exponent, MathContext mc) {
+		return get(Function.POW_LONG, base, BigDecimal.valueOf(exponent), mc)[0];
+	}
+
+	/**
+	 * @see BigDecimalFunctions#sqrt(BigDecimal, MathContext)
+	 */
+	public BigDecimal sqrt(BigDecimal value, MathContext mc) {
+		return get(Function.SQRT, value, null, mc)[0];
+	}
+
+	/**
+	 * @see BigDecimalFunctions#root(BigDecimal, long, MathContext)
+	 */
+	public BigDecimal root(BigDecimal base, long exponent, MathContext mc) {
+		return get(Function.ROOT, base, BigDecimal.valueOf(exponent), mc)[0];
+	}
+
+	/**
+	 * @see BigDecimalFunctions#sin(BigDecimal, MathContext)
+	 */
+	public BigDecimal sin(BigDecimal angle, MathContext mc) {
+		return get(Function.SIN, angle, null, mc)[0];
+	}
+
+	/**
+	 * @see BigDecimalFunctions#cos(BigDecimal, MathContext)
+	 */
+	public BigDecimal cos(BigDecimal angle, MathContext mc) {
+		return get(Function.COS, angle, null, mc)[0];
+	}
+
+	/**
+	 * @see BigDecimalFunctions#sincos(BigDecimal, MathContext)
+	 */
+	public BigDecimal[] sincos(BigDecimal angle, MathContext mc) {
+
+		// The array is copied so that callers cannot change the cached one.
+		return get(Function.SINCOS, angle, null, mc).clone();
+	}
+
+	/**
+	 * @see BigDecimalFunctions#tan(BigDecimal, MathContext)
+	 */
+	public BigDecimal tan(BigDecimal angle, MathContext mc) {
+		return get(Function.TAN, angle, null, mc)[0];
+	}
+
+	/**
+	 * @see BigDecimalFunctions#factorial(BigDecimal, MathContext)
+	 */
+	public BigDecimal factorial(BigDecimal value, MathContext mc) {
+		return get(Function.FACTORIAL, value, null, mc)[0];
+	}
+
+	/**
+	 * @see BigDecimalFunctions#arcsin(BigDecimal, MathContext)
+	 */
+	public BigDecimal arcsin(BigDecimal value, MathContext mc) {
+		return get(Function.ARCSIN, value, null, mc)[0];
+	}
+
+	/**
+	 * @see BigDecimalFunctions#arccos(BigDecimal, MathContext)
+	 */
+	public BigDecimal arccos(BigDecimal value, MathContext mc) {
+		return get(Function.ARCCOS, value, null, mc)[0];
+	}
+
+	/**
+	 * @see BigDecimalFunctions#arctan(BigDecimal, MathContext)
+	 */
+	public BigDecimal arctan(BigDecimal value, MathContext mc) {
+		return get(Function.ARCTAN, value, null, mc)[0];
+	}
+
+	/**
+	 * Returns the number of calls answered from the cache, including the ones
+	 * that waited for another thread to calculate the result.
+	 */
+	public long hitCount() {
+		return cache.stats().hitCount();
+	}
+
+	/**
+	 * Returns the number of calls that calculated their result.
+	 */
+	public long missCount() {
+		return cache.stats().missCount();
+	}
+
+	/**
+	 * Returns the number of results evicted to keep within the size bound.
+	 */
+	public long evictionCount() {
+		return cache.stats().evictionCount();
+	}
+
+	/**
+	 * Returns the approximate number of results kept.
+	 */
+	public long size() {
+		return cache.size();
+	}
+
+	/**
+	 * Discards all the results kept. The counters are not reset.
+	 */
+	public void clear() {
+		cache.invalidateAll();
+	}
+
+	private BigDecimal[] get(Function function, BigDecimal argument, BigDecimal second, MathContext mc) {
+		try {
+			return cache.getUnchecked(new Key(function, argument, second, mc));
+		} catch (UncheckedExecutionException e) {
+			throw Throwables.propagate(e.getCause());
+		} catch (ExecutionError e) {
+			throw Throwables.propagate(e.getCause());
+		}
+	}
+
+	/**
+	 * The functions that can be cached. Every result is an array, so that
+	 * {@link #SINCOS} fits in too.
+	 */
+	private enum Function {
+
+		EXP {
+			@Override
+			BigDecimal[] apply(BigDecimal argument, BigDecimal second, MathContext mc) {
+				return new BigDecimal[] { BigDecimalFunctions.exp(argument, mc) };
+			}
+		},
+
+		LN {
+			@Override
+			BigDecimal[] apply(BigDecimal argument, BigDecimal second, MathContext mc) {
+				return new BigDecimal[] { BigDecimalFunctions.ln(argument, mc) };
+			}
+		},
+
+		POW {
+			@Override
+			BigDecimal[] apply(BigDecimal argument, BigDecimal second, MathContext mc) {
+				return new BigDecimal[] { BigDecimalFunctions.pow(argument, second, mc) };
+			}
+		},
+
+		POW_LONG {
+			@Override
+			BigDecimal[] apply(BigDecimal argument, BigDecimal second, MathContext mc) {
+				return new BigDecimal[] { BigDecimalFunctions.pow(argument, second.longValueExact(), mc) };
+			}
+		},
+
+		SQRT {
+			@Override
+			BigDecimal[] apply(BigDecimal argument, BigDecimal second, MathContext mc) {
+				return new BigDecimal[] { BigDecimalFunctions.sqrt(argument, mc) };
+			}
+		},
+
+		ROOT {
+			@Override
+			BigDecimal[] apply(BigDecimal argument, BigDecimal second, MathContext mc) {
+				return new BigDecimal[] { BigDecimalFunctions.root(argument, second.longValueExact(), mc) };
+			}
+		},
+
+		SIN {
+			@Override
+			BigDecimal[] apply(BigDecimal argument, BigDecimal second, MathContext mc) {
+				return new BigDecimal[] { BigDecimalFunctions.sin(argument, mc) };
+			}
+		},
+
+		COS {
+			@Override
+			BigDecimal[] apply(BigDecimal argument, BigDecimal second, MathContext mc) {
+				return new BigDecimal[] { BigDecimalFunctions.cos(argument, mc) };
+			}
+		},
+
+		SINCOS {
+			@Override
+			BigDecimal[] apply(BigDecimal argument, BigDecimal second, MathContext mc) {
+				return BigDecimalFunctions.sincos(argument, mc);
+			}
+		},
+
+		TAN {
+			@Override
+			BigDecimal[] apply(BigDecimal argument, BigDecimal second, MathContext mc) {
+				return new BigDecimal[] { BigDecimalFunctions.tan(argument, mc) };
+			}
+		},
+
+		FACTORIAL {
+			@Override
+			BigDecimal[] apply(BigDecimal argument, BigDecimal second, MathContext mc) {
+				return new BigDecimal[] { BigDecimalFunctions.factorial(argument, mc) };
+			}
+		},
+
+		ARCSIN {
+			@Override
+			BigDecimal[] apply(BigDecimal argument, BigDecimal second, MathContext mc) {
+				return new BigDecimal[] { BigDecimalFunctions.arcsin(argument, mc) };
+			}
+		},
+
+		ARCCOS {
+			@Override
+			BigDecimal[] apply(BigDecimal argument, BigDecimal second, MathContext mc) {
+				return new BigDecimal[] { BigDecimalFunctions.arccos(argument, mc) };
+			}
+		},
+
+		ARCTAN {
+			@Override
+			BigDecimal[] apply(BigDecimal argument, BigDecimal second, MathContext mc) {
+				return new BigDecimal[] { BigDecimalFunctions.arctan(argument, mc) };
+			}
+		};
+
+		abstract BigDecimal[] apply(BigDecimal argument, BigDecimal second, MathContext mc);
+	}
+
+	/**
+	 * A function together with its arguments and context. The arguments are
+	 * compared without trailing zeros, so that equal values make equal keys,
+	 * and kept as they were given to calculate the result from.
+	 */
+	private static final class Key {
+		final Function function;
+		final BigDecimal argument;
+		final BigDecimal second;
+		final MathContext mc;
+		final BigDecimal originalArgument;
+		final BigDecimal originalSecond;
+
+		Key(Function function, BigDecimal argument, BigDecimal second, MathContext mc) {
+			this.function = function;
+			this.argument = normalize(argument);
+			this.second = second == null ? null : normalize(second);
+			this.mc = mc;
+			this.originalArgument = argument;
+			this.originalSecond = second;
+		}
+
+		// stripTrailingZeros leaves zero with its scale before Java 8.
+		private static BigDecimal normalize(BigDecimal value) {
+			return value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) other;
+			return function == key.function && argument.equals(key.argument)
+					&& (second == null ? key.second == null : second.equals(key.second)) && mc.equals(key.mc);
+		}
+
+		@Override
+		public int hashCode() {
+			return ((function.hashCode() * 31 + argument.hashCode()) * 31 + (second == null ? 0 : second.hashCode())) * 31
+					+ mc.hashCode();
+		}
+	}
+}
@@ -0,0 +1,71 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cooperative cancellation of a calculation started by
+ * {@link BigDecimalFunctionsAsync}. The calculation runs with its
+ * cancellation set for the thread, and the series, splittings and
+ * Newton-Raphson iterations call {@link #check()} between their steps, which
+ * throws a <code>CancellationException</code> once it has been cancelled.
+ * Calculations started directly from {@link BigDecimalFunctions} have none,
+ * and the checks cost them a thread local read.
+ */
+final class Cancellation {
+
+	private static final ThreadLocal<Cancellation> CURRENT = new ThreadLocal<Cancellation>();
+
+	private volatile boolean cancelled;
+
+	/**
+	 * Stops the calculation at its next check.
+	 */
+	void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Runs <code>callable</code> on the calling thread with this cancellation
+	 * set.
+	 */
+	<T> T call(Callable<T> callable) throws Exception {
+		Cancellation previous = CURRENT.get();
+		CURRENT.set(this);
+		try {
+			check();
+			return callable.call();
+		} finally {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * Throws a <code>CancellationException</code> if the calculation running
+	 * on the calling thread has been cancelled.
+	 */
+	static void check() {
+		Cancellation current = CURRENT.get();
+		if (current != null && current.cancelled) {
+			throw new CancellationException("Calculation cancelled");
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Evaluates a continued fraction
+ * <p>
+ * <code>b(0) + a(1) / (b(1) + a(2) / (b(2) + a(3) / (b(3) + ...)))</code>
+ * <p>
+ * whose partial numerators <code>a</code> and denominators <code>b</code>
+ * depend on an argument. Many functions whose series converge slowly or
+ * cancel out, like the complementary error function or the ratios of Bessel
+ * functions, have continued fractions that converge quickly there, and like
+ * {@link TruncatedSeries} they are added by describing them. For example
+ * <p>
+ * <code>tan (x) = x / (1 - x<sup>2</sup> / (3 - x<sup>2</sup> / (5 - ...)))</code>
+ *
+ * <pre>
+ * ContinuedFraction tan = new ContinuedFraction() {
+ * 	protected BigDecimal a(int n, BigDecimal x) {
+ * 		return n == 1 ? x : x.multiply(x).negate();
+ * 	}
+ *
+ * 	protected BigDecimal b(int n, BigDecimal x) {
+ * 		return BigDecimal.valueOf(n == 0 ? 0 : 2 * n - 1);
+ * 	}
+ * };
+ * tan.evaluate(x, mc)
+ * </pre>
+ * <p>
+ * The fraction is evaluated forward with the modified Lentz method, which
+ * keeps it as a running product of the ratios of the convergents, so that
+ * every term costs a few operations instead of starting again from the last
+ * term.
+ */
+public abstract class ContinuedFraction {
+
+	/**
+	 * Number of terms past which a fraction is taken not to converge.
+	 */
+	static final int MAXIMUM_TERMS = 1 << 20;
+
+	// Digits kept on top of the requested precision, and the part of them
+	// that a further term must change for it to be taken.
+	private static final int GUARD_DIGITS = 10;
+	private static final int TOLERANCE_DIGITS = 5;
+
+	// Terms check for cancellation every this many plus one.
+	private static final int CHECK_TERMS = 63;
+
+	/**
+	 * Returns the partial numerator <code>a(n)</code>, for
+	 * <code>n >= 1</code>. A numerator of <code>0</code> ends the fraction.
+	 *
+	 * @param n
+	 *            the index of the term.
+	 * @param argument
+	 *            the argument of the fraction.
+	 * @return <code>a(n)</code>
+	 */
+	protected abstract BigDecimal a(int n, BigDecimal argument);
+
+	/**
+	 * Returns the partial denominator <code>b(n)</code>, for
+	 * <code>n >= 0</code>.
+	 *
+	 * @param n
+	 *            the index of the term.
+	 * @param argument
+	 *            the argument of the fraction.
+	 * @return <code>b(n)</code>
+	 */
+	protected abstract BigDecimal b(int n, BigDecimal argument);
+
+	/**
+	 * Evaluates the continued fraction at <code>argument</code>. The result is
+	 * rounded according to the passed context <code>mc</code>. The terms are
+	 * taken until one changes the value by less than
+	 * <code>10<sup>-(precision + 5)</sup></code> of it, so the fraction must
+	 * converge steadily from there on.
+	 *
+	 * @param argument
+	 *            the argument of the fraction.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return the value of the continued fraction
+	 * @throws ArithmeticException
+	 *             if the fraction does not converge within
+	 *             {@link #MAXIMUM_TERMS} terms.
+	 */
+	public BigDecimal evaluate(BigDecimal argument, MathContext mc) {
+		MathContext newMc = new MathContext(mc.getPrecision() + GUARD_DIGITS);
+		BigDecimal tolerance = BigDecimal.ONE.movePointLeft(mc.getPrecision() + TOLERANCE_DIGITS);
+
+		// Stands in for a zero denominator, so that the next term divides by
+		// something far smaller than any value of the fraction instead.
+		BigDecimal tiny = BigDecimal.ONE.movePointLeft(2 * newMc.getPrecision());
+
+		// f(n) = f(n - 1) * C(n) * D(n)
+		// with C(n) = b(n) + a(n) / C(n - 1) and D(n) = 1 / (b(n) + a(n) * D(n - 1))
+		BigDecimal value = nonZero(b(0, argument), tiny);
+		BigDecimal c = value;
+		BigDecimal d = BigDecimal.ZERO;
+		for (int n = 1; n <= MAXIMUM_TERMS; n++) {
+			if ((n & CHECK_TERMS) == 0) {
+				Cancellation.check();
+			}
+			BigDecimal a = a(n, argument);
+			BigDecimal b = b(n, argument);
+			d = BigDecimal.ONE.divide(nonZero(b.add(a.multiply(d, newMc), newMc), tiny), newMc);
+			c = nonZero(b.add(a.divide(c, newMc), newMc), tiny);
+			BigDecimal delta = c.multiply(d, newMc);
+			value = value.multiply(delta, newMc);
+			if (delta.subtract(BigDecimal.ONE).abs().compareTo(tolerance) < 0) {
+				Metrics.steps(Metrics.Kernel.CONTINUED_FRACTION, n, mc);
+				return value.round(mc);
+			}
+		}
+		throw new ArithmeticException("Continued fraction does not converge within " + MAXIMUM_TERMS + " terms");
+	}
+
+	private static BigDecimal nonZero(BigDecimal value, BigDecimal tiny) {
+		return value.signum() == 0 ? tiny : value;
+	}
+}
@@ -0,0 +1,300 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+
+/**
+ * A number held as the unevaluated sum of two doubles, <code>hi + lo</code>
+ * with <code>|lo| <= ulp(hi) / 2</code>, which carries about 32 significant
+ * digits. The arithmetic follows the error free transformations of Dekker
+ * and Knuth, and each operation has a relative error of a few units of
+ * {@link #ULP}. Used by {@link FastPath} when a double alone is not precise
+ * enough.
+ */
+final class DoubleDouble {
+
+	/**
+	 * Unit of the relative error of a single operation.
+	 */
+	static final double ULP = Math.scalb(1.0, -104);
+
+	/**
+	 * Unit of the error bounds of the functions below, which leaves ample room
+	 * for the rounding of every operation in them.
+	 */
+	static final double ERROR = Math.scalb(1.0, -88);
+
+	static final DoubleDouble ONE = new DoubleDouble(1, 0);
+
+	private static final DoubleDouble LN2 = valueOf(
+			new BigDecimal("0.6931471805599453094172321214581765680755001343602552541206800094933936"));
+	private static final DoubleDouble HALF_PI = valueOf(
+			new BigDecimal("1.570796326794896619231321691639751442098584699687552910487472296153908"));
+
+	// Splits a double into two halves of 26 bits for exact products.
+	private static final double SPLITTER = 134217729;
+
+	// e ^ x is found as (e ^ (x / 2 ^ SQUARINGS)) ^ (2 ^ SQUARINGS).
+	private static final int SQUARINGS = 10;
+
+	// Powers of ten which are exact in a double.
+	private static final double[] POWERS_OF_TEN = new double[23];
+
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+		}
+	}
+
+	final double hi;
+	final double lo;
+
+	private DoubleDouble(double hi, double lo) {
+		this.hi = hi;
+		this.lo = lo;
+	}
+
+	static DoubleDouble valueOf(double value) {
+		return new DoubleDouble(value, 0);
+	}
+
+	/**
+	 * Returns the double-double nearest to <code>value</code>, which must be
+	 * within the range of a double.
+	 */
+	static DoubleDouble valueOf(BigDecimal value) {
+
+		// Most arguments are short decimals, unscaled / 10 ^ scale, where both
+		// the unscaled value and the power of ten are exact in a double-double.
+		int scale = value.scale();
+		if (value.precision() <= 18 && scale >= 0 && scale <= 22) {
+			long unscaled = value.unscaledValue().longValue();
+			double hi = unscaled;
+			DoubleDouble exact = sum(hi, (double) (unscaled - (long) hi));
+			return scale == 0 ? exact : exact.divide(POWERS_OF_TEN[scale]);
+		}
+		double hi = value.doubleValue();
+		double lo = value.subtract(new BigDecimal(hi)).doubleValue();
+		return sum(hi, lo);
+	}
+
+	DoubleDouble negate() {
+		return new DoubleDouble(-hi, -lo);
+	}
+
+	DoubleDouble add(DoubleDouble other) {
+		double s = hi + other.hi;
+		double v = s - hi;
+		double e = (hi - (s - v)) + (other.hi - v);
+		double t = lo + other.lo;
+		double w = t - lo;
+		double f = (lo - (t - w)) + (other.lo - w);
+		e += t;
+		DoubleDouble r = sum(s, e);
+		return sum(r.hi, r.lo + f);
+	}
+
+	DoubleDouble add(double other) {
+		double s = hi + other;
+		double v = s - hi;
+		double e = (hi - (s - v)) + (other - v) + lo;
+		return sum(s, e);
+	}
+
+	DoubleDouble subtract(DoubleDouble other) {
+		return add(other.negate());
+	}
+
+	DoubleDouble multiply(DoubleDouble other) {
+		DoubleDouble p = product(hi, other.hi);
+		return sum(p.hi, p.lo + (hi * other.lo + lo * other.hi));
+	}
+
+	DoubleDouble multiply(double other) {
+		DoubleDouble p = product(hi, other);
+		return sum(p.hi, p.lo + lo * other);
+	}
+
+	DoubleDouble divide(DoubleDouble other) {
+		double q1 = hi / other.hi;
+		DoubleDouble r = subtract(other.multiply(q1));
+		double q2 = r.hi / other.hi;
+		r = r.subtract(other.multiply(q2));
+		double q3 = r.hi / other.hi;
+		return sum(q1, q2).add(q3);
+	}
+
+	DoubleDouble divide(double other) {
+		double q1 = hi / other;
+		DoubleDouble r = subtract(product(q1, other));
+		double q2 = r.hi / other;
+		r = r.subtract(product(q2, other));
+		double q3 = r.hi / other;
+		return sum(q1, q2).add(q3);
+	}
+
+	/**
+	 * Multiplies by <code>10<sup>n</sup></code>, with a relative error below
+	 * <code>(|n| / 22 + 2) * 4 * ULP</code>.
+	 */
+	DoubleDouble scaleByPowerOfTen(int n) {
+		DoubleDouble result = this;
+		for (; n > 22; n -= 22) {
+			result = result.multiply(POWERS_OF_TEN[22]);
+		}
+		for (; n < -22; n += 22) {
+			result = result.divide(POWERS_OF_TEN[22]);
+		}
+		return n >= 0 ? result.multiply(POWERS_OF_TEN[n]) : result.divide(POWERS_OF_TEN[-n]);
+	}
+
+	/**
+	 * Multiplies by <code>2<sup>n</sup></code>, which is exact unless the
+	 * result leaves the range of normal doubles.
+	 */
+	DoubleDouble scalb(int n) {
+		return new DoubleDouble(Math.scalb(hi, n), Math.scalb(lo, n));
+	}
+
+	/**
+	 * Calculates <code>e<sup>x</sup></code> for <code>|x| <= 650</code>,
+	 * with a relative error below <code>(|x| + 1) * ERROR</code>.
+	 */
+	static DoubleDouble exp(DoubleDouble x) {
+
+		// e ^ x = 2 ^ k * e ^ r, where r = x - k * ln 2
+		double k = Math.rint(x.hi / LN2.hi);
+		DoubleDouble r = x.subtract(LN2.multiply(k)).scalb(-SQUARINGS);
+
+		// e ^ r - 1 by Taylor's series, which needs few terms as r is tiny.
+		DoubleDouble term = r;
+		DoubleDouble sum = r;
+		for (int n = 2; Math.abs(term.hi) > ULP * Math.abs(sum.hi); n++) {
+			term = term.multiply(r).divide(n);
+			sum = sum.add(term);
+		}
+
+		// Squaring e ^ r as (1 + sum) ^ 2 - 1 = sum * (2 + sum) keeps the digits
+		// of the small sum.
+		for (int i = 0; i < SQUARINGS; i++) {
+			sum = sum.multiply(sum.add(2));
+		}
+		return sum.add(1).scalb((int) k);
+	}
+
+	/**
+	 * Calculates <code>log<sub>e</sub> x</code> for
+	 * <code>e<sup>-650</sup> <= x <= e<sup>650</sup></code>, with an absolute
+	 * error below <code>(|log x| + 1)<sup>2</sup> * ERROR</code>.
+	 */
+	static DoubleDouble log(DoubleDouble x) {
+
+		// One Newton-Raphson step from the double doubles the digits.
+
+		// y = y + x / e ^ y - 1
+		DoubleDouble y = valueOf(Math.log(x.hi));
+		return y.add(x.multiply(exp(y.negate())).add(-1));
+	}
+
+	/**
+	 * Calculates the square root of a positive <code>x</code>, with a relative
+	 * error below <code>ERROR</code>.
+	 */
+	static DoubleDouble sqrt(DoubleDouble x) {
+
+		// One Newton-Raphson step from the double doubles the digits.
+
+		// y = y + (x - y ^ 2) / (2 * y)
+		double y = Math.sqrt(x.hi);
+		return valueOf(y).add(x.subtract(product(y, y)).hi / (2 * y));
+	}
+
+	/**
+	 * Calculates the sine and the cosine of <code>x</code>, with an absolute
+	 * error below <code>(|x| + 1) * ERROR</code> each.
+	 *
+	 * @return <code>{ sin x, cos x }</code>
+	 */
+	static DoubleDouble[] sinCos(DoubleDouble x) {
+
+		// x = k * PI / 2 + r, where |r| <= PI / 4
+		double k = Math.rint(x.hi / HALF_PI.hi);
+		DoubleDouble r = x.subtract(HALF_PI.multiply(k));
+		DoubleDouble square = r.multiply(r).negate();
+
+		DoubleDouble sinTerm = r;
+		DoubleDouble sin = r;
+		DoubleDouble cosTerm = ONE;
+		DoubleDouble cos = ONE;
+		for (int n = 2; Math.abs(cosTerm.hi) > ULP; n += 2) {
+			cosTerm = cosTerm.multiply(square).divide(n * (n - 1));
+			cos = cos.add(cosTerm);
+			sinTerm = sinTerm.multiply(square).divide(n * (n + 1));
+			sin = sin.add(sinTerm);
+		}
+
+		switch ((int) (((long) k % 4 + 4) % 4)) {
+		case 0:
+			return new DoubleDouble[] { sin, cos };
+		case 1:
+			return new DoubleDouble[] { cos, sin.negate() };
+		case 2:
+			return new DoubleDouble[] { sin.negate(), cos.negate() };
+		default:
+			return new DoubleDouble[] { cos.negate(), sin };
+		}
+	}
+
+	/**
+	 * Calculates the arctangent of <code>x</code>, with an absolute error
+	 * below <code>16 * ERROR</code>.
+	 */
+	static DoubleDouble atan(DoubleDouble x) {
+
+		// The double y is corrected by the arctangent of
+		// tan (atan x - y) = (x * cos y - sin y) / (cos y + x * sin y)
+		// which is so small that it equals its arctangent.
+		DoubleDouble y = valueOf(Math.atan(x.hi));
+		DoubleDouble[] sinCos = sinCos(y);
+		DoubleDouble numerator = x.multiply(sinCos[1]).subtract(sinCos[0]);
+		DoubleDouble denominator = sinCos[1].add(x.multiply(sinCos[0]));
+		return y.add(numerator.divide(denominator));
+	}
+
+	/**
+	 * Returns the sum of two doubles, where <code>|a| >= |b|</code> or
+	 * <code>a = 0</code>, normalized.
+	 */
+	private static DoubleDouble sum(double a, double b) {
+		double s = a + b;
+		return new DoubleDouble(s, b - (s - a));
+	}
+
+	/**
+	 * Returns the exact product of two doubles.
+	 */
+	private static DoubleDouble product(double a, double b) {
+		double p = a * b;
+		double t = SPLITTER * a;
+		double aHi = t - (t - a);
+		double aLo = a - aHi;
+		t = SPLITTER * b;
+		double bHi = t - (t - b);
+		double bLo = b - bHi;
+		return new DoubleDouble(p, ((aHi * bHi - p) + aHi * bLo + aLo * bHi) + aLo * bLo);
+	}
+}
@@ -0,0 +1,223 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigInteger;
+
+/**
+ * Calculates exact factorials of whole numbers. Factorials up to a bound are
+ * kept in a table that is filled in order, every entry from the one before.
+ * Above the bound the prime swing algorithm is used,
+ * <code>n! = ((n / 2)!)<sup>2</sup> * swing(n)</code>, where the swing is
+ * multiplied together from its prime factors. The last factorial above the
+ * bound is kept too, so that neighbouring ones only cost the product of the
+ * numbers in between.
+ * <p>
+ * The bound is <code>1024</code> unless the system property
+ * <code>com.kodeblox.factorialCacheBound</code> says otherwise.
+ */
+final class Factorial {
+
+	// Factorials up to this are kept in the table.
+	private static final int CACHE_BOUND = Math.max(20, Integer.getInteger("com.kodeblox.factorialCacheBound", 1024));
+
+	// The table is grown by at least this many factorials at a time.
+	private static final int GROWTH = 64;
+
+	// Factorials at most this far from the last one are derived from it.
+	private static final int NEIGHBOURHOOD = 256;
+
+	// Ranges of factors at most this long are multiplied one after another.
+	private static final int PRODUCT_LEAF = 16;
+
+	private static volatile BigInteger[] table = { BigInteger.ONE };
+
+	private static volatile Last last;
+
+	private Factorial() {
+	}
+
+	/**
+	 * Calculates <code>n!</code> exactly.
+	 *
+	 * @param n
+	 *            the number whose factorial is to be found.
+	 * @return <code>n!</code>
+	 * @throws IllegalArgumentException
+	 *             if <code>n < 0</code>.
+	 */
+	static BigInteger of(int n) {
+		if (n < 0) {
+			throw new IllegalArgumentException("Factorial is only defined for whole numbers");
+		}
+		if (n <= CACHE_BOUND) {
+			return cached(n);
+		}
+
+		Last previous = last;
+		BigInteger result;
+		if (previous != null && previous.n <= n && n - previous.n <= NEIGHBOURHOOD) {
+			result = previous.value.multiply(product(previous.n + 1, n));
+		} else if (previous != null && n < previous.n && previous.n - n <= NEIGHBOURHOOD) {
+			result = previous.value.divide(product(n + 1, previous.n));
+		} else {
+			result = primeSwing(n, primes(n));
+		}
+		last = new Last(n, result);
+		return result;
+	}
+
+	private static BigInteger cached(int n) {
+		BigInteger[] current = table;
+		if (n < current.length) {
+			return current[n];
+		}
+		return grow(n);
+	}
+
+	private static synchronized BigInteger grow(int n) {
+
+		// Another thread might have grown the table while this one was
+		// waiting.
+		BigInteger[] current = table;
+		if (n < current.length) {
+			return current[n];
+		}
+
+		int length = Math.min(CACHE_BOUND, Math.max(n, current.length - 1 + GROWTH)) + 1;
+		BigInteger[] grown = new BigInteger[length];
+		System.arraycopy(current, 0, grown, 0, current.length);
+		for (int i = current.length; i < length; i++) {
+			grown[i] = grown[i - 1].multiply(BigInteger.valueOf(i));
+		}
+		table = grown;
+		return grown[n];
+	}
+
+	private static BigInteger primeSwing(int n, int[] primes) {
+		if (n <= CACHE_BOUND) {
+			return cached(n);
+		}
+		BigInteger half = primeSwing(n / 2, primes);
+		return half.multiply(half).multiply(swing(n, primes));
+	}
+
+	/**
+	 * Calculates the swing of <code>n</code>,
+	 * <code>n! / ((n / 2)!)<sup>2</sup></code>, from its prime factors. Every
+	 * prime power dividing it is at most <code>n</code>.
+	 */
+	private static BigInteger swing(int n, int[] primes) {
+		long[] factors = new long[primes.length];
+		int count = 0;
+		for (int p : primes) {
+			if (p > n) {
+				break;
+			}
+			if (p > n / 2) {
+				factors[count++] = p;
+			} else if (p > n / 3) {
+				// Primes in (n / 3, n / 2] do not divide the swing.
+				continue;
+			} else if ((long) p * p > n) {
+				if (((n / p) & 1) == 1) {
+					factors[count++] = p;
+				}
+			} else {
+				// The exponent of p is the number of odd quotients n / p^k.
+				long power = 1;
+				for (int q = n / p; q > 0; q /= p) {
+					if ((q & 1) == 1) {
+						power *= p;
+					}
+				}
+				if (power > 1) {
+					factors[count++] = power;
+				}
+			}
+		}
+		return product(factors, 0, count);
+	}
+
+	/**
+	 * Multiplies <code>factors[from ... to - 1]</code> in a balanced tree, so
+	 * that the large multiplications are between numbers of equal size.
+	 */
+	private static BigInteger product(long[] factors, int from, int to) {
+		if (to - from <= PRODUCT_LEAF) {
+			BigInteger result = BigInteger.ONE;
+			for (int i = from; i < to; i++) {
+				result = result.multiply(BigInteger.valueOf(factors[i]));
+			}
+			return result;
+		}
+		Cancellation.check();
+		int middle = (from + to) >>> 1;
+		return product(factors, from, middle).multiply(product(factors, middle, to));
+	}
+
+	/**
+	 * Multiplies the numbers <code>from ... to</code> in a balanced tree.
+	 */
+	private static BigInteger product(long from, long to) {
+		if (to - from < PRODUCT_LEAF) {
+			BigInteger result = BigInteger.ONE;
+			for (long i = from; i <= to; i++) {
+				result = result.multiply(BigInteger.valueOf(i));
+			}
+			return result;
+		}
+		Cancellation.check();
+		long middle = (from + to) >>> 1;
+		return product(from, middle).multiply(product(middle + 1, to));
+	}
+
+	/**
+	 * Returns the primes up to <code>n</code> by the sieve of Eratosthenes.
+	 */
+	private static int[] primes(int n) {
+		boolean[] composite = new boolean[n + 1];
+		int count = 0;
+		for (int i = 2; i <= n; i++) {
+			if (!composite[i]) {
+				count++;
+				for (long j = (long) i * i; j <= n; j += i) {
+					composite[(int) j] = true;
+				}
+			}
+		}
+		int[] primes = new int[count];
+		count = 0;
+		for (int i = 2; i <= n; i++) {
+			if (!composite[i]) {
+				primes[count++] = i;
+			}
+		}
+		return primes;
+	}
+
+	/**
+	 * The last factorial calculated above the bound of the table.
+	 */
+	private static final class Last {
+		final int n;
+		final BigInteger value;
+
+		Last(int n, BigInteger value) {
+			this.n = n;
+			this.value = value;
+		}
+	}
+}
@@ -0,0 +1,349 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Evaluates functions in <code>double</code>, or in {@link DoubleDouble} when a
+ * <code>double</code> is not enough, for contexts of at most
+ * {@link #MAXIMUM_PRECISION} digits. Every method returns <code>null</code>
+ * when it cannot tell the rounded result for sure, and the caller then falls
+ * back to the <code>BigDecimal</code> calculation.
+ * <p>
+ * The result is widened by a bound on its error into an interval that holds
+ * the exact value. If the whole interval lies strictly between two
+ * neighbouring numbers of one digit more than the context, every value in it
+ * rounds the same way in every rounding mode, since all the points where the
+ * rounding changes are such numbers. The interval is widened a little further
+ * by the error of the <code>BigDecimal</code> calculation, so that the two
+ * agree also in the last digit.
+ */
+final class FastPath {
+
+	/**
+	 * Largest precision for which the fast path is tried.
+	 */
+	static final int MAXIMUM_PRECISION = 16;
+
+	// Largest precision for which a double alone is tried first. Above it the
+	// error of a double spans most of the gaps between numbers of one more
+	// digit.
+	private static final int DOUBLE_PRECISION = 14;
+
+	// Bound on the relative error of Math.exp, Math.log, Math.sin and the
+	// others, which are within 1 ulp, and of rounding their argument to a
+	// double.
+	private static final double ULP = Math.ulp(1.0);
+
+	// Error of the BigDecimal calculation, in units of the last of the 3 guard
+	// digits it keeps, before any amplification.
+	private static final int GUARD_UNITS = 10;
+
+	// Bound on the magnitude of exponents and logarithms for DoubleDouble, which
+	// keeps every intermediate result a normal double.
+	private static final double RANGE = 650;
+
+	// Bound on the angles for DoubleDouble, which keeps the multiple of PI / 2
+	// exact.
+	private static final double ANGLE_RANGE = 1e9;
+
+	// Bounds on the magnitude of results, which keep every scaled result and
+	// its low part normal doubles.
+	private static final double MINIMUM_MAGNITUDE = 1e-280;
+	private static final double MAXIMUM_MAGNITUDE = 1e280;
+
+	// Powers of ten up to one more than the largest number of digits.
+	private static final double[] POWERS_OF_TEN = new double[MAXIMUM_PRECISION + 2];
+
+	static {
+		POWERS_OF_TEN[0] = 1;
+		for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+			POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+		}
+	}
+
+	private FastPath() {
+	}
+
+	static BigDecimal exp(BigDecimal exponent, MathContext mc) {
+		if (!applies(mc)) {
+			return null;
+		}
+		double x = exponent.doubleValue();
+		double absolute = Math.abs(x);
+		if (mc.getPrecision() <= DOUBLE_PRECISION) {
+
+			// d(e ^ x) = e ^ x * dx
+			BigDecimal result = round(Math.exp(x), (2 + absolute) * ULP, 1, mc);
+			if (result != null) {
+				return result;
+			}
+		}
+		if (!(absolute <= RANGE)) {
+			return null;
+		}
+		DoubleDouble y = DoubleDouble.exp(DoubleDouble.valueOf(exponent));
+		return round(y, (absolute + 1) * DoubleDouble.ERROR, 1, mc);
+	}
+
+	static BigDecimal ln(BigDecimal value, MathContext mc) {
+		if (!applies(mc)) {
+			return null;
+		}
+		double y = Math.log(value.doubleValue());
+		double absolute = Math.abs(y);
+
+		// d(log x) = dx / x
+		// The BigDecimal calculation loses digits in the same way.
+		double amplification = 1 + 1 / absolute;
+		if (mc.getPrecision() <= DOUBLE_PRECISION) {
+			BigDecimal result = round(y, 2 * ULP + ULP / absolute, amplification, mc);
+			if (result != null) {
+				return result;
+			}
+		}
+		if (!(absolute <= RANGE)) {
+			return null;
+		}
+		DoubleDouble logarithm = DoubleDouble.log(DoubleDouble.valueOf(value));
+		return round(logarithm, (absolute + 1) * (absolute + 1) * DoubleDouble.ERROR / absolute, amplification, mc);
+	}
+
+	static BigDecimal pow(BigDecimal base, BigDecimal exponent, MathContext mc) {
+		if (!applies(mc) || base.signum() <= 0) {
+			return null;
+		}
+		double x = base.doubleValue();
+		double n = exponent.doubleValue();
+		double log = Math.abs(Math.log(x));
+		double logarithm = Math.abs(n) * log;
+
+		// d(x ^ n) = x ^ n * (n * dx / x + log x * n * dn / n)
+		// The BigDecimal calculation loses digits in the same way.
+		double amplification = 1 + logarithm;
+		if (mc.getPrecision() <= DOUBLE_PRECISION) {
+			BigDecimal result = round(Math.pow(x, n), (2 + Math.abs(n) + logarithm) * ULP, amplification, mc);
+			if (result != null) {
+				return result;
+			}
+		}
+		if (!(log <= RANGE && logarithm <= RANGE)) {
+			return null;
+		}
+
+		// x ^ n = e ^ (n * log x), where the error of the logarithm is multiplied
+		// by n.
+		DoubleDouble y = DoubleDouble.exp(
+				DoubleDouble.valueOf(exponent).multiply(DoubleDouble.log(DoubleDouble.valueOf(base))));
+		double error = Math.abs(n) * (log + 1) * (log + 1) * DoubleDouble.ERROR
+				+ 2 * (logarithm + 1) * DoubleDouble.ERROR;
+		return round(y, error, amplification, mc);
+	}
+
+	static BigDecimal sqrt(BigDecimal value, MathContext mc) {
+		if (!applies(mc) || value.signum() <= 0) {
+			return null;
+		}
+		double x = value.doubleValue();
+		if (mc.getPrecision() <= DOUBLE_PRECISION) {
+			BigDecimal result = round(Math.sqrt(x), 2 * ULP, 1, mc);
+			if (result != null) {
+				return result;
+			}
+		}
+		if (!(Math.abs(Math.log(x)) <= RANGE)) {
+			return null;
+		}
+		return round(DoubleDouble.sqrt(DoubleDouble.valueOf(value)), DoubleDouble.ERROR, 1, mc);
+	}
+
+	static BigDecimal sin(BigDecimal angle, MathContext mc) {
+		if (!applies(mc)) {
+			return null;
+		}
+		double x = angle.doubleValue();
+		double absolute = Math.abs(x);
+		double y = Math.sin(x);
+
+		// d(sin x) = cos x * dx
+		// The BigDecimal calculation loses digits in the same way when it
+		// reduces the angle.
+		double amplification = absolute / Math.abs(y);
+		if (mc.getPrecision() <= DOUBLE_PRECISION) {
+			BigDecimal result = round(y, (2 + amplification) * ULP, 1 + amplification, mc);
+			if (result != null) {
+				return result;
+			}
+		}
+		if (!(absolute <= ANGLE_RANGE)) {
+			return null;
+		}
+		DoubleDouble sin = DoubleDouble.sinCos(DoubleDouble.valueOf(angle))[0];
+		return round(sin, (absolute + 1) * DoubleDouble.ERROR / Math.abs(sin.hi), 1 + amplification, mc);
+	}
+
+	static BigDecimal cos(BigDecimal angle, MathContext mc) {
+		if (!applies(mc)) {
+			return null;
+		}
+		double x = angle.doubleValue();
+		double absolute = Math.abs(x);
+		double y = Math.cos(x);
+
+		// d(cos x) = -sin x * dx
+		double amplification = absolute / Math.abs(y);
+		if (mc.getPrecision() <= DOUBLE_PRECISION) {
+			BigDecimal result = round(y, (2 + amplification) * ULP, 1 + amplification, mc);
+			if (result != null) {
+				return result;
+			}
+		}
+		if (!(absolute <= ANGLE_RANGE)) {
+			return null;
+		}
+		DoubleDouble cos = DoubleDouble.sinCos(DoubleDouble.valueOf(angle))[1];
+		return round(cos, (absolute + 1) * DoubleDouble.ERROR / Math.abs(cos.hi), 1 + amplification, mc);
+	}
+
+	static BigDecimal tan(BigDecimal angle, MathContext mc) {
+		if (!applies(mc)) {
+			return null;
+		}
+		double x = angle.doubleValue();
+		double absolute = Math.abs(x);
+		double y = Math.tan(x);
+
+		// d(tan x) = (1 + tan x ^ 2) * dx
+		double amplification = absolute * (1 + y * y) / Math.abs(y);
+		if (mc.getPrecision() <= DOUBLE_PRECISION) {
+			BigDecimal result = round(y, (2 + amplification) * ULP, 1 + amplification, mc);
+			if (result != null) {
+				return result;
+			}
+		}
+		if (!(absolute <= ANGLE_RANGE)) {
+			return null;
+		}
+
+		// The errors of the sine and the cosine add up relative to each.
+		DoubleDouble[] sinCos = DoubleDouble.sinCos(DoubleDouble.valueOf(angle));
+		double error = (absolute + 1) * DoubleDouble.ERROR
+				* (1 / Math.abs(sinCos[0].hi) + 1 / Math.abs(sinCos[1].hi) + 1);
+		return round(sinCos[0].divide(sinCos[1]), error, 1 + amplification, mc);
+	}
+
+	static BigDecimal arctan(BigDecimal value, MathContext mc) {
+		if (!applies(mc)) {
+			return null;
+		}
+		double x = value.doubleValue();
+		double y = Math.atan(x);
+		double absolute = Math.abs(y);
+		if (mc.getPrecision() <= DOUBLE_PRECISION) {
+
+			// d(arctan x) = dx / (1 + x ^ 2)
+			BigDecimal result = round(y, 2 * ULP + Math.abs(x) / (1 + x * x) * ULP / absolute, 1, mc);
+			if (result != null) {
+				return result;
+			}
+		}
+		if (!(Math.abs(x) <= ANGLE_RANGE && absolute > Double.MIN_NORMAL)) {
+			return null;
+		}
+		return round(DoubleDouble.atan(DoubleDouble.valueOf(value)), 16 * DoubleDouble.ERROR / absolute, 1, mc);
+	}
+
+	private static boolean applies(MathContext mc) {
+		return mc.getPrecision() > 0 && mc.getPrecision() <= MAXIMUM_PRECISION
+				&& mc.getRoundingMode() != RoundingMode.UNNECESSARY;
+	}
+
+	/**
+	 * Rounds <code>value</code> according to <code>mc</code> if all the values
+	 * within its error round the same way.
+	 *
+	 * @param value
+	 *            the result calculated in double.
+	 * @param error
+	 *            bound on the relative error of <code>value</code>.
+	 * @param amplification
+	 *            how much larger the relative error of the BigDecimal
+	 *            calculation is than its working precision.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return the rounded value, or <code>null</code> if it cannot be told
+	 */
+	private static BigDecimal round(double value, double error, double amplification, MathContext mc) {
+		return round(DoubleDouble.valueOf(value), error, amplification, mc);
+	}
+
+	/**
+	 * Rounds <code>value</code> according to <code>mc</code> if all the values
+	 * within its error round the same way.
+	 *
+	 * @param value
+	 *            the result calculated in DoubleDouble.
+	 * @param error
+	 *            bound on the relative error of <code>value</code>.
+	 * @param amplification
+	 *            how much larger the relative error of the BigDecimal
+	 *            calculation is than its working precision.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return the rounded value, or <code>null</code> if it cannot be told
+	 */
+	private static BigDecimal round(DoubleDouble value, double error, double amplification, MathContext mc) {
+		double magnitude = Math.abs(value.hi);
+		if (!(magnitude >= MINIMUM_MAGNITUDE && magnitude <= MAXIMUM_MAGNITUDE && error < 1)) {
+			return null;
+		}
+
+		// The value is scaled to precision + 1 digits before the point, where the
+		// numbers of one more digit than the context are the integers. Just below
+		// a power of ten, the high part can be the power itself.
+		int digits = mc.getPrecision() + 1;
+		int scale = digits - 1 - (int) Math.floor(Math.log10(magnitude));
+		DoubleDouble scaled = value.scaleByPowerOfTen(scale);
+		double least = POWERS_OF_TEN[digits - 1];
+		if (Math.abs(scaled.hi) < least || Math.abs(scaled.hi) == least && scaled.hi * scaled.lo < 0) {
+			scale++;
+			scaled = value.scaleByPowerOfTen(scale);
+		}
+
+		// Beyond 2 ^ 53 the low part can hold whole units too.
+		long floor = (long) Math.floor(scaled.hi);
+		double fraction = (scaled.hi - floor) + scaled.lo;
+		long units = (long) Math.floor(fraction);
+		floor += units;
+		fraction -= units;
+
+		// The radius also covers the scaling and the rounding of the fraction.
+		double radius = Math.abs(scaled.hi) * (1.01 * error
+				+ amplification * GUARD_UNITS * Math.pow(10, -mc.getPrecision() - 3)
+				+ (Math.abs(scale) / 22 + 2) * 8 * DoubleDouble.ULP) + 16 * ULP;
+
+		// The rounding only changes at numbers of one more digit, so both ends
+		// have to lie strictly inside the same gap between two of them.
+		if (!(fraction - radius > 0 && fraction + radius < 1)) {
+			return null;
+		}
+
+		// Every value in the gap rounds like its middle.
+		return BigDecimal.valueOf(floor * 10 + 5, scale + 1).round(mc);
+	}
+}
@@ -0,0 +1,180 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Binary fixed point arithmetic for the inner loops of the series in
+ * {@link NumericalMethodsFunctions}. A value <code>v</code> is held as the
+ * whole number <code>v * 2<sup>bits</sup></code>, so that a product only
+ * needs a shift to be scaled back and dividing by the small whole numbers of
+ * a series is a short division. Nothing is rounded through a
+ * <code>MathContext</code> until the result is turned back into a
+ * <code>BigDecimal</code>.
+ * <p>
+ * Every operation truncates, so a loop of <code>n</code> steps is off by at
+ * most <code>n</code> units in the last bit. The guard bits cover that for
+ * any practical number of terms.
+ */
+final class FixedPoint {
+
+	// Bits kept below the requested precision.
+	private static final int GUARD_BITS = 32;
+
+	// log2(10)
+	private static final double BITS_PER_DIGIT = 3.321928094887362;
+
+	// log2(e)
+	private static final double BITS_PER_NEPER = 1.4426950408889634;
+
+	// Whole numbers up to this many bits have their square root taken with
+	// doubles.
+	private static final int DOUBLE_SQRT_BITS = 52;
+
+	private FixedPoint() {
+	}
+
+	/**
+	 * Returns the number of fraction bits needed for the precision of
+	 * <code>mc</code>.
+	 *
+	 * @param mc
+	 *            the precision of the result.
+	 * @return the number of bits after the binary point
+	 */
+	static int bits(MathContext mc) {
+		return (int) Math.ceil(mc.getPrecision() * BITS_PER_DIGIT) + GUARD_BITS;
+	}
+
+	/**
+	 * Returns the number of bits lost to cancellation by a series whose
+	 * terms grow as large as <code>e<sup>|value|</sup></code>, like the
+	 * series of <code>e<sup>-value</sup></code> or of the sine and cosine.
+	 *
+	 * @param value
+	 *            the argument of the series.
+	 * @return the bits lost, <code>0</code> for arguments up to <code>1</code>
+	 */
+	static int cancellation(BigDecimal value) {
+		double magnitude = Math.abs(value.doubleValue());
+		return magnitude <= 1 ? 0 : (int) Math.ceil(magnitude * BITS_PER_NEPER);
+	}
+
+	/**
+	 * Returns <code>1</code> with <code>bits</code> fraction bits.
+	 */
+	static BigInteger one(int bits) {
+		return BigInteger.ONE.shiftLeft(bits);
+	}
+
+	/**
+	 * Turns <code>value</code> into a fixed point number with
+	 * <code>bits</code> fraction bits, rounding to the nearest.
+	 */
+	static BigInteger valueOf(BigDecimal value, int bits) {
+		return new BigDecimal(value.unscaledValue().shiftLeft(bits), value.scale())
+				.setScale(0, RoundingMode.HALF_EVEN).unscaledValue();
+	}
+
+	/**
+	 * Multiplies two fixed point numbers with <code>bits</code> fraction bits.
+	 */
+	static BigInteger multiply(BigInteger left, BigInteger right, int bits) {
+		return left.multiply(right).shiftRight(bits);
+	}
+
+	/**
+	 * Turns <code>factor * value</code> back into a <code>BigDecimal</code>,
+	 * where <code>value</code> is a fixed point number with <code>bits</code>
+	 * fraction bits. This is the only rounding. The result is rounded
+	 * according to the passed context <code>mc</code>.
+	 * <p>
+	 * The sum of a series is never exact, even when its truncated fixed point
+	 * value happens to be, so the result always gets all the digits of
+	 * <code>mc</code>, like a sum rounded term by term would.
+	 */
+	static BigDecimal toBigDecimal(BigInteger value, BigDecimal factor, int bits, MathContext mc) {
+		BigDecimal result = new BigDecimal(value).multiply(factor).divide(new BigDecimal(one(bits)), mc);
+		if (result.precision() < mc.getPrecision()) {
+			result = result.setScale(result.scale() + mc.getPrecision() - result.precision());
+		}
+		return result;
+	}
+
+	/**
+	 * Turns <code>factor * value</code> back into a {@link Ball}, like
+	 * {@link #toBigDecimal(BigInteger, BigDecimal, int, MathContext)}, where
+	 * <code>value</code> is off by at most <code>error</code> units in the
+	 * last bit.
+	 */
+	static Ball toBall(BigInteger value, BigInteger error, BigDecimal factor, int bits, MathContext mc) {
+		BigDecimal result = toBigDecimal(value, factor, bits, mc);
+		BigDecimal spread = new BigDecimal(error).multiply(factor.abs()).divide(new BigDecimal(one(bits)),
+				new MathContext(3, RoundingMode.UP));
+		return new Ball(result, spread.add(result.ulp()));
+	}
+
+	/**
+	 * Returns the largest whole number whose square is at most
+	 * <code>value</code>. The square root of the leading half of the bits is
+	 * found first, recursively, and one Newton-Raphson step on the whole
+	 * number doubles its correct bits. Most of the work is the single
+	 * division of that last step.
+	 *
+	 * @param value
+	 *            a non negative whole number.
+	 * @return <code>floor(sqrt(value))</code>
+	 */
+	static BigInteger sqrt(BigInteger value) {
+		BigInteger root = approximateSqrt(value);
+
+		// Settle the last unit with the remainder, so that only one square is
+		// taken.
+		BigInteger remainder = value.subtract(root.multiply(root));
+		while (remainder.signum() < 0) {
+			remainder = remainder.add(root.shiftLeft(1)).subtract(BigInteger.ONE);
+			root = root.subtract(BigInteger.ONE);
+		}
+		while (remainder.compareTo(root.shiftLeft(1)) > 0) {
+			remainder = remainder.subtract(root.shiftLeft(1)).subtract(BigInteger.ONE);
+			root = root.add(BigInteger.ONE);
+		}
+		return root;
+	}
+
+	/**
+	 * Returns the square root of <code>value</code> to within a few units.
+	 */
+	private static BigInteger approximateSqrt(BigInteger value) {
+		if (value.bitLength() <= DOUBLE_SQRT_BITS) {
+			return BigInteger.valueOf((long) Math.sqrt(value.longValue()));
+		}
+
+		// The root of value / 4 ^ shift is good to about half its bits, and a
+		// few bits more are kept so that the Newton-Raphson step lands within
+		// a unit or two.
+		Cancellation.check();
+		int shift = Math.max(0, value.bitLength() / 4 - 4);
+		BigInteger root = approximateSqrt(value.shiftRight(2 * shift)).shiftLeft(shift);
+		if (root.signum() == 0) {
+			root = BigInteger.ONE;
+		}
+		return root.add(value.divide(root)).shiftRight(1);
+	}
+}
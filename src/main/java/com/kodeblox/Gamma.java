@@ -0,0 +1,151 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Calculates the logarithm of the gamma function with Spouge's
+ * approximation,
+ * <p>
+ * <code>gamma(z + 1) = (z + a)<sup>z + 1/2</sup> * e<sup>-(z + a)</sup> * (c(0) + sum(k = 1 ... a - 1) of c(k) / (z + k))</code>
+ * <p>
+ * whose relative error is below
+ * <code>a<sup>-1/2</sup> * (2 * PI)<sup>-(a + 1/2)</sup></code> for every
+ * positive <code>z</code>. The coefficients <code>c(k)</code> only depend on
+ * the accuracy, so they are kept for every accuracy asked for.
+ */
+final class Gamma {
+
+	// log10(2 * PI), the digits gained by every increase of a.
+	private static final double DIGITS_PER_COEFFICIENT = 0.798179868358115;
+
+	// The largest coefficient is about 10^(0.553 * a). The sum cancels down
+	// to at least sqrt(2 * PI), so that many more digits are needed.
+	private static final double CANCELLATION_PER_COEFFICIENT = 0.56;
+
+	// Bound on the number of coefficient sets kept.
+	private static final int MAXIMUM_ACCURACIES = 64;
+
+	private static final ConcurrentHashMap<Integer, Coefficients> COEFFICIENTS = new ConcurrentHashMap<Integer, Coefficients>();
+
+	private Gamma() {
+	}
+
+	/**
+	 * Calculates <code>ln(gamma(x))</code> for a positive <code>x</code>. The
+	 * result is accurate to <code>digits</code> digits after the decimal point,
+	 * but not rounded to them.
+	 *
+	 * @param x
+	 *            the positive number whose log gamma is to be found.
+	 * @param digits
+	 *            the number of correct digits needed after the decimal point.
+	 * @return <code>ln(gamma(x))</code>
+	 */
+	static BigDecimal ln(BigDecimal x, int digits) {
+		Coefficients coefficients = coefficients(digits);
+		BigDecimal a = BigDecimal.valueOf(coefficients.a);
+
+		// ln(gamma(x)) = ln(gamma(x + 1)) - ln(x)
+		// = (x + 1/2) * ln(x + a) - (x + a) + ln(sum) - ln(x)
+		MathContext sumMc = new MathContext(coefficients.digits);
+		BigDecimal sum = coefficients.c[0];
+		for (int k = 1; k < coefficients.a; k++) {
+			Cancellation.check();
+			sum = sum.add(coefficients.c[k].divide(x.add(BigDecimal.valueOf(k)), sumMc), sumMc);
+		}
+		BigDecimal lnSum = BigDecimalFunctions.ln(sum, new MathContext(digits + 6));
+
+		// The other terms are as large as (x + a) * ln(x + a), so they need
+		// that many more digits.
+		MathContext mc = new MathContext(digits + magnitude(x, coefficients.a) + 2);
+		BigDecimal shifted = x.add(a);
+		return x.add(new BigDecimal("0.5")).multiply(BigDecimalFunctions.ln(shifted, mc), mc).subtract(shifted, mc)
+				.add(lnSum, mc).subtract(BigDecimalFunctions.ln(x, mc), mc);
+	}
+
+	/**
+	 * Returns the number of digits before the decimal point of the largest
+	 * term of the approximation.
+	 */
+	private static int magnitude(BigDecimal x, int a) {
+		double value = x.doubleValue();
+		if (Double.isInfinite(value)) {
+
+			// ln(x) has at most 11 digits before the decimal point.
+			return x.precision() - x.scale() + 11;
+		}
+		double largest = (value + a + 1) * (Math.log(value + a) + 1) + Math.abs(Math.log(value));
+		return (int) Math.ceil(Math.log10(largest)) + 1;
+	}
+
+	private static Coefficients coefficients(int digits) {
+		Coefficients coefficients = COEFFICIENTS.get(digits);
+		if (coefficients == null) {
+			coefficients = new Coefficients(digits);
+
+			// Clearing is cheaper than tracking the usage and the accuracies
+			// are few in practice.
+			if (COEFFICIENTS.size() >= MAXIMUM_ACCURACIES) {
+				COEFFICIENTS.clear();
+			}
+			COEFFICIENTS.put(digits, coefficients);
+		}
+		return coefficients;
+	}
+
+	/**
+	 * The coefficients of Spouge's approximation for an accuracy.
+	 */
+	private static final class Coefficients {
+		final int a;
+		final int digits;
+		final BigDecimal[] c;
+
+		Coefficients(int accuracy) {
+			a = (int) Math.ceil((accuracy + 1) / DIGITS_PER_COEFFICIENT) + 1;
+			digits = accuracy + 3 + (int) Math.ceil(CANCELLATION_PER_COEFFICIENT * a + Math.log10(a));
+			MathContext mc = new MathContext(digits);
+
+			MathContext powerMc = new MathContext(digits + 3 + a / 10);
+			BigDecimal e = MathConstant.E.get(powerMc);
+
+			// c(0) = sqrt(2 * PI)
+			c = new BigDecimal[a];
+			c[0] = NumericalMethodsFunctions
+					.sqrtNewtonRaphson(MathConstant.TWO_PI.get(new MathContext(digits + 3)), mc);
+
+			// c(k) = (-1)^(k - 1) / (k - 1)! * (a - k)^(k - 1/2) * e^(a - k)
+			// Going down from the last one, the powers of e and the
+			// reciprocals of the factorials are found with one multiplication
+			// each. Both lose a digit about every ten steps.
+			BigDecimal power = BigDecimal.ONE;
+			BigDecimal reciprocal = BigDecimal.ONE.divide(new BigDecimal(Factorial.of(a - 2), powerMc), powerMc);
+			for (int k = a - 1; k >= 1; k--) {
+				Cancellation.check();
+				power = power.multiply(e, powerMc);
+				BigDecimal n = BigDecimal.valueOf(a - k);
+				BigDecimal coefficient = n.pow(k - 1, powerMc)
+						.multiply(NumericalMethodsFunctions.sqrtNewtonRaphson(n, powerMc), powerMc)
+						.multiply(power, powerMc).multiply(reciprocal, mc);
+				c[k] = (k & 1) == 1 ? coefficient : coefficient.negate();
+				reciprocal = reciprocal.multiply(BigDecimal.valueOf(k - 1), powerMc);
+			}
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Table of <code>ln(1 + k / 32)</code> for <code>k = 0 ... 31</code>, used
+ * by {@link BigDecimalFunctions#ln(BigDecimal, MathContext)} to bring a
+ * mantissa in <code>[1, 2)</code> within <code>1 / 32</code> of
+ * <code>1</code>. Like {@link MathConstant}, the widest table calculated so
+ * far is cached, reads never lock, and it is only calculated again when more
+ * digits are needed.
+ */
+final class LogarithmTable {
+
+	/**
+	 * Number of entries in the table. Each entry covers <code>1 / SIZE</code>
+	 * of <code>[1, 2)</code>.
+	 */
+	static final int SIZE = 32;
+
+	// Tables are calculated to a multiple of this many digits.
+	private static final int BAND_DIGITS = 64;
+
+	private static volatile Widest widest;
+
+	private LogarithmTable() {
+	}
+
+	/**
+	 * Returns <code>ln(1 + k / SIZE)</code> to at least <code>digits</code>
+	 * digits.
+	 *
+	 * @param k
+	 *            the index of the entry, from <code>0</code> to
+	 *            <code>SIZE - 1</code>.
+	 * @param digits
+	 *            the least number of correct digits needed.
+	 * @return <code>ln(1 + k / SIZE)</code>
+	 */
+	static BigDecimal entry(int k, int digits) {
+		Widest current = widest;
+		if (current == null || current.digits < digits) {
+			current = widen(digits);
+		}
+		return current.entries[k];
+	}
+
+	private static synchronized Widest widen(int digits) {
+
+		// Another thread might have widened the table while this one was
+		// waiting.
+		Widest current = widest;
+		if (current != null && current.digits >= digits) {
+			return current;
+		}
+
+		digits = (digits + BAND_DIGITS - 1) / BAND_DIGITS * BAND_DIGITS;
+		if (current != null) {
+			digits = Math.max(digits, current.digits * 2);
+		}
+
+		MathContext mc = new MathContext(digits);
+		MathContext newMc = new MathContext(digits + 3);
+		BigDecimal[] entries = new BigDecimal[SIZE];
+		entries[0] = BigDecimal.ZERO;
+		for (int k = 1; k < SIZE; k++) {
+
+			// ln(1 + k / SIZE) = 2 * atanh(k / (2 * SIZE + k))
+			BigDecimal ratio = BigDecimal.valueOf(k).divide(BigDecimal.valueOf(2 * SIZE + k), newMc);
+			entries[k] = NumericalMethodsFunctions.atanhTaylorSeries(ratio, newMc).multiply(BigDecimal.valueOf(2), mc);
+		}
+
+		current = new Widest(digits, entries);
+		widest = current;
+		return current;
+	}
+
+	/**
+	 * The widest table together with its number of correct digits.
+	 */
+	private static final class Widest {
+		final int digits;
+		final BigDecimal[] entries;
+
+		Widest(int digits, BigDecimal[] entries) {
+			this.digits = digits;
+			this.entries = entries;
+		}
+	}
+}
@@ -0,0 +1,310 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in tables of <code>e<sup>j / 2<sup>bits</sup></sup></code> and
+ * <code>ln(1 + j / 2<sup>bits</sup>)</code> that trade memory for the speed
+ * of {@link BigDecimalFunctions#exp(BigDecimal, MathContext)} and
+ * {@link BigDecimalFunctions#ln(BigDecimal, MathContext)} at a fixed
+ * precision. With a table for the precision of the context, an exponent is
+ * reduced to the nearest entry below it and only a few terms of the series
+ * are summed for the rest, and a logarithm is reduced by multiplying with
+ * the reciprocal of the nearest entry. Calls at other precisions are not
+ * affected.
+ * <p>
+ * Tables are built eagerly with {@link #enable(MathContext, int)}, or lazily
+ * on the first call at a precision listed in the system property
+ * <code>com.kodeblox.lookupTables</code>, for example
+ * <code>-Dcom.kodeblox.lookupTables=34,50</code>, with the
+ * <code>bits</code> given by <code>com.kodeblox.lookupTables.bits</code>.
+ * The entries carry more digits than the first try of the functions, whose
+ * results are rounded correctly, so they are the same with or without the
+ * tables. The rare results that need more digits are found without them.
+ */
+public final class LookupTables {
+
+	/**
+	 * The <code>bits</code> of the tables built lazily, unless the system
+	 * property <code>com.kodeblox.lookupTables.bits</code> says otherwise.
+	 */
+	public static final int DEFAULT_BITS = 8;
+
+	/**
+	 * The most <code>bits</code> a table can have, which takes a few hundred
+	 * thousand numbers.
+	 */
+	public static final int MAXIMUM_BITS = 16;
+
+	// Digits kept beyond the precision of the table.
+	private static final int GUARD_DIGITS = 6;
+
+	// Estimated sizes in bytes of the objects of a table, on a 64 bit JVM with
+	// compressed references.
+	private static final int ARRAY_BYTES = 16;
+	private static final int BIG_DECIMAL_BYTES = 40;
+	private static final int BIG_INTEGER_BYTES = 40;
+
+	// Up to this many digits a BigDecimal keeps its digits in a long.
+	private static final int COMPACT_DIGITS = 18;
+
+	private static final int LAZY_BITS = Math.max(1,
+			Math.min(MAXIMUM_BITS, Integer.getInteger("com.kodeblox.lookupTables.bits", DEFAULT_BITS)));
+
+	private static final Set<Integer> LAZY_PRECISIONS = Collections
+			.newSetFromMap(new ConcurrentHashMap<Integer, Boolean>());
+
+	private static final ConcurrentHashMap<Integer, Table> TABLES = new ConcurrentHashMap<Integer, Table>();
+
+	static {
+		String precisions = System.getProperty("com.kodeblox.lookupTables");
+		if (precisions != null) {
+			for (String precision : precisions.split(",")) {
+				if (!precision.trim().isEmpty()) {
+					LAZY_PRECISIONS.add(Integer.valueOf(precision.trim()));
+				}
+			}
+		}
+	}
+
+	private LookupTables() {
+	}
+
+	/**
+	 * Builds the tables for the precision of <code>mc</code>, replacing any
+	 * built before, and returns their footprint. The exponential table has
+	 * about <code>2.3 * 2<sup>bits</sup></code> entries, covering
+	 * <code>[-ln(10) / 2, ln(10) / 2]</code>, and the logarithm table
+	 * <code>2<sup>bits</sup></code> entries and as many reciprocals. More
+	 * <code>bits</code> leave shorter series to sum.
+	 *
+	 * @param mc
+	 *            the precision of the calls to speed up.
+	 * @param bits
+	 *            the binary logarithm of the number of entries in a unit,
+	 *            from <code>1</code> to {@link #MAXIMUM_BITS}.
+	 * @return the estimated bytes taken by the tables
+	 * @throws IllegalArgumentException
+	 *             if the precision of <code>mc</code> is <code>0</code> or
+	 *             <code>bits</code> is out of range.
+	 */
+	public static long enable(MathContext mc, int bits) {
+		if (mc.getPrecision() == 0) {
+			throw new IllegalArgumentException("Tables need a limited precision");
+		}
+		if (bits < 1 || bits > MAXIMUM_BITS) {
+			throw new IllegalArgumentException("Table bits must be from 1 to " + MAXIMUM_BITS);
+		}
+		Table table = new Table(mc.getPrecision(), bits);
+		TABLES.put(mc.getPrecision(), table);
+		return table.footprint;
+	}
+
+	/**
+	 * Drops the tables for the precision of <code>mc</code>, also if they
+	 * were to be built lazily.
+	 *
+	 * @param mc
+	 *            the precision whose tables are dropped.
+	 */
+	public static void disable(MathContext mc) {
+		LAZY_PRECISIONS.remove(mc.getPrecision());
+		TABLES.remove(mc.getPrecision());
+	}
+
+	/**
+	 * Drops every table, also those that were to be built lazily.
+	 */
+	public static void disableAll() {
+		LAZY_PRECISIONS.clear();
+		TABLES.clear();
+	}
+
+	/**
+	 * Returns the estimated bytes taken by all the tables built so far, from
+	 * the sizes of the numbers in them.
+	 *
+	 * @return the footprint of the tables
+	 */
+	public static long footprint() {
+		long footprint = 0;
+		for (Table table : TABLES.values()) {
+			footprint += table.footprint;
+		}
+		return footprint;
+	}
+
+	/**
+	 * Returns the tables for the precision of <code>mc</code>, building them
+	 * if they are to be built lazily, or <code>null</code> if there are none.
+	 */
+	static Table get(MathContext mc) {
+		if (TABLES.isEmpty() && LAZY_PRECISIONS.isEmpty()) {
+			return null;
+		}
+		Table table = TABLES.get(mc.getPrecision());
+		if (table == null && LAZY_PRECISIONS.contains(mc.getPrecision())) {
+			table = build(mc.getPrecision());
+		}
+		return table;
+	}
+
+	private static synchronized Table build(int precision) {
+
+		// Another thread might have built the table while this one was
+		// waiting.
+		Table table = TABLES.get(precision);
+		if (table == null) {
+			table = new Table(precision, LAZY_BITS);
+			TABLES.put(precision, table);
+		}
+		return table;
+	}
+
+	/**
+	 * The tables for one precision.
+	 */
+	static final class Table {
+		private final int digits;
+		private final int bits;
+		private final int steps;
+		private final int half;
+		private final BigInteger fivePower;
+		private final BigDecimal[] exps;
+		private final BigDecimal[] logs;
+		private final BigDecimal[] reciprocals;
+		private final long footprint;
+
+		Table(int precision, int bits) {
+			digits = precision + GUARD_DIGITS;
+			this.bits = bits;
+			steps = 1 << bits;
+			half = (int) Math.ceil(Math.log(10) / 2 * steps) + 1;
+			fivePower = BigInteger.valueOf(5).pow(bits);
+			exps = new BigDecimal[2 * half + 1];
+			logs = new BigDecimal[steps];
+			reciprocals = new BigDecimal[steps];
+
+			// Every entry is found from the one before, so the error grows by
+			// a unit with every entry, which the digits of the working
+			// precision cover.
+			MathContext mc = new MathContext(precision + GUARD_DIGITS);
+			MathContext newMc = new MathContext(
+					mc.getPrecision() + 3 + (int) Math.ceil(Math.log10(exps.length)));
+
+			// e ^ (j / 2 ^ bits), going up and down from e ^ 0
+			BigDecimal step = new BigDecimal(fivePower, bits);
+			BigDecimal up = NumericalMethodsFunctions.expTaylorSeries(step, newMc);
+			BigDecimal down = NumericalMethodsFunctions.expTaylorSeries(step.negate(), newMc);
+			exps[half] = BigDecimal.ONE;
+			BigDecimal above = BigDecimal.ONE;
+			BigDecimal below = BigDecimal.ONE;
+			for (int j = 1; j <= half; j++) {
+				above = above.multiply(up, newMc);
+				below = below.multiply(down, newMc);
+				exps[half + j] = above.round(mc);
+				exps[half - j] = below.round(mc);
+			}
+
+			// ln(1 + j / 2 ^ bits) = ln(1 + (j - 1) / 2 ^ bits) + 2 * atanh(1 / (2 ^ (bits + 1) + 2 * j - 1))
+			logs[0] = BigDecimal.ZERO;
+			reciprocals[0] = BigDecimal.ONE;
+			BigDecimal log = BigDecimal.ZERO;
+			for (int j = 1; j < steps; j++) {
+				BigDecimal ratio = BigDecimal.ONE.divide(BigDecimal.valueOf(2L * steps + 2 * j - 1), newMc);
+				log = log.add(NumericalMethodsFunctions.atanhTaylorSeries(ratio, newMc).multiply(BigDecimal.valueOf(2)),
+						newMc);
+				logs[j] = log.round(mc);
+				reciprocals[j] = BigDecimal.valueOf(steps).divide(BigDecimal.valueOf(steps + j), mc);
+			}
+
+			footprint = footprint(exps) + footprint(logs) + footprint(reciprocals);
+		}
+
+		/**
+		 * Tells whether the entries have more digits than <code>mc</code>, so
+		 * that they can be used at its precision.
+		 */
+		boolean covers(MathContext mc) {
+			return mc.getPrecision() < digits;
+		}
+
+		/**
+		 * Returns <code>e<sup>remainder</sup></code> as the nearest entry
+		 * below the remainder times the series of the rest, in a ball that
+		 * holds the exact result. Every entry is within a unit in its last
+		 * place.
+		 */
+		Ball exp(BigDecimal remainder, MathContext mc) {
+
+			// An index off by one only leaves a slightly longer series.
+			int j = (int) Math.floor(remainder.doubleValue() * steps);
+			j = Math.max(-half, Math.min(half, j));
+
+			// rest = remainder - j / 2 ^ bits, where j / 2 ^ bits = j * 5 ^ bits / 10 ^ bits
+			BigDecimal rest = remainder.subtract(new BigDecimal(BigInteger.valueOf(j).multiply(fivePower), bits));
+			Ball series = NumericalMethodsFunctions.expTaylorSeriesBall(rest, mc);
+			return j == 0 ? series : Ball.withinUlp(exps[half + j], digits).multiply(series, mc);
+		}
+
+		/**
+		 * Returns the index of the entry <code>1 + j / 2<sup>bits</sup></code>
+		 * nearest below a mantissa in <code>[1, 2)</code>.
+		 */
+		int index(BigDecimal mantissa) {
+			int j = (int) Math.floor((mantissa.doubleValue() - 1) * steps);
+			return Math.max(0, Math.min(steps - 1, j));
+		}
+
+		/**
+		 * Returns <code>1 / (1 + j / 2<sup>bits</sup>)</code>, in a ball that
+		 * holds the exact value.
+		 */
+		Ball reciprocal(int j) {
+			return j == 0 ? Ball.valueOf(BigDecimal.ONE) : Ball.withinUlp(reciprocals[j], digits);
+		}
+
+		/**
+		 * Returns <code>ln(1 + j / 2<sup>bits</sup>)</code>, in a ball that
+		 * holds the exact value.
+		 */
+		Ball ln(int j) {
+			return j == 0 ? Ball.valueOf(BigDecimal.ZERO) : Ball.withinUlp(logs[j], digits);
+		}
+
+		private static long footprint(BigDecimal[] entries) {
+			long footprint = align(ARRAY_BYTES + 4L * entries.length);
+			for (BigDecimal entry : entries) {
+				footprint += BIG_DECIMAL_BYTES;
+				if (entry.precision() > COMPACT_DIGITS) {
+					int words = (entry.unscaledValue().bitLength() + 31) / 32;
+					footprint += BIG_INTEGER_BYTES + align(ARRAY_BYTES + 4L * words);
+				}
+			}
+			return footprint;
+		}
+
+		private static long align(long bytes) {
+			return (bytes + 7) / 8 * 8;
+		}
+	}
+}
@@ -0,0 +1,207 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread safe cache of the mathematical constants used by
+ * {@link BigDecimalFunctions}. Every constant keeps the widest value
+ * calculated so far, and the values already rounded for a
+ * <code>MathContext</code>. Reads never lock. A constant is only calculated
+ * again when a precision beyond the widest value is asked for, and then to a
+ * whole band of digits at once.
+ */
+enum MathConstant {
+
+	E {
+		@Override
+		BigDecimal calculate(MathContext mc) {
+			return NumericalMethodsFunctions.expBinarySplitting(BigDecimal.ONE, mc);
+		}
+	},
+
+	LN2 {
+		@Override
+		BigDecimal calculate(MathContext mc) {
+			MathContext newMc = new MathContext(mc.getPrecision() + 3);
+
+			// ln 2 = 18 * atanh(1 / 26) - 2 * atanh(1 / 4801) + 8 * atanh(1 / 8749)
+			return atanhOfReciprocal(26, newMc).multiply(BigDecimal.valueOf(18), newMc)
+					.subtract(atanhOfReciprocal(4801, newMc).multiply(BigDecimal.valueOf(2), newMc), newMc)
+					.add(atanhOfReciprocal(8749, newMc).multiply(BigDecimal.valueOf(8), newMc), newMc).round(mc);
+		}
+	},
+
+	LN10 {
+		@Override
+		BigDecimal calculate(MathContext mc) {
+			MathContext newMc = new MathContext(mc.getPrecision() + 3);
+
+			// ln 10 = 3 * ln 2 + ln 1.25 = 3 * ln 2 + 2 * atanh(1 / 9)
+			return LN2.widest(newMc.getPrecision()).multiply(BigDecimal.valueOf(3), newMc)
+					.add(atanhOfReciprocal(9, newMc).multiply(BigDecimal.valueOf(2), newMc), newMc).round(mc);
+		}
+	},
+
+	SQRT2 {
+		@Override
+		BigDecimal calculate(MathContext mc) {
+			return NumericalMethodsFunctions.sqrtNewtonRaphson(BigDecimal.valueOf(2), mc);
+		}
+	},
+
+	SQRT3 {
+		@Override
+		BigDecimal calculate(MathContext mc) {
+			return NumericalMethodsFunctions.sqrtNewtonRaphson(BigDecimal.valueOf(3), mc);
+		}
+	},
+
+	PI {
+		@Override
+		BigDecimal calculate(MathContext mc) {
+			return Pi.chudnovsky(mc);
+		}
+	},
+
+	TWO_PI {
+		@Override
+		BigDecimal calculate(MathContext mc) {
+			// Doubling is exact.
+			return PI.widest(mc.getPrecision()).multiply(BigDecimal.valueOf(2)).round(mc);
+		}
+	},
+
+	HALF_PI {
+		@Override
+		BigDecimal calculate(MathContext mc) {
+			// Halving is exact.
+			return PI.widest(mc.getPrecision()).multiply(new BigDecimal("0.5")).round(mc);
+		}
+	},
+
+	QUARTER_PI {
+		@Override
+		BigDecimal calculate(MathContext mc) {
+			return PI.widest(mc.getPrecision()).multiply(new BigDecimal("0.25")).round(mc);
+		}
+	};
+
+	// Extra digits kept on top of the requested precision so that rounding
+	// the cached value never rounds twice in the same digit.
+	private static final int GUARD_DIGITS = 10;
+
+	// Constants are calculated to a multiple of this many digits.
+	private static final int BAND_DIGITS = 64;
+
+	// Bound on the number of rounded values kept for every constant.
+	private static final int MAXIMUM_CONTEXTS = 64;
+
+	private final ConcurrentHashMap<MathContext, BigDecimal> rounded = new ConcurrentHashMap<MathContext, BigDecimal>();
+
+	private volatile Widest widest;
+
+	/**
+	 * Calculates the constant. The result is rounded according to the passed
+	 * context <code>mc</code>.
+	 *
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return the constant
+	 */
+	abstract BigDecimal calculate(MathContext mc);
+
+	/**
+	 * Returns the constant rounded according to the passed context
+	 * <code>mc</code>.
+	 *
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return the constant
+	 */
+	BigDecimal get(MathContext mc) {
+		BigDecimal value = rounded.get(mc);
+		if (value == null) {
+			value = widest(mc.getPrecision() + GUARD_DIGITS).round(mc);
+
+			// Clearing is cheaper than tracking the usage and the contexts are
+			// few in practice.
+			if (rounded.size() >= MAXIMUM_CONTEXTS) {
+				rounded.clear();
+			}
+			rounded.put(mc, value);
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the widest value calculated so far, calculating a wider one if
+	 * it has fewer than <code>digits</code> digits.
+	 *
+	 * @param digits
+	 *            the least number of correct digits needed.
+	 * @return the constant to at least <code>digits</code> digits
+	 */
+	BigDecimal widest(int digits) {
+		Widest current = widest;
+		if (current != null && current.digits >= digits) {
+			return current.value;
+		}
+		return widen(digits);
+	}
+
+	private synchronized BigDecimal widen(int digits) {
+
+		// Another thread might have widened the value while this one was
+		// waiting.
+		Widest current = widest;
+		if (current != null && current.digits >= digits) {
+			return current.value;
+		}
+
+		// Round up to a whole band, and grow at least geometrically so that
+		// slowly increasing precisions do not recalculate the constant every
+		// time.
+		digits = (digits + BAND_DIGITS - 1) / BAND_DIGITS * BAND_DIGITS;
+		if (current != null) {
+			digits = Math.max(digits, current.digits * 2);
+		}
+
+		current = new Widest(digits, calculate(new MathContext(digits)));
+		widest = current;
+		return current.value;
+	}
+
+	private static BigDecimal atanhOfReciprocal(long n, MathContext mc) {
+		return NumericalMethodsFunctions.atanhTaylorSeries(BigDecimal.ONE.divide(BigDecimal.valueOf(n), mc), mc);
+	}
+
+	/**
+	 * The widest value of a constant together with its number of correct
+	 * digits.
+	 */
+	private static final class Widest {
+		final int digits;
+		final BigDecimal value;
+
+		Widest(int digits, BigDecimal value) {
+			this.digits = digits;
+			this.value = value;
+		}
+	}
+}
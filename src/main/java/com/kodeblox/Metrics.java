@@ -0,0 +1,304 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.lang.management.ManagementFactory;
+import java.math.MathContext;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Optional counters of the work done by {@link BigDecimalFunctions} and
+ * {@link NumericalMethodsFunctions}: the calls, precisions and latencies of
+ * the functions, and the terms or iterations of the kernels under them.
+ * <p>
+ * The counters are off unless the JVM is started with
+ * <code>-Dcom.kodeblox.metrics=true</code>. The switch is read once into a
+ * constant, so when it is off the JIT compiles the recording away. When it
+ * is on the counters are published as the MXBean
+ * <code>com.kodeblox:type=Metrics</code>, and are also available from
+ * {@link #get()}. They are <code>LongAdder</code>s, so threads calling the
+ * functions at once do not contend on them.
+ * <p>
+ * Only the outermost call of a function on a thread is counted. The calls
+ * the functions and kernels make of one another, like the <code>pow</code>
+ * in a Newton-Raphson step of <code>root</code>, are part of its latency
+ * instead. The kernels count all their calls.
+ */
+public final class Metrics implements MetricsMXBean {
+
+	/**
+	 * The name under which the metrics are registered with the platform
+	 * MBean server.
+	 */
+	public static final String OBJECT_NAME = "com.kodeblox:type=Metrics";
+
+	// Read once, so that the JIT can fold the checks below.
+	static final boolean ENABLED = Boolean.getBoolean("com.kodeblox.metrics");
+
+	// Latencies are counted in buckets of powers of two nanoseconds, the last
+	// one being about 18 minutes.
+	private static final int LATENCY_BUCKETS = 41;
+
+	private static final LongBinaryOperator MAXIMUM = new LongBinaryOperator() {
+		@Override
+		public long applyAsLong(long left, long right) {
+			return Math.max(left, right);
+		}
+	};
+
+	// How deep in calls of functions every thread is, so that only the
+	// outermost is counted.
+	private static final ThreadLocal<int[]> DEPTH = new ThreadLocal<int[]>() {
+		@Override
+		protected int[] initialValue() {
+			return new int[1];
+		}
+	};
+
+	private static final Metrics INSTANCE = new Metrics();
+
+	static {
+		if (ENABLED) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+			} catch (JMException e) {
+
+				// Another copy of the library registered first. This one's
+				// metrics are still available from get().
+			}
+		}
+	}
+
+	private Metrics() {
+	}
+
+	/**
+	 * Returns the metrics of this copy of the library.
+	 *
+	 * @return the metrics
+	 */
+	public static Metrics get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Counts a call of a function, unless it is made by another one. Called
+	 * when the function starts, and followed by
+	 * {@link #stop(Function, long)} when it ends.
+	 *
+	 * @return the start time of the call
+	 */
+	static long start(Function function, MathContext mc) {
+		if (!ENABLED) {
+			return 0;
+		}
+		if (DEPTH.get()[0]++ > 0) {
+			return 0;
+		}
+		function.calls.increment();
+		function.precision.add(mc.getPrecision());
+		function.maximumPrecision.accumulate(mc.getPrecision());
+		return System.nanoTime();
+	}
+
+	/**
+	 * Counts the latency of a call of a function started with
+	 * {@link #start(Function, MathContext)}.
+	 */
+	static void stop(Function function, long start) {
+		if (!ENABLED) {
+			return;
+		}
+		if (--DEPTH.get()[0] > 0) {
+			return;
+		}
+		long latency = System.nanoTime() - start;
+		int bucket = 63 - Long.numberOfLeadingZeros(Math.max(latency, 1));
+		function.latency[Math.min(bucket, LATENCY_BUCKETS - 1)].increment();
+	}
+
+	/**
+	 * Counts a call of a kernel that took <code>steps</code> terms or
+	 * iterations.
+	 */
+	static void steps(Kernel kernel, long steps, MathContext mc) {
+		if (!ENABLED) {
+			return;
+		}
+		kernel.calls.increment();
+		kernel.steps.add(steps);
+		kernel.maximumSteps.accumulate(steps);
+		kernel.precision.add(mc.getPrecision());
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return ENABLED;
+	}
+
+	@Override
+	public Map<String, Long> getCalls() {
+		Map<String, Long> calls = new LinkedHashMap<String, Long>();
+		for (Function function : Function.values()) {
+			calls.put(function.name, function.calls.sum());
+		}
+		return calls;
+	}
+
+	@Override
+	public Map<String, Double> getMeanPrecisions() {
+		Map<String, Double> precisions = new LinkedHashMap<String, Double>();
+		for (Function function : Function.values()) {
+			precisions.put(function.name, mean(function.precision, function.calls));
+		}
+		return precisions;
+	}
+
+	@Override
+	public Map<String, Long> getMaximumPrecisions() {
+		Map<String, Long> precisions = new LinkedHashMap<String, Long>();
+		for (Function function : Function.values()) {
+			precisions.put(function.name, function.maximumPrecision.get());
+		}
+		return precisions;
+	}
+
+	@Override
+	public Map<String, long[]> getLatencyHistograms() {
+		Map<String, long[]> histograms = new LinkedHashMap<String, long[]>();
+		for (Function function : Function.values()) {
+			long[] histogram = new long[LATENCY_BUCKETS];
+			for (int i = 0; i < LATENCY_BUCKETS; i++) {
+				histogram[i] = function.latency[i].sum();
+			}
+			histograms.put(function.name, histogram);
+		}
+		return histograms;
+	}
+
+	@Override
+	public Map<String, Long> getKernelCalls() {
+		Map<String, Long> calls = new LinkedHashMap<String, Long>();
+		for (Kernel kernel : Kernel.values()) {
+			calls.put(kernel.name, kernel.calls.sum());
+		}
+		return calls;
+	}
+
+	@Override
+	public Map<String, Long> getKernelSteps() {
+		Map<String, Long> steps = new LinkedHashMap<String, Long>();
+		for (Kernel kernel : Kernel.values()) {
+			steps.put(kernel.name, kernel.steps.sum());
+		}
+		return steps;
+	}
+
+	@Override
+	public Map<String, Long> getMaximumKernelSteps() {
+		Map<String, Long> steps = new LinkedHashMap<String, Long>();
+		for (Kernel kernel : Kernel.values()) {
+			steps.put(kernel.name, kernel.maximumSteps.get());
+		}
+		return steps;
+	}
+
+	@Override
+	public Map<String, Double> getMeanKernelPrecisions() {
+		Map<String, Double> precisions = new LinkedHashMap<String, Double>();
+		for (Kernel kernel : Kernel.values()) {
+			precisions.put(kernel.name, mean(kernel.precision, kernel.calls));
+		}
+		return precisions;
+	}
+
+	@Override
+	public void reset() {
+		for (Function function : Function.values()) {
+			function.calls.reset();
+			function.precision.reset();
+			function.maximumPrecision.reset();
+			for (LongAdder bucket : function.latency) {
+				bucket.reset();
+			}
+		}
+		for (Kernel kernel : Kernel.values()) {
+			kernel.calls.reset();
+			kernel.steps.reset();
+			kernel.maximumSteps.reset();
+			kernel.precision.reset();
+		}
+	}
+
+	private static double mean(LongAdder total, LongAdder count) {
+		long calls = count.sum();
+		return calls == 0 ? 0 : (double) total.sum() / calls;
+	}
+
+	/**
+	 * The functions of {@link BigDecimalFunctions} that are counted.
+	 */
+	enum Function {
+		EXP("exp"), LN("ln"), POW("pow"), SQRT("sqrt"), ROOT("root"), SIN("sin"), COS("cos"), SINCOS("sincos"),
+		TAN("tan"), FACTORIAL("factorial"), GAMMA("gamma"), LN_GAMMA("lnGamma"), ARCSIN("arcsin"),
+		ARCCOS("arccos"), ARCTAN("arctan"), SINH("sinh"), COSH("cosh"), SINHCOSH("sinhcosh"), TANH("tanh"),
+		ASINH("asinh"), ACOSH("acosh"), ATANH("atanh"), PI("pi");
+
+		final String name;
+		final LongAdder calls = new LongAdder();
+		final LongAdder precision = new LongAdder();
+		final LongAccumulator maximumPrecision = new LongAccumulator(MAXIMUM, 0);
+		final LongAdder[] latency = new LongAdder[LATENCY_BUCKETS];
+
+		Function(String name) {
+			this.name = name;
+			for (int i = 0; i < LATENCY_BUCKETS; i++) {
+				latency[i] = new LongAdder();
+			}
+		}
+	}
+
+	/**
+	 * The series and iterations of {@link NumericalMethodsFunctions} that are
+	 * counted, and those summed for other functions by {@link TruncatedSeries}
+	 * and {@link ContinuedFraction}.
+	 */
+	enum Kernel {
+		EXP_TAYLOR_SERIES("expTaylorSeries"), SIN_TAYLOR_SERIES("sinTaylorSeries"),
+		COS_TAYLOR_SERIES("cosTaylorSeries"), SIN_COS_TAYLOR_SERIES("sinCosTaylorSeries"),
+		ARCTAN_TAYLOR_SERIES("arctanTaylorSeries"), ATANH_TAYLOR_SERIES("atanhTaylorSeries"),
+		SINH_TAYLOR_SERIES("sinhTaylorSeries"), SINH_COSH_TAYLOR_SERIES("sinhCoshTaylorSeries"),
+		BINARY_SPLITTING("binarySplitting"), LN_NEWTON_RAPHSON("lnNewtonRaphson"),
+		ROOT_NEWTON_RAPHSON("rootNewtonRaphson"), SQRT_NEWTON_RAPHSON("sqrtNewtonRaphson"), SERIES("series"),
+		CONTINUED_FRACTION("continuedFraction");
+
+		final String name;
+		final LongAdder calls = new LongAdder();
+		final LongAdder steps = new LongAdder();
+		final LongAccumulator maximumSteps = new LongAccumulator(MAXIMUM, 0);
+		final LongAdder precision = new LongAdder();
+
+		Kernel(String name) {
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link Metrics}. Functions are named after the
+ * methods of {@link BigDecimalFunctions}, like <code>exp</code>, and kernels
+ * after the series or iterations of {@link NumericalMethodsFunctions}, like
+ * <code>expTaylorSeries</code>.
+ */
+public interface MetricsMXBean {
+
+	/**
+	 * Returns whether the metrics are being recorded. If not, every count is
+	 * zero.
+	 *
+	 * @return <code>true</code> if the metrics are recorded
+	 */
+	boolean isEnabled();
+
+	/**
+	 * Returns the number of calls of every function, leaving out the calls
+	 * the functions make of one another.
+	 *
+	 * @return the calls by function
+	 */
+	Map<String, Long> getCalls();
+
+	/**
+	 * Returns the mean precision asked of every function.
+	 *
+	 * @return the mean precisions by function
+	 */
+	Map<String, Double> getMeanPrecisions();
+
+	/**
+	 * Returns the highest precision asked of every function.
+	 *
+	 * @return the highest precisions by function
+	 */
+	Map<String, Long> getMaximumPrecisions();
+
+	/**
+	 * Returns the latencies of every function as a histogram. Element
+	 * <code>i</code> counts the calls that took from
+	 * <code>2<sup>i</sup></code> up to <code>2<sup>i + 1</sup></code>
+	 * nanoseconds, and the last element all the longer ones.
+	 *
+	 * @return the latency histograms by function
+	 */
+	Map<String, long[]> getLatencyHistograms();
+
+	/**
+	 * Returns the number of calls of every kernel.
+	 *
+	 * @return the calls by kernel
+	 */
+	Map<String, Long> getKernelCalls();
+
+	/**
+	 * Returns the total number of steps of every kernel, that is the terms
+	 * summed by a series or the iterations of a Newton-Raphson method.
+	 *
+	 * @return the steps by kernel
+	 */
+	Map<String, Long> getKernelSteps();
+
+	/**
+	 * Returns the most steps any single call of every kernel took.
+	 *
+	 * @return the most steps by kernel
+	 */
+	Map<String, Long> getMaximumKernelSteps();
+
+	/**
+	 * Returns the mean working precision of every kernel.
+	 *
+	 * @return the mean working precisions by kernel
+	 */
+	Map<String, Double> getMeanKernelPrecisions();
+
+	/**
+	 * Sets every count back to zero.
+	 */
+	void reset();
+}
@@ -15,10 +15,157 @@ limitations under the License.*/
 package com.kodeblox;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.MathContext;
+import java.math.RoundingMode;
 
 public class NumericalMethodsFunctions {
 
+	// Number of digits to which an estimate found with doubles is trusted.
+	private static final int SEED_DIGITS = 14;
+
+	// Number of digits in the first chunk of an argument summed by binary
+	// splitting. Every following chunk has twice as many.
+	static final int CHUNK_DIGITS = 16;
+
+	// From this precision the sine and the cosine series halve their angle
+	// until it is about 2 ^ -(HALVING_FACTOR * sqrt(bits)). Both were
+	// measured with SeriesBenchmark.
+	private static final int HALVING_PRECISION = 64;
+	private static final double HALVING_FACTOR = 0.3;
+
+	// The same for the arctangent series, whose halvings take a square root.
+	private static final int ARCTAN_HALVING_PRECISION = 1024;
+	private static final double ARCTAN_HALVING_FACTOR = 0.2;
+
+	// x ^ n / n!
+	private static final TruncatedSeries EXP_SERIES = new TruncatedSeries() {
+		@Override
+		protected long p(int n) {
+			return 1;
+		}
+
+		@Override
+		protected long q(int n) {
+			return n;
+		}
+	};
+
+	// sin (x) / x = sum of (-1) ^ n * (x ^ 2) ^ n / (2 * n + 1)!
+	private static final TruncatedSeries SIN_SERIES = new TruncatedSeries() {
+		@Override
+		protected long p(int n) {
+			return -1;
+		}
+
+		@Override
+		protected long q(int n) {
+			return 2L * n * (2 * n + 1);
+		}
+	};
+
+	// cos (x) = sum of (-1) ^ n * (x ^ 2) ^ n / (2 * n)!
+	private static final TruncatedSeries COS_SERIES = new TruncatedSeries() {
+		@Override
+		protected long p(int n) {
+			return -1;
+		}
+
+		@Override
+		protected long q(int n) {
+			return 2L * n * (2 * n - 1);
+		}
+	};
+
+	// 2 * (1 - cos (x)) / x ^ 2 = sum of (-1) ^ n * 2 * (x ^ 2) ^ n / (2 * n + 2)!
+	private static final TruncatedSeries VERSINE_SERIES = new TruncatedSeries() {
+		@Override
+		protected long p(int n) {
+			return -1;
+		}
+
+		@Override
+		protected long q(int n) {
+			return (2L * n + 1) * (2 * n + 2);
+		}
+	};
+
+	// arctan (x) / x = sum of (-1) ^ n * (x ^ 2) ^ n / (2 * n + 1)
+	private static final TruncatedSeries ARCTAN_SERIES = new TruncatedSeries() {
+		@Override
+		protected long p(int n) {
+			return 1 - 2 * n;
+		}
+
+		@Override
+		protected long q(int n) {
+			return 2 * n + 1;
+		}
+
+		// Split as (-y) ^ n / (2 * n + 1), which keeps the odd numbers out of
+		// the products.
+		@Override
+		BinarySplitting splitting(BigInteger numerator, final BigInteger denominator,
+				final BigInteger factorNumerator, final BigInteger factorDenominator) {
+			final BigInteger negated = numerator.negate();
+			return new BinarySplitting() {
+				@Override
+				BigInteger p(long n) {
+					return n == 0 ? factorNumerator : negated;
+				}
+
+				@Override
+				BigInteger q(long n) {
+					return n == 0 ? factorDenominator : denominator;
+				}
+
+				@Override
+				BigInteger b(long n) {
+					return BigInteger.valueOf(2 * n + 1);
+				}
+			};
+		}
+	};
+
+	// atanh (x) / x = sum of (x ^ 2) ^ n / (2 * n + 1)
+	private static final TruncatedSeries ATANH_SERIES = new TruncatedSeries() {
+		@Override
+		protected long p(int n) {
+			return 2 * n - 1;
+		}
+
+		@Override
+		protected long q(int n) {
+			return 2 * n + 1;
+		}
+	};
+
+	// sinh (x) / x = sum of (x ^ 2) ^ n / (2 * n + 1)!
+	private static final TruncatedSeries SINH_SERIES = new TruncatedSeries() {
+		@Override
+		protected long p(int n) {
+			return 1;
+		}
+
+		@Override
+		protected long q(int n) {
+			return 2L * n * (2 * n + 1);
+		}
+	};
+
+	// cosh (x) = sum of (x ^ 2) ^ n / (2 * n)!
+	private static final TruncatedSeries COSH_SERIES = new TruncatedSeries() {
+		@Override
+		protected long p(int n) {
+			return 1;
+		}
+
+		@Override
+		protected long q(int n) {
+			return 2L * n * (2 * n - 1);
+		}
+	};
+
 	/**
 	 * Calculates <code>e<sup>exponent</sup></code> using Taylor series
 	 * expansion. The result is rounded according to the passed context
@@ -32,25 +179,23 @@ public class NumericalMethodsFunctions {
 	 * @return <code>e<sup>exponent</sup></code>
 	 */
 	protected static BigDecimal expTaylorSeries(BigDecimal exponent, MathContext mc) {
-		BigDecimal lastSum;
-		BigDecimal currentSum = BigDecimal.ZERO;
-		BigDecimal numerator = BigDecimal.ONE;
-		BigDecimal denominator = BigDecimal.ONE;
-		BigDecimal term;
-
-		int i = 0;
-		do {
-			i++;
-			lastSum = currentSum;
+		return expTaylorSeriesBall(exponent, mc).getMidpoint();
+	}
 
-			// term = x ^ n / n!
-			term = numerator.divide(denominator, mc);
-			currentSum = currentSum.add(term, mc);
-			numerator = numerator.multiply(exponent, mc);
-			denominator = denominator.multiply(BigDecimal.valueOf(i), mc);
-		} while (lastSum.compareTo(currentSum) != 0);
+	/**
+	 * Calculates <code>e<sup>exponent</sup></code> like
+	 * {@link #expTaylorSeries(BigDecimal, MathContext)}, in a ball that holds
+	 * the exact result.
+	 */
+	static Ball expTaylorSeriesBall(BigDecimal exponent, MathContext mc) {
+		int bits = FixedPoint.bits(mc) + (exponent.signum() < 0 ? 2 * FixedPoint.cancellation(exponent) : 0);
+		BigInteger x = FixedPoint.valueOf(exponent, bits);
+		int terms = EXP_SERIES.terms(x, bits);
+		BigInteger[] powers = TruncatedSeries.powers(x, TruncatedSeries.blockSize(terms, bits), bits);
+		BigInteger sum = EXP_SERIES.sum(powers, terms, bits);
 
-		return currentSum;
+		Metrics.steps(Metrics.Kernel.EXP_TAYLOR_SERIES, terms, mc);
+		return FixedPoint.toBall(sum, TruncatedSeries.error(terms), BigDecimal.ONE, bits, mc);
 	}
 
 	/**
@@ -65,37 +210,42 @@ public class NumericalMethodsFunctions {
 	 * @return <code>log<sub>e</sub> value</code>
 	 */
 	protected static BigDecimal lnNewtonRaphson(BigDecimal value, MathContext mc) {
+		if (value.signum() <= 0) {
+			throw new ArithmeticException("Logarithm of a non-positive value");
+		}
 
 		// Newton Raphson equation for logarithm is:
 
 		// y = y - (e ^ y - value) / e ^ y
-		BigDecimal denominator;
-		BigDecimal numerator;
-		BigDecimal exp;
-		BigDecimal lastTerm;
-		BigDecimal y = value;
-		BigDecimal reductionTerm;
 
-		do {
-			lastTerm = y;
-			// exp = e ^ y
-			exp = BigDecimalFunctions.exp(y, mc);
+		// which can be written as,
+
+		// y = y - 1 + value / e ^ y
 
-			// numerator = exp - value
+		// The first y is found with doubles. Splitting off the decimal
+		// exponent keeps values out of the range of a double in range.
 
-			// which can be written as,
+		// log value = log mantissa + exponent * log 10
+		int exponent = decimalExponent(value);
+		BigDecimal y = BigDecimal.valueOf(
+				Math.log(value.movePointLeft(exponent).doubleValue()) + exponent * Math.log(10));
 
-			// numerator = e ^ y - value
-			numerator = exp.subtract(value, mc);
-			denominator = exp;
+		MathContext[] precisions = newtonPrecisions(mc);
+		for (MathContext stepMc : precisions) {
+			Cancellation.check();
 
-			// reductionTerm = (e ^ y - value) / e ^ y
-			reductionTerm = numerator.divide(denominator, mc);
+			// The reduction term is found with a few more digits than y.
+			// Otherwise its own rounding error can make y jump between two
+			// neighbours in the last digit.
+			MathContext newMc = new MathContext(stepMc.getPrecision() + 3);
+			BigDecimal reductionTerm = BigDecimal.ONE.subtract(value.divide(BigDecimalFunctions.exp(y, newMc), newMc),
+					newMc);
 
 			// y = y - (e ^ y - value) / e ^ y
-			y = y.subtract(reductionTerm, mc);
-		} while (y.compareTo(lastTerm) != 0);
+			y = y.subtract(reductionTerm, stepMc);
+		}
 
+		Metrics.steps(Metrics.Kernel.LN_NEWTON_RAPHSON, precisions.length, mc);
 		return y;
 	}
 
@@ -113,25 +263,57 @@ public class NumericalMethodsFunctions {
 	 * @return <code>base<sup>(1/exponent)</sup></code>
 	 */
 	protected static BigDecimal rootNewtonRaphson(BigDecimal base, long exponent, MathContext mc) {
+		if (base.signum() == 0) {
+			return BigDecimal.ZERO;
+		}
+
+		// Odd roots of negative numbers are the negated roots of their
+		// absolute values.
+		if (base.signum() < 0) {
+			if ((exponent & 1) == 0) {
+				throw new ArithmeticException("Even root of a negative value");
+			}
+			return rootNewtonRaphson(base.negate(), exponent, mc).negate();
+		}
 
 		// This follows the Newton-Raphson method
 		// Here Newton Raphson equation for root is:
 
 		// y = (y * (exponent - 1) + base / y ^ (exponent - 1)) / exponent
-		BigDecimal y = base;
+
+		// The first y is found with doubles from the common logarithm. The
+		// decimal exponent of base is split as
+
+		// baseExponent = quotient * exponent + remainder
+
+		// so that only the small remainder goes through the double
+		// arithmetic.
+
+		// log y = quotient + (log mantissa + remainder) / exponent
+		int baseExponent = decimalExponent(base);
+		long quotient = Math.floorDiv(baseExponent, exponent);
+		long remainder = baseExponent - quotient * exponent;
+		double logarithm = (Math.log10(base.movePointLeft(baseExponent).doubleValue()) + remainder) / exponent;
+		double whole = Math.floor(logarithm);
+		BigDecimal y = BigDecimal.valueOf(Math.pow(10, logarithm - whole))
+				.scaleByPowerOfTen((int) (quotient + (long) whole));
+
 		BigDecimal power = BigDecimal.valueOf(exponent);
-		BigDecimal lastTerm;
-		BigDecimal powerMinusOne = power.subtract(BigDecimal.ONE, mc);
-		do {
-			lastTerm = y;
+		long exponentMinusOne = exponent - 1;
+		MathContext[] precisions = newtonPrecisions(mc);
+		for (MathContext stepMc : precisions) {
+			Cancellation.check();
+			MathContext newMc = new MathContext(stepMc.getPrecision() + 3);
 
 			// y = y * (exponent - 1) + base / y ^ (exponent - 1)
-			y = y.multiply(powerMinusOne, mc)
-					.add(base.divide(BigDecimalFunctions.pow(y, powerMinusOne.longValue(), mc), mc));
+			y = y.multiply(BigDecimal.valueOf(exponentMinusOne), newMc)
+					.add(base.divide(BigDecimalFunctions.pow(y, exponentMinusOne, newMc), newMc));
 
 			// y = (y * (exponent - 1) + base / y ^ (exponent - 1)) / exponent
-			y = y.divide(power, mc);
-		} while (y.compareTo(lastTerm) != 0);
+			y = y.divide(power, stepMc);
+		}
+
+		Metrics.steps(Metrics.Kernel.ROOT_NEWTON_RAPHSON, precisions.length, mc);
 		return y;
 	}
 
@@ -147,31 +329,41 @@ public class NumericalMethodsFunctions {
 	 * @return <code>sin (angle)</code>
 	 */
 	protected static BigDecimal sinTaylorSeries(BigDecimal angle, MathContext mc) {
-		BigDecimal lastSum;
-		BigDecimal currentSum = BigDecimal.ZERO;
-		BigDecimal numerator = angle;
-		BigDecimal denominator = BigDecimal.ONE;
-		BigDecimal term;
-		int i = 1;
-		do {
-			i = i + 2;
-			lastSum = currentSum;
+		return sinTaylorSeriesBall(angle, mc).getMidpoint();
+	}
+
+	/**
+	 * Calculates the <code>sine</code> of an angle like
+	 * {@link #sinTaylorSeries(BigDecimal, MathContext)}, in a ball that holds
+	 * the exact result.
+	 */
+	static Ball sinTaylorSeriesBall(BigDecimal angle, MathContext mc) {
+		int halvings = halvings(angle, mc, HALVING_PRECISION, HALVING_FACTOR);
+		if (halvings > 0) {
+			return sinCosByHalving(angle, halvings, mc)[0];
+		}
 
-			// term = x ^ (2 * n + 1) / (2 * n + 1)!
-			term = numerator.divide(denominator, mc);
-			currentSum = currentSum.add(term, mc);
+		int bits = FixedPoint.bits(mc) + FixedPoint.cancellation(angle);
+		BigInteger square = FixedPoint.valueOf(angle.multiply(angle), bits);
 
-			// Negating as every alternative term is negative
-			numerator = numerator.multiply(angle, mc).multiply(angle, mc).negate();
-			denominator = denominator.multiply(BigDecimal.valueOf(i), mc).multiply(BigDecimal.valueOf(i - 1), mc);
-		} while (lastSum.compareTo(currentSum) != 0);
+		// The angle is factored out, so that small angles keep their digits.
+		int terms = SIN_SERIES.terms(square, bits);
+		BigInteger[] powers = TruncatedSeries.powers(square, TruncatedSeries.blockSize(terms, bits), bits);
+		BigInteger sum = SIN_SERIES.sum(powers, terms, bits);
 
-		return currentSum;
+		Metrics.steps(Metrics.Kernel.SIN_TAYLOR_SERIES, terms, mc);
+		return FixedPoint.toBall(sum, TruncatedSeries.error(terms), angle, bits, mc);
 	}
 
 	/**
 	 * Calculates the square root of <code>value</code> using Newton-Raphson.
 	 * The result is rounded according to the passed context <code>mc</code>.
+	 * <p>
+	 * The value is scaled to a whole number with twice as many digits as the
+	 * result needs, whose square root is found on whole numbers by
+	 * {@link FixedPoint#sqrt(BigInteger)}. Since that root is exact or known
+	 * to lie strictly between two whole numbers, the result is rounded
+	 * correctly in every rounding mode.
 	 *
 	 * @param value
 	 *            the number to be rooted.
@@ -180,20 +372,80 @@ public class NumericalMethodsFunctions {
 	 * @return <code>value<sup>(1/2)</sup></code>
 	 */
 	protected static BigDecimal sqrtNewtonRaphson(BigDecimal value, MathContext mc) {
+		if (value.signum() == 0) {
+			return BigDecimal.ZERO;
+		}
+		if (value.signum() < 0) {
+			throw new ArithmeticException("Square root of a negative value");
+		}
 
-		// This follows the Newton-Raphson method
-		// Here Newton Raphson equation for root is:
+		// sqrt (unscaled / 10 ^ scale) = sqrt (unscaled * 10 ^ (2 * k - scale)) / 10 ^ k
 
-		// y = (y + value / y) / 2
-		BigDecimal y = value;
-		BigDecimal lastTerm;
-		do {
-			lastTerm = y;
+		// where k makes the exponent non negative and leaves at least
+		// 2 * (precision + 2) digits under the root.
+		int digits = mc.getPrecision() + 2;
+		int twiceK = Math.max(value.scale(), 2 * digits - value.precision() + value.scale());
+		int k = (int) Math.ceil(twiceK / 2.0);
+		BigInteger scaled = value.unscaledValue().multiply(BigInteger.TEN.pow(2 * k - value.scale()));
+		BigInteger root = FixedPoint.sqrt(scaled);
 
-			// y = (y + value / y) / 2
-			y = y.add(value.divide(y, mc), mc).divide(BigDecimal.valueOf(2), mc);
-		} while (y.compareTo(lastTerm) != 0);
-		return y;
+		if (Metrics.ENABLED) {
+			int steps = 0;
+			for (int bits = scaled.bitLength(); bits > 52; bits = bits / 2 + 8) {
+				steps++;
+			}
+			Metrics.steps(Metrics.Kernel.SQRT_NEWTON_RAPHSON, steps, mc);
+		}
+		if (root.multiply(root).equals(scaled)) {
+
+			// An exact root keeps the preferred scale of half the scale of
+			// the value, where it can.
+			BigDecimal exact = new BigDecimal(root, k).stripTrailingZeros();
+			int preferred = value.scale() / 2;
+			return exact.scale() < preferred ? exact.setScale(preferred).round(mc) : exact.round(mc);
+		}
+
+		// Any digit after the last one of the root that is not zero rounds the
+		// same as the rest of the true root.
+		return new BigDecimal(root.multiply(BigInteger.TEN).add(BigInteger.valueOf(5)), k + 1).round(mc);
+	}
+
+	/**
+	 * Returns the precisions of the Newton-Raphson steps that refine an
+	 * estimate found with doubles to the precision of <code>mc</code>, the
+	 * lowest first. Each step doubles the number of correct digits, so each
+	 * runs at about twice the precision of the one before and all of them
+	 * together cost about as much as the last one.
+	 *
+	 * @param mc
+	 *            rounding mode and precision of the last step.
+	 * @return the contexts of the steps
+	 */
+	private static MathContext[] newtonPrecisions(MathContext mc) {
+		int steps = 1;
+		for (int precision = mc.getPrecision(); precision > 2 * SEED_DIGITS; precision = precision / 2 + 2) {
+			steps++;
+		}
+
+		MathContext[] precisions = new MathContext[steps];
+		precisions[steps - 1] = mc;
+		for (int i = steps - 2; i >= 0; i--) {
+			precisions[i] = new MathContext(precisions[i + 1].getPrecision() / 2 + 2);
+		}
+		return precisions;
+	}
+
+	/**
+	 * Returns the exponent of <code>value</code> in scientific notation, that
+	 * is the power of ten by which the mantissa between <code>1</code> and
+	 * <code>10</code> is multiplied.
+	 *
+	 * @param value
+	 *            a non zero number.
+	 * @return the decimal exponent of <code>value</code>
+	 */
+	static int decimalExponent(BigDecimal value) {
+		return value.precision() - value.scale() - 1;
 	}
 
 	/**
@@ -208,26 +460,28 @@ public class NumericalMethodsFunctions {
 	 * @return <code>cos (angle)</code>
 	 */
 	public static BigDecimal cosTaylorSeries(BigDecimal angle, MathContext mc) {
-		BigDecimal lastSum;
-		BigDecimal currentSum = BigDecimal.ZERO;
-		BigDecimal numerator = BigDecimal.ONE;
-		BigDecimal denominator = BigDecimal.ONE;
-		BigDecimal term;
-		int i = 0;
-		do {
-			i = i + 2;
-			lastSum = currentSum;
+		return cosTaylorSeriesBall(angle, mc).getMidpoint();
+	}
 
-			// term = x ^ (2 * n + 1) / (2 * n + 1)!
-			term = numerator.divide(denominator, mc);
-			currentSum = currentSum.add(term, mc);
+	/**
+	 * Calculates the <code>cosine</code> of an angle like
+	 * {@link #cosTaylorSeries(BigDecimal, MathContext)}, in a ball that holds
+	 * the exact result.
+	 */
+	static Ball cosTaylorSeriesBall(BigDecimal angle, MathContext mc) {
+		int halvings = halvings(angle, mc, HALVING_PRECISION, HALVING_FACTOR);
+		if (halvings > 0) {
+			return sinCosByHalving(angle, halvings, mc)[1];
+		}
 
-			// Negating as every alternative term is negative
-			numerator = numerator.multiply(angle, mc).multiply(angle, mc).negate();
-			denominator = denominator.multiply(BigDecimal.valueOf(i), mc).multiply(BigDecimal.valueOf(i - 1), mc);
-		} while (lastSum.compareTo(currentSum) != 0);
+		int bits = FixedPoint.bits(mc) + FixedPoint.cancellation(angle);
+		BigInteger square = FixedPoint.valueOf(angle.multiply(angle), bits);
+		int terms = COS_SERIES.terms(square, bits);
+		BigInteger[] powers = TruncatedSeries.powers(square, TruncatedSeries.blockSize(terms, bits), bits);
+		BigInteger sum = COS_SERIES.sum(powers, terms, bits);
 
-		return currentSum;
+		Metrics.steps(Metrics.Kernel.COS_TAYLOR_SERIES, terms, mc);
+		return FixedPoint.toBall(sum, TruncatedSeries.error(terms), BigDecimal.ONE, bits, mc);
 	}
 
 	/**
@@ -242,7 +496,130 @@ public class NumericalMethodsFunctions {
 	 * @return <code>tan (angle)</code>
 	 */
 	public static BigDecimal tanCompute(BigDecimal angle, MathContext mc) {
-		return sinTaylorSeries(angle, mc).divide(cosTaylorSeries(angle, mc), mc);
+		BigDecimal[] sinCos = sinCosTaylorSeries(angle, mc);
+		return sinCos[0].divide(sinCos[1], mc);
+	}
+
+	/**
+	 * Calculates both the <code>sine</code> and the <code>cosine</code> of an
+	 * angle in <code>radians</code> using Taylor series expansion. Both series
+	 * are in the powers of the square of the angle, so they share them. The
+	 * results are rounded according to the passed context <code>mc</code>.
+	 * 
+	 * @param angle
+	 *            the angle in radians.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>{ sin (angle), cos (angle) }</code>
+	 */
+	protected static BigDecimal[] sinCosTaylorSeries(BigDecimal angle, MathContext mc) {
+		Ball[] sinCos = sinCosTaylorSeriesBall(angle, mc);
+		return new BigDecimal[] { sinCos[0].getMidpoint(), sinCos[1].getMidpoint() };
+	}
+
+	/**
+	 * Calculates both the <code>sine</code> and the <code>cosine</code> of an
+	 * angle like {@link #sinCosTaylorSeries(BigDecimal, MathContext)}, in
+	 * balls that hold the exact results.
+	 */
+	static Ball[] sinCosTaylorSeriesBall(BigDecimal angle, MathContext mc) {
+		int halvings = halvings(angle, mc, HALVING_PRECISION, HALVING_FACTOR);
+		if (halvings > 0) {
+			return sinCosByHalving(angle, halvings, mc);
+		}
+
+		int bits = FixedPoint.bits(mc) + FixedPoint.cancellation(angle);
+		BigInteger square = FixedPoint.valueOf(angle.multiply(angle), bits);
+
+		// The angle is factored out of the sine, whose terms are smaller than
+		// those of the cosine.
+		int terms = COS_SERIES.terms(square, bits);
+		BigInteger[] powers = TruncatedSeries.powers(square, TruncatedSeries.blockSize(terms, bits), bits);
+		BigInteger sin = SIN_SERIES.sum(powers, terms, bits);
+		BigInteger cos = COS_SERIES.sum(powers, terms, bits);
+
+		Metrics.steps(Metrics.Kernel.SIN_COS_TAYLOR_SERIES, 2 * terms, mc);
+		BigInteger error = TruncatedSeries.error(terms);
+		return new Ball[] { FixedPoint.toBall(sin, error, angle, bits, mc),
+				FixedPoint.toBall(cos, error, BigDecimal.ONE, bits, mc) };
+	}
+
+	/**
+	 * Returns how many times the argument of a series is halved before the
+	 * series is summed, so that the terms saved outweigh the steps back.
+	 * Halving <code>k</code> times gains about <code>2 * k</code> bits a term,
+	 * so with <code>b</code> bits the series needs about
+	 * <code>b / (2 * k)</code> terms, and the total is least when the argument
+	 * ends up near <code>2<sup>-c * sqrt(b)</sup></code>, where
+	 * <code>c</code> grows as the steps get cheaper than the terms. Arguments
+	 * that small already are not halved.
+	 *
+	 * @param argument
+	 *            the argument of the series.
+	 * @param mc
+	 *            the precision of the series.
+	 * @param precision
+	 *            the least precision at which the argument is halved.
+	 * @param factor
+	 *            the factor <code>c</code>.
+	 * @return the number of halvings
+	 */
+	private static int halvings(BigDecimal argument, MathContext mc, int precision, double factor) {
+		double magnitude = Math.abs(argument.doubleValue());
+		if (mc.getPrecision() < precision || magnitude == 0) {
+			return 0;
+		}
+		int target = (int) Math.round(Math.sqrt(FixedPoint.bits(mc)) * factor);
+		return Math.max(0, target + Math.getExponent(magnitude) + 1);
+	}
+
+	/**
+	 * Calculates the <code>sine</code> and the <code>cosine</code> of an angle
+	 * by summing their series for the angle divided by
+	 * <code>2<sup>halvings</sup></code>, and doubling it back with
+	 * <p>
+	 * <code>sin (2 * y) = 2 * sin (y) * (1 - v(y))</code>, <code>v(2 * y) = 2 * sin<sup>2</sup>(y)</code>
+	 * <p>
+	 * where <code>v(y) = 1 - cos (y)</code>. Neither formula subtracts close
+	 * numbers, so the error only about doubles with every doubling, which a
+	 * guard bit each covers. With the errors of the sine and the versine below
+	 * <code>e</code> units, every factor below <code>1</code> and a unit lost
+	 * to each truncation, the errors after a doubling are below
+	 * <code>2 * e + 3</code> units. As in {@link #sinCosTaylorSeries(BigDecimal,
+	 * MathContext)} the angle is factored out of the sine, and out of the
+	 * versine twice, and the halving is a shift of the fixed point square.
+	 */
+	private static Ball[] sinCosByHalving(BigDecimal angle, int halvings, MathContext mc) {
+		int bits = FixedPoint.bits(mc) + FixedPoint.cancellation(angle) + halvings + 4;
+		BigInteger one = FixedPoint.one(bits);
+		BigInteger fullSquare = FixedPoint.valueOf(angle.multiply(angle), bits);
+		BigInteger square = fullSquare.shiftRight(2 * halvings);
+
+		// sin (y) = y * sin, v(y) = y ^ 2 * versine
+		// where the terms of the versine are smaller than those of the sine.
+		int terms = SIN_SERIES.terms(square, bits);
+		BigInteger[] powers = TruncatedSeries.powers(square, TruncatedSeries.blockSize(terms, bits), bits);
+		BigInteger sin = SIN_SERIES.sum(powers, terms, bits);
+		BigInteger versine = VERSINE_SERIES.sum(powers, terms, bits).shiftRight(1);
+
+		for (int i = halvings; i > 0; i--) {
+			Cancellation.check();
+
+			// y ^ 2 of the angle before doubling
+			BigInteger halvedSquare = fullSquare.shiftRight(2 * i);
+
+			// sin (2 * y) / (2 * y) = sin (y) / y * (1 - v(y))
+			// v(2 * y) / (2 * y) ^ 2 = (sin (y) / y) ^ 2 / 2
+			BigInteger cos = one.subtract(FixedPoint.multiply(versine, halvedSquare, bits));
+			versine = FixedPoint.multiply(sin, sin, bits).shiftRight(1);
+			sin = FixedPoint.multiply(sin, cos, bits);
+		}
+
+		Metrics.steps(Metrics.Kernel.SIN_COS_TAYLOR_SERIES, 2 * terms + halvings, mc);
+		BigInteger cos = one.subtract(FixedPoint.multiply(versine, fullSquare, bits));
+		BigInteger error = TruncatedSeries.error(terms).add(BigInteger.valueOf(3)).shiftLeft(halvings);
+		return new Ball[] { FixedPoint.toBall(sin, error, angle, bits, mc),
+				FixedPoint.toBall(cos, error.add(BigInteger.valueOf(2)), BigDecimal.ONE, bits, mc) };
 	}
 
 	/**
@@ -284,7 +661,10 @@ public class NumericalMethodsFunctions {
 	/**
 	 * Calculates the <code>arctangent</code> of a value in <code>radians</code>
 	 * using Taylor series expansion. The result is rounded according to the
-	 * passed context <code>mc</code>.
+	 * passed context <code>mc</code>. At high precisions the value is first
+	 * halved with the half-angle formula
+	 * <code>arctan (x) = 2 * arctan (x / (1 + sqrt(1 + x<sup>2</sup>)))</code>,
+	 * which costs a square root each time but shortens the series.
 	 * 
 	 * @param value
 	 *            the number whose arctangent is to be found.
@@ -293,26 +673,371 @@ public class NumericalMethodsFunctions {
 	 * @return <code>tan<sup>-1</sup>(value)</code>
 	 */
 	public static BigDecimal arctanTaylorSeries(BigDecimal value, MathContext mc) {
-		BigDecimal lastSum;
-		BigDecimal currentSum = BigDecimal.ZERO;
-		BigDecimal numerator = value;
-		BigDecimal denominator = BigDecimal.ONE;
-		BigDecimal term;
-		int i = 0;
-		do {
-			i++;
-			lastSum = currentSum;
+		int halvings = halvings(value, mc, ARCTAN_HALVING_PRECISION, ARCTAN_HALVING_FACTOR);
+		int bits = FixedPoint.bits(mc) + (halvings > 0 ? halvings + 4 : 0);
+		BigInteger one = FixedPoint.one(bits);
+		BigInteger square = FixedPoint.valueOf(value.multiply(value), bits);
 
-			// term = x ^ (2 * n + 1) / (2 * n + 1)!
-			term = numerator.divide(denominator, mc);
-			currentSum = currentSum.add(term, mc);
+		// arctan (x) = 2 ^ halvings * arctan (y)
+		// where every halving takes y to y / (1 + sqrt(1 + y ^ 2)). The value
+		// is factored out of y, so that only the ratio y / x is kept.
+		BigInteger ratio = one;
+		for (int h = 0; h < halvings; h++) {
+			Cancellation.check();
 
-			// Negating as every alternative term is negative
-			numerator = numerator.multiply(value, mc).multiply(value, mc).negate();
-			denominator = BigDecimal.valueOf(2 * i + 1);
-		} while (lastSum.compareTo(currentSum) != 0);
+			// The square root of a fixed point number is the whole square
+			// root of it shifted by as many bits again.
+			BigInteger root = FixedPoint.sqrt(one.add(square).shiftLeft(bits));
+			BigInteger factor = one.shiftLeft(bits).divide(one.add(root));
+			ratio = FixedPoint.multiply(ratio, factor, bits);
+			square = FixedPoint.multiply(FixedPoint.multiply(square, factor, bits), factor, bits);
+		}
 
-		return currentSum;
+		int terms = ARCTAN_SERIES.terms(square, bits);
+		BigInteger[] powers = TruncatedSeries.powers(square, TruncatedSeries.blockSize(terms, bits), bits);
+		BigInteger sum = ARCTAN_SERIES.sum(powers, terms, bits);
+
+		Metrics.steps(Metrics.Kernel.ARCTAN_TAYLOR_SERIES, terms + halvings, mc);
+		BigInteger result = FixedPoint.multiply(sum, ratio, bits).shiftLeft(halvings);
+		return FixedPoint.toBigDecimal(result, value, bits, mc);
 	}
 
+	/**
+	 * Calculates the <code>inverse hyperbolic tangent</code> of a value using
+	 * Taylor series expansion. The result is rounded according to the passed
+	 * context <code>mc</code>. One must give values close to <code>0</code>
+	 * for <code>value</code>, otherwise the series converges slowly.
+	 *
+	 * @param value
+	 *            the number whose inverse hyperbolic tangent is to be found.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>tanh<sup>-1</sup>(value)</code>
+	 */
+	protected static BigDecimal atanhTaylorSeries(BigDecimal value, MathContext mc) {
+		return atanhTaylorSeriesBall(value, mc).getMidpoint();
+	}
+
+	/**
+	 * Calculates the <code>inverse hyperbolic tangent</code> of a value like
+	 * {@link #atanhTaylorSeries(BigDecimal, MathContext)}, in a ball that
+	 * holds the exact result.
+	 */
+	static Ball atanhTaylorSeriesBall(BigDecimal value, MathContext mc) {
+		int bits = FixedPoint.bits(mc);
+		BigInteger square = FixedPoint.valueOf(value.multiply(value), bits);
+
+		// The value is factored out, so that small values keep their digits.
+		int terms = ATANH_SERIES.terms(square, bits);
+		BigInteger[] powers = TruncatedSeries.powers(square, TruncatedSeries.blockSize(terms, bits), bits);
+		BigInteger sum = ATANH_SERIES.sum(powers, terms, bits);
+
+		Metrics.steps(Metrics.Kernel.ATANH_TAYLOR_SERIES, terms, mc);
+		return FixedPoint.toBall(sum, TruncatedSeries.error(terms), value, bits, mc);
+	}
+
+	/**
+	 * Calculates the <code>hyperbolic sine</code> of a value using Taylor
+	 * series expansion. The result is rounded according to the passed context
+	 * <code>mc</code>. One must give values close to <code>0</code> for
+	 * <code>value</code>, otherwise the series converges slowly. Unlike
+	 * <code>(e<sup>value</sup> - e<sup>-value</sup>) / 2</code> the series
+	 * does not cancel out near <code>0</code>.
+	 *
+	 * @param value
+	 *            the number whose hyperbolic sine is to be found.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>sinh (value)</code>
+	 */
+	protected static BigDecimal sinhTaylorSeries(BigDecimal value, MathContext mc) {
+		return sinhTaylorSeriesBall(value, mc).getMidpoint();
+	}
+
+	/**
+	 * Calculates the <code>hyperbolic sine</code> of a value like
+	 * {@link #sinhTaylorSeries(BigDecimal, MathContext)}, in a ball that holds
+	 * the exact result.
+	 */
+	static Ball sinhTaylorSeriesBall(BigDecimal value, MathContext mc) {
+		int bits = FixedPoint.bits(mc);
+		BigInteger square = FixedPoint.valueOf(value.multiply(value), bits);
+
+		// The value is factored out, so that small values keep their digits.
+		int terms = SINH_SERIES.terms(square, bits);
+		BigInteger[] powers = TruncatedSeries.powers(square, TruncatedSeries.blockSize(terms, bits), bits);
+		BigInteger sum = SINH_SERIES.sum(powers, terms, bits);
+
+		Metrics.steps(Metrics.Kernel.SINH_TAYLOR_SERIES, terms, mc);
+		return FixedPoint.toBall(sum, TruncatedSeries.error(terms), value, bits, mc);
+	}
+
+	/**
+	 * Calculates both the <code>hyperbolic sine</code> and the
+	 * <code>hyperbolic cosine</code> of a value using Taylor series
+	 * expansion. Like {@link #sinCosTaylorSeries(BigDecimal, MathContext)},
+	 * both series share the powers of the square of the value. The results
+	 * are rounded according to the passed context <code>mc</code>. One must
+	 * give values close to <code>0</code> for <code>value</code>, otherwise
+	 * the series converge slowly.
+	 *
+	 * @param value
+	 *            the number whose hyperbolic sine and cosine are to be found.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>{ sinh (value), cosh (value) }</code>
+	 */
+	protected static BigDecimal[] sinhCoshTaylorSeries(BigDecimal value, MathContext mc) {
+		Ball[] sinhCosh = sinhCoshTaylorSeriesBall(value, mc);
+		return new BigDecimal[] { sinhCosh[0].getMidpoint(), sinhCosh[1].getMidpoint() };
+	}
+
+	/**
+	 * Calculates both the <code>hyperbolic sine</code> and the
+	 * <code>hyperbolic cosine</code> of a value like
+	 * {@link #sinhCoshTaylorSeries(BigDecimal, MathContext)}, in balls that
+	 * hold the exact results.
+	 */
+	static Ball[] sinhCoshTaylorSeriesBall(BigDecimal value, MathContext mc) {
+		int bits = FixedPoint.bits(mc);
+		BigInteger square = FixedPoint.valueOf(value.multiply(value), bits);
+
+		// The value is factored out of the hyperbolic sine, whose terms are
+		// smaller than those of the cosine.
+		int terms = COSH_SERIES.terms(square, bits);
+		BigInteger[] powers = TruncatedSeries.powers(square, TruncatedSeries.blockSize(terms, bits), bits);
+		BigInteger sinh = SINH_SERIES.sum(powers, terms, bits);
+		BigInteger cosh = COSH_SERIES.sum(powers, terms, bits);
+
+		Metrics.steps(Metrics.Kernel.SINH_COSH_TAYLOR_SERIES, 2 * terms, mc);
+		BigInteger error = TruncatedSeries.error(terms);
+		return new Ball[] { FixedPoint.toBall(sinh, error, value, bits, mc),
+				FixedPoint.toBall(cosh, error, BigDecimal.ONE, bits, mc) };
+	}
+
+	/**
+	 * Calculates <code>e<sup>exponent</sup></code> using Taylor series
+	 * expansion summed by binary splitting. The result is rounded according to
+	 * the passed context <code>mc</code>. One must give values close to
+	 * <code>1</code> for <code>exponent</code>, otherwise the series needs
+	 * many terms.
+	 * <p>
+	 * The exponent is cut into chunks of doubling length, so that each chunk
+	 * is a short decimal whose series can be summed exactly. Later chunks are
+	 * longer but much smaller, so their series need fewer terms.
+	 *
+	 * @param exponent
+	 *            the value to which <code>e</code> is raised.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>e<sup>exponent</sup></code>
+	 */
+	protected static BigDecimal expBinarySplitting(BigDecimal exponent, MathContext mc) {
+		return expBinarySplittingBall(exponent, new MathContext(mc.getPrecision() + 3)).getMidpoint().round(mc);
+	}
+
+	/**
+	 * Calculates <code>e<sup>exponent</sup></code> like
+	 * {@link #expBinarySplitting(BigDecimal, MathContext)}, but without guard
+	 * digits, in a ball that holds the exact result.
+	 */
+	static Ball expBinarySplittingBall(BigDecimal exponent, MathContext mc) {
+		Ball result = Ball.valueOf(BigDecimal.ONE);
+		BigDecimal rest = exponent.round(mc);
+		if (rest.signum() == 0) {
+			return result;
+		}
+		BigDecimal rounding = exponent.subtract(rest).abs();
+
+		// e ^ (chunk + rest) = e ^ chunk * e ^ rest
+		int leading = decimalExponent(rest);
+		for (int width = CHUNK_DIGITS; rest.signum() != 0; width *= 2) {
+			Cancellation.check();
+			BigDecimal chunk = chunk(rest, leading, width);
+			if (chunk.signum() != 0) {
+				rest = rest.subtract(chunk);
+				result = result.multiply(shortBall(expOfShort(chunk, mc), mc), mc);
+			}
+		}
+
+		// Rounding the exponent by d changes the result by a factor of
+		// e ^ d, where |e ^ d - 1| <= 2 * |d|.
+		return result.widen(result.magnitude().multiply(rounding).multiply(BigDecimal.valueOf(2)));
+	}
+
+	/**
+	 * Calculates the <code>sine</code> of an angle in <code>radians</code>
+	 * using Taylor series expansion summed by binary splitting. The result is
+	 * rounded according to the passed context <code>mc</code>.
+	 *
+	 * @param angle
+	 *            the angle in radians.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>sin (angle)</code>
+	 * @see #sinCosBinarySplitting(BigDecimal, MathContext)
+	 */
+	protected static BigDecimal sinBinarySplitting(BigDecimal angle, MathContext mc) {
+		return sinCosBinarySplitting(angle, mc)[0];
+	}
+
+	/**
+	 * Calculates the <code>cosine</code> of an angle in <code>radians</code>
+	 * using Taylor series expansion summed by binary splitting. The result is
+	 * rounded according to the passed context <code>mc</code>.
+	 *
+	 * @param angle
+	 *            the angle in radians.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>cos (angle)</code>
+	 * @see #sinCosBinarySplitting(BigDecimal, MathContext)
+	 */
+	protected static BigDecimal cosBinarySplitting(BigDecimal angle, MathContext mc) {
+		return sinCosBinarySplitting(angle, mc)[1];
+	}
+
+	/**
+	 * Calculates both the <code>sine</code> and the <code>cosine</code> of an
+	 * angle in <code>radians</code> using Taylor series expansion summed by
+	 * binary splitting. The results are rounded according to the passed
+	 * context <code>mc</code>.
+	 * <p>
+	 * The angle is cut into chunks of doubling length like in
+	 * {@link #expBinarySplitting(BigDecimal, MathContext)}, and the sines and
+	 * cosines of the chunks are put together with the angle sum identities,
+	 * which need both of them.
+	 *
+	 * @param angle
+	 *            the angle in radians.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>{ sin (angle), cos (angle) }</code>
+	 */
+	protected static BigDecimal[] sinCosBinarySplitting(BigDecimal angle, MathContext mc) {
+		Ball[] sinCos = sinCosBinarySplittingBall(angle, new MathContext(mc.getPrecision() + 3));
+		return new BigDecimal[] { sinCos[0].getMidpoint().round(mc), sinCos[1].getMidpoint().round(mc) };
+	}
+
+	/**
+	 * Calculates both the <code>sine</code> and the <code>cosine</code> of an
+	 * angle like {@link #sinCosBinarySplitting(BigDecimal, MathContext)}, but
+	 * without guard digits, in balls that hold the exact results.
+	 */
+	static Ball[] sinCosBinarySplittingBall(BigDecimal angle, MathContext mc) {
+		Ball sin = Ball.valueOf(BigDecimal.ZERO);
+		Ball cos = Ball.valueOf(BigDecimal.ONE);
+		BigDecimal rest = angle.round(mc);
+		if (rest.signum() == 0) {
+			return new Ball[] { sin, cos };
+		}
+		BigDecimal rounding = angle.subtract(rest).abs();
+
+		int leading = decimalExponent(rest);
+		for (int width = CHUNK_DIGITS; rest.signum() != 0; width *= 2) {
+			Cancellation.check();
+			BigDecimal chunk = chunk(rest, leading, width);
+			if (chunk.signum() != 0) {
+				rest = rest.subtract(chunk);
+				Ball chunkSin = shortBall(sinOfShort(chunk, mc), mc);
+				Ball chunkCos = shortBall(cosOfShort(chunk, mc), mc);
+
+				// sin (a + b) = sin a * cos b + cos a * sin b
+				// cos (a + b) = cos a * cos b - sin a * sin b
+				Ball nextSin = sin.multiply(chunkCos, mc).add(cos.multiply(chunkSin, mc), mc);
+				cos = cos.multiply(chunkCos, mc).subtract(sin.multiply(chunkSin, mc), mc);
+				sin = nextSin;
+			}
+		}
+
+		// Rounding the angle by d changes both by at most |d|.
+		return new Ball[] { sin.widen(rounding), cos.widen(rounding) };
+	}
+
+	/**
+	 * Calculates the <code>arctangent</code> of a value in <code>radians</code>
+	 * using Taylor series expansion summed by binary splitting. The result is
+	 * rounded according to the passed context <code>mc</code>. One must give
+	 * values close to <code>0</code> for <code>value</code>, otherwise the
+	 * series converges slowly.
+	 * <p>
+	 * The value is cut into chunks of doubling length. The arctangent of each
+	 * chunk is summed exactly, and what is left of the value is brought to the
+	 * next chunk with
+	 * <p>
+	 * <code>arctan(value) = arctan(chunk) + arctan((value - chunk) / (1 + value * chunk))</code>
+	 *
+	 * @param value
+	 *            the number whose arctangent is to be found.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>tan<sup>-1</sup>(value)</code>
+	 * @throws IllegalArgumentException
+	 *             if <code>value >= 1</code> or <code>value <= -1</code>.
+	 */
+	protected static BigDecimal arctanBinarySplitting(BigDecimal value, MathContext mc) {
+		if (value.abs().compareTo(BigDecimal.ONE) >= 0) {
+			throw new IllegalArgumentException("Arctan series requires values lesser than 1");
+		}
+
+		MathContext newMc = new MathContext(mc.getPrecision() + 3);
+		BigDecimal result = BigDecimal.ZERO;
+		BigDecimal rest = value.round(newMc);
+		if (rest.signum() == 0) {
+			return result;
+		}
+
+		// Unlike the other series, what is left is rounded anew every time, so
+		// it is cut off where it no longer changes the result.
+		int leading = decimalExponent(rest);
+		int lastScale = newMc.getPrecision() - leading;
+		for (int width = CHUNK_DIGITS; rest.signum() != 0; width *= 2) {
+			Cancellation.check();
+			BigDecimal chunk = chunk(rest, leading, width);
+			if (chunk.signum() != 0) {
+				result = result.add(arctanOfShort(chunk, newMc), newMc);
+				rest = rest.subtract(chunk).divide(BigDecimal.ONE.add(rest.multiply(chunk)), newMc);
+				if (rest.scale() > lastScale) {
+					rest = rest.setScale(lastScale, RoundingMode.HALF_EVEN);
+				}
+			}
+		}
+		return result.round(mc);
+	}
+
+	/**
+	 * Returns the digits of <code>value</code> down to <code>width</code>
+	 * digits below the decimal exponent <code>leading</code>, cutting off the
+	 * rest.
+	 */
+	static BigDecimal chunk(BigDecimal value, int leading, int width) {
+		int scale = width - leading - 1;
+		return value.scale() <= scale ? value : value.setScale(scale, RoundingMode.DOWN);
+	}
+
+	static BigDecimal expOfShort(BigDecimal value, MathContext mc) {
+		return EXP_SERIES.sumOfShort(value, BigDecimal.ONE, mc);
+	}
+
+	static BigDecimal sinOfShort(BigDecimal value, MathContext mc) {
+		return SIN_SERIES.sumOfShort(value.multiply(value), value, mc);
+	}
+
+	static BigDecimal cosOfShort(BigDecimal value, MathContext mc) {
+		return COS_SERIES.sumOfShort(value.multiply(value), BigDecimal.ONE, mc);
+	}
+
+	/**
+	 * Returns the ball of the sum of a series of a short value, summed by
+	 * binary splitting until its terms are below
+	 * <code>10<sup>-precision</sup></code>. The terms left out decrease at
+	 * least by half, so they are below that together.
+	 */
+	static Ball shortBall(BigDecimal sum, MathContext mc) {
+		return new Ball(sum, sum.ulp().add(BigDecimal.ONE.movePointLeft(mc.getPrecision())));
+	}
+
+	private static BigDecimal arctanOfShort(BigDecimal value, MathContext mc) {
+		return ARCTAN_SERIES.sumOfShort(value.multiply(value), value, mc);
+	}
 }
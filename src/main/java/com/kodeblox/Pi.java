@@ -0,0 +1,102 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * Calculates <code>PI</code> to any precision with the Chudnovsky series
+ * using binary splitting. The values are cached by {@link MathConstant}.
+ */
+final class Pi {
+
+	// Every term of the Chudnovsky series adds about 14.18 digits.
+	private static final double DIGITS_PER_TERM = 14.181647462725477;
+
+	private static final BigInteger A = BigInteger.valueOf(13591409);
+	private static final BigInteger B = BigInteger.valueOf(545140134);
+
+	// C^3 / 24 where C = 640320
+	private static final BigInteger C3_OVER_24 = BigInteger.valueOf(10939058860032000L);
+
+	private Pi() {
+	}
+
+	/**
+	 * Calculates <code>PI</code> with the Chudnovsky series,
+	 * <code>PI = 426880 * sqrt(10005) * Q / T</code>, where <code>Q</code> and
+	 * <code>T</code> are found by binary splitting. The result is rounded
+	 * according to the passed context <code>mc</code>.
+	 *
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return <code>PI</code>
+	 */
+	static BigDecimal chudnovsky(MathContext mc) {
+		MathContext newMc = new MathContext(mc.getPrecision() + 3);
+		long terms = (long) (mc.getPrecision() / DIGITS_PER_TERM) + 2;
+
+		BigInteger[] pqt = split(0, terms);
+		BigDecimal rootTerm = NumericalMethodsFunctions.sqrtNewtonRaphson(BigDecimal.valueOf(10005), newMc);
+
+		return new BigDecimal(pqt[1].multiply(BigInteger.valueOf(426880))).multiply(rootTerm, newMc)
+				.divide(new BigDecimal(pqt[2]), newMc).round(mc);
+	}
+
+	/**
+	 * Binary splitting of the Chudnovsky series over the terms
+	 * <code>[a, b)</code>.
+	 *
+	 * @return <code>{P(a, b), Q(a, b), T(a, b)}</code>
+	 */
+	private static BigInteger[] split(long a, long b) {
+		if (b - a == 1) {
+			BigInteger p;
+			BigInteger q;
+			if (a == 0) {
+				p = BigInteger.ONE;
+				q = BigInteger.ONE;
+			} else {
+				// p = (6a - 5) * (2a - 1) * (6a - 1)
+				p = BigInteger.valueOf(6 * a - 5).multiply(BigInteger.valueOf(2 * a - 1))
+						.multiply(BigInteger.valueOf(6 * a - 1));
+
+				// q = a ^ 3 * C ^ 3 / 24
+				BigInteger bigA = BigInteger.valueOf(a);
+				q = bigA.multiply(bigA).multiply(bigA).multiply(C3_OVER_24);
+			}
+
+			// t = p * (A + B * a), negated for odd terms
+			BigInteger t = p.multiply(A.add(B.multiply(BigInteger.valueOf(a))));
+			if ((a & 1) == 1) {
+				t = t.negate();
+			}
+			return new BigInteger[] { p, q, t };
+		}
+
+		Cancellation.check();
+		long m = (a + b) / 2;
+		BigInteger[] left = split(a, m);
+		BigInteger[] right = split(m, b);
+
+		// P(a, b) = P(a, m) * P(m, b)
+		// Q(a, b) = Q(a, m) * Q(m, b)
+		// T(a, b) = T(a, m) * Q(m, b) + P(a, m) * T(m, b)
+		return new BigInteger[] { left[0].multiply(right[0]), left[1].multiply(right[1]),
+				left[2].multiply(right[1]).add(left[0].multiply(right[2])) };
+	}
+}
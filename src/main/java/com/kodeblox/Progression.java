@@ -0,0 +1,602 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A calculation whose result is given at increasing precisions, for callers
+ * that want a rough value at once and the rest of the digits later. Every
+ * call to {@link #next()} returns an {@link Approximation} with more digits
+ * than the one before, together with a bound on its error, and the last one
+ * has the precision of the context the progression was created with. The
+ * approximations are pulled one at a time with {@link #next()}, or passed to
+ * a consumer with {@link #forEachRemaining(java.util.function.Consumer)} or
+ * {@link BigDecimalFunctionsAsync#refine(Progression, java.util.function.Consumer)}.
+ * <p>
+ * The first approximation is calculated directly to
+ * {@value #FIRST_PRECISION} digits. After that no work is done twice: the
+ * exponential, the sine and the cosine carry on with the next chunk of their
+ * argument, as in
+ * {@link NumericalMethodsFunctions#expBinarySplitting(BigDecimal, MathContext)},
+ * and the logarithm takes one Newton-Raphson step from the approximation
+ * before, which doubles its digits. The whole progression still costs more
+ * than calculating the last approximation alone, up to a few times as much
+ * for the sine and the cosine of long angles at thousands of digits.
+ * <p>
+ * The last approximation is rounded correctly, so it is the same as the
+ * result of the function in {@link BigDecimalFunctions} for the context of
+ * the progression.
+ * <p>
+ * Progressions are not thread safe.
+ */
+public abstract class Progression implements Iterator<Progression.Approximation> {
+
+	/**
+	 * Precision of the first approximation.
+	 */
+	public static final int FIRST_PRECISION = 16;
+
+	private static final MathContext FIRST_MC = new MathContext(FIRST_PRECISION, RoundingMode.HALF_EVEN);
+
+	final MathContext mc;
+	private Approximation last;
+
+	Progression(MathContext mc) {
+		if (mc.getPrecision() == 0) {
+			throw new IllegalArgumentException("Progressions require a limited precision");
+		}
+		this.mc = mc;
+	}
+
+	/**
+	 * Returns the progression of <code>e<sup>exponent</sup></code>.
+	 *
+	 * @param exponent
+	 *            the value to which <code>e</code> is raised.
+	 * @param mc
+	 *            rounding mode and precision for the last approximation.
+	 * @return the progression of <code>e<sup>exponent</sup></code>
+	 * @throws IllegalArgumentException
+	 *             if the precision of <code>mc</code> is unlimited.
+	 * @see BigDecimalFunctions#exp(BigDecimal, MathContext)
+	 */
+	public static Progression exp(BigDecimal exponent, MathContext mc) {
+		if (exponent.signum() == 0) {
+			return new Exact(BigDecimal.ONE, mc);
+		}
+		return new Exp(exponent, mc);
+	}
+
+	/**
+	 * Returns the progression of <code>log<sub>e</sub> value</code>.
+	 *
+	 * @param value
+	 *            calculates log of this value.
+	 * @param mc
+	 *            rounding mode and precision for the last approximation.
+	 * @return the progression of <code>log<sub>e</sub> value</code>
+	 * @throws IllegalArgumentException
+	 *             if <code>value <= 0</code>, or if the precision of
+	 *             <code>mc</code> is unlimited.
+	 * @see BigDecimalFunctions#ln(BigDecimal, MathContext)
+	 */
+	public static Progression ln(BigDecimal value, MathContext mc) {
+		if (value.compareTo(BigDecimal.ZERO) <= 0) {
+			throw new IllegalArgumentException("Log requires values greater than 0");
+		}
+		if (value.compareTo(BigDecimal.ONE) == 0) {
+			return new Exact(BigDecimal.ZERO, mc);
+		}
+		return new Ln(value, mc);
+	}
+
+	/**
+	 * Returns the progression of the <code>sine</code> of an angle in
+	 * <code>radians</code>.
+	 *
+	 * @param angle
+	 *            the angle in radians.
+	 * @param mc
+	 *            rounding mode and precision for the last approximation.
+	 * @return the progression of <code>sin (angle)</code>
+	 * @throws IllegalArgumentException
+	 *             if the precision of <code>mc</code> is unlimited.
+	 * @see BigDecimalFunctions#sin(BigDecimal, MathContext)
+	 */
+	public static Progression sin(BigDecimal angle, MathContext mc) {
+		if (angle.signum() == 0) {
+			return new Exact(BigDecimal.ZERO, mc);
+		}
+		return new SinCos(angle, false, mc);
+	}
+
+	/**
+	 * Returns the progression of the <code>cosine</code> of an angle in
+	 * <code>radians</code>.
+	 *
+	 * @param angle
+	 *            the angle in radians.
+	 * @param mc
+	 *            rounding mode and precision for the last approximation.
+	 * @return the progression of <code>cos (angle)</code>
+	 * @throws IllegalArgumentException
+	 *             if the precision of <code>mc</code> is unlimited.
+	 * @see BigDecimalFunctions#cos(BigDecimal, MathContext)
+	 */
+	public static Progression cos(BigDecimal angle, MathContext mc) {
+		if (angle.signum() == 0) {
+			return new Exact(BigDecimal.ONE, mc);
+		}
+		return new SinCos(angle, true, mc);
+	}
+
+	/**
+	 * Tells whether an approximation with more digits is left, that is
+	 * whether the last one has not reached the precision of the progression
+	 * yet.
+	 */
+	@Override
+	public boolean hasNext() {
+		return last == null || !last.isFinal();
+	}
+
+	/**
+	 * Calculates the next approximation.
+	 *
+	 * @return an approximation with more digits than the one before
+	 * @throws NoSuchElementException
+	 *             if the last approximation has been returned already.
+	 * @throws ArithmeticException
+	 *             if the result is too large or too small to be represented.
+	 */
+	@Override
+	public Approximation next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException("The progression has reached its precision");
+		}
+		last = refine(last == null ? 0 : last.getPrecision());
+		return last;
+	}
+
+	/**
+	 * Returns the approximation returned last by {@link #next()}.
+	 *
+	 * @return the last approximation, or <code>null</code> if there has been
+	 *         none yet
+	 */
+	public Approximation last() {
+		return last;
+	}
+
+	/**
+	 * Returns the context of the last approximation.
+	 *
+	 * @return the context of the progression
+	 */
+	public MathContext getMathContext() {
+		return mc;
+	}
+
+	/**
+	 * Calculates an approximation with more than <code>precision</code>
+	 * digits.
+	 *
+	 * @param precision
+	 *            the precision of the approximation before, or <code>0</code>
+	 *            for the first one.
+	 * @return the next approximation
+	 */
+	abstract Approximation refine(int precision);
+
+	/**
+	 * Calculates the result directly, rounded correctly according to
+	 * <code>mc</code>.
+	 */
+	abstract BigDecimal calculate(MathContext mc);
+
+	/**
+	 * Returns the first approximation, calculated directly to
+	 * {@value #FIRST_PRECISION} digits, or to all of them if the context has
+	 * no more.
+	 */
+	final Approximation first() {
+		if (mc.getPrecision() <= FIRST_PRECISION) {
+			return new Approximation(calculate(mc), mc.getPrecision(), true);
+		}
+		return new Approximation(calculate(FIRST_MC), FIRST_PRECISION, false);
+	}
+
+	/**
+	 * Returns <code>value</code>, known to more than <code>precision</code>
+	 * digits, as an approximation rounded to <code>precision</code> digits.
+	 */
+	final Approximation approximation(BigDecimal value, int precision) {
+		return new Approximation(value.round(new MathContext(precision, RoundingMode.HALF_EVEN)), precision, false);
+	}
+
+	/**
+	 * Returns the last approximation, rounded correctly from the ball that
+	 * holds the result like in {@link BigDecimalFunctions}. The rare results
+	 * whose ball straddles a rounding boundary are calculated again directly,
+	 * with as many more digits as they need.
+	 */
+	final Approximation last(Ball result) {
+		BigDecimal rounded = result.correctlyRounded(mc);
+		return new Approximation(rounded != null ? rounded : calculate(mc), mc.getPrecision(), true);
+	}
+
+	/**
+	 * A value together with a bound on its error.
+	 */
+	public static final class Approximation {
+		private final BigDecimal value;
+		private final int precision;
+		private final BigDecimal error;
+		private final boolean last;
+
+		Approximation(BigDecimal value, int precision, boolean last) {
+			this(value, precision, value.ulp(), last);
+		}
+
+		Approximation(BigDecimal value, int precision, BigDecimal error, boolean last) {
+			this.value = value;
+			this.precision = precision;
+			this.error = error;
+			this.last = last;
+		}
+
+		/**
+		 * Returns the value of the approximation.
+		 *
+		 * @return the value, rounded to {@link #getPrecision()} digits
+		 */
+		public BigDecimal getValue() {
+			return value;
+		}
+
+		/**
+		 * Returns the number of digits of the approximation.
+		 *
+		 * @return the precision of the value
+		 */
+		public int getPrecision() {
+			return precision;
+		}
+
+		/**
+		 * Returns a bound on the absolute error of the value, which is one
+		 * unit in its last place, or <code>0</code> if the value is exact. The
+		 * last approximation is rounded correctly, so it is within the bound
+		 * in every rounding mode.
+		 *
+		 * @return the largest distance from the value to the exact result
+		 */
+		public BigDecimal getError() {
+			return error;
+		}
+
+		/**
+		 * Tells whether this is the last approximation of its progression,
+		 * rounded according to the context of the progression.
+		 *
+		 * @return whether no approximation with more digits follows
+		 */
+		public boolean isFinal() {
+			return last;
+		}
+
+		@Override
+		public String toString() {
+			return value + " +/- " + error;
+		}
+	}
+
+	/**
+	 * An exact result, which is its own only approximation.
+	 */
+	private static final class Exact extends Progression {
+		private final BigDecimal value;
+
+		Exact(BigDecimal value, MathContext mc) {
+			super(mc);
+			this.value = value;
+		}
+
+		@Override
+		Approximation refine(int precision) {
+			return new Approximation(value, mc.getPrecision(), BigDecimal.ZERO, true);
+		}
+
+		@Override
+		BigDecimal calculate(MathContext mc) {
+			return value;
+		}
+	}
+
+	/**
+	 * Sums the series of an argument one chunk at a time, like
+	 * {@link NumericalMethodsFunctions#expBinarySplitting(BigDecimal, MathContext)},
+	 * and gives an approximation whenever the chunks summed so far tell more
+	 * digits than the last one had. The error of leaving out the rest of the
+	 * argument is relative, so it bounds the digits by how much smaller the
+	 * rest is than the result. The result is kept in a ball, so that the last
+	 * approximation can be rounded correctly.
+	 */
+	private abstract static class Chunks extends Progression {
+		// Digits kept on top of the precision of the context, as many as
+		// BigDecimalFunctions takes first.
+		private static final int GUARD_DIGITS = 5;
+
+		final MathContext newMc;
+		private BigDecimal rest;
+		private int leading;
+		private int width = NumericalMethodsFunctions.CHUNK_DIGITS;
+
+		Chunks(MathContext mc) {
+			super(mc);
+			newMc = new MathContext(mc.getPrecision() + GUARD_DIGITS);
+		}
+
+		/**
+		 * Reduces the argument to the precision of <code>newMc</code>,
+		 * returning the part left to sum.
+		 */
+		abstract BigDecimal reduce();
+
+		/**
+		 * Adds a chunk of the argument to the result.
+		 */
+		abstract void add(BigDecimal chunk);
+
+		/**
+		 * Returns the ball of the result for the chunks added so far, which
+		 * holds the exact result once they all are.
+		 */
+		abstract Ball result();
+
+		/**
+		 * Returns the decimal exponent of the result before it is scaled back,
+		 * to which leaving out the rest of the argument is compared.
+		 */
+		int magnitude(BigDecimal result) {
+			return NumericalMethodsFunctions.decimalExponent(result);
+		}
+
+		@Override
+		final Approximation refine(int precision) {
+			if (precision == 0) {
+				return first();
+			}
+			if (rest == null) {
+				rest = reduce();
+				leading = rest.signum() == 0 ? 0 : NumericalMethodsFunctions.decimalExponent(rest);
+			}
+
+			// Every chunk makes what is left of the argument smaller, until
+			// there is nothing left.
+			while (rest.signum() != 0) {
+				Cancellation.check();
+				BigDecimal chunk = NumericalMethodsFunctions.chunk(rest, leading, width);
+				width *= 2;
+				if (chunk.signum() != 0) {
+					rest = rest.subtract(chunk);
+					add(chunk);
+					BigDecimal result = result().getMidpoint();
+					if (rest.signum() != 0 && result.signum() != 0) {
+
+						// |rest| < 10 ^ (its exponent + 1) <= |result| * 10 ^ -(digits + 1)
+						int digits = magnitude(result) - NumericalMethodsFunctions.decimalExponent(rest) - 2;
+						if (digits > precision && digits < mc.getPrecision()) {
+							return approximation(result, digits);
+						}
+					}
+				}
+			}
+			return last(result());
+		}
+
+		/**
+		 * Returns the ball of the sum of a series of a short chunk.
+		 */
+		final Ball chunkBall(BigDecimal sum) {
+			return NumericalMethodsFunctions.shortBall(sum, newMc);
+		}
+	}
+
+	/**
+	 * The exponential, reduced by a multiple of <code>ln 10</code> like in
+	 * {@link BigDecimalFunctions#exp(BigDecimal, MathContext)}.
+	 */
+	private static final class Exp extends Chunks {
+		private final BigDecimal exponent;
+		private long k;
+		private BigDecimal reduction;
+		private Ball result = Ball.valueOf(BigDecimal.ONE);
+
+		Exp(BigDecimal exponent, MathContext mc) {
+			super(mc);
+			this.exponent = exponent;
+		}
+
+		@Override
+		BigDecimal calculate(MathContext mc) {
+			return BigDecimalFunctions.exp(exponent, mc);
+		}
+
+		@Override
+		BigDecimal reduce() {
+
+			// e ^ exponent = 10 ^ k * e ^ (exponent - k * ln 10)
+			double quotient = exponent.doubleValue() / Math.log(10);
+			if (Math.abs(quotient) > Integer.MAX_VALUE) {
+				throw new ArithmeticException(exponent.signum() > 0 ? "Overflow" : "Underflow");
+			}
+			k = Math.round(quotient);
+			Ball remainder = Ball.valueOf(exponent);
+			if (k != 0) {
+				int kDigits = Long.toString(Math.abs(k)).length();
+				Ball ln10 = Ball.withinUlp(MathConstant.LN10.get(new MathContext(newMc.getPrecision() + kDigits)))
+						.multiply(Ball.valueOf(BigDecimal.valueOf(k)), MathContext.UNLIMITED);
+				remainder = remainder.subtract(ln10, new MathContext(newMc.getPrecision() + kDigits + 1));
+			}
+			remainder = remainder.round(newMc);
+			reduction = remainder.getRadius();
+			return remainder.getMidpoint();
+		}
+
+		@Override
+		void add(BigDecimal chunk) {
+
+			// e ^ (chunk + rest) = e ^ chunk * e ^ rest
+			result = result.multiply(chunkBall(NumericalMethodsFunctions.expOfShort(chunk, newMc)), newMc);
+		}
+
+		@Override
+		Ball result() {
+
+			// The remainder is off by at most r, which changes the result by a
+			// factor of e ^ r, where |e ^ r - 1| <= 2 * r.
+			return result.widen(result.magnitude().multiply(reduction).multiply(BigDecimal.valueOf(2)))
+					.scaleByPowerOfTen((int) k);
+		}
+
+		@Override
+		int magnitude(BigDecimal result) {
+
+			// The error is relative to e ^ (exponent - k * ln 10).
+			return NumericalMethodsFunctions.decimalExponent(this.result.getMidpoint());
+		}
+	}
+
+	/**
+	 * The sine or the cosine, found from those of the angle reduced like in
+	 * {@link BigDecimalFunctions#sin(BigDecimal, MathContext)}.
+	 */
+	private static final class SinCos extends Chunks {
+		private final BigDecimal angle;
+		private final boolean cosine;
+		private BigDecimalFunctions.ReducedAngle reduced;
+		private Ball sin = Ball.valueOf(BigDecimal.ZERO);
+		private Ball cos = Ball.valueOf(BigDecimal.ONE);
+
+		SinCos(BigDecimal angle, boolean cosine, MathContext mc) {
+			super(mc);
+			this.angle = angle;
+			this.cosine = cosine;
+		}
+
+		@Override
+		BigDecimal calculate(MathContext mc) {
+			return cosine ? BigDecimalFunctions.cos(angle, mc) : BigDecimalFunctions.sin(angle, mc);
+		}
+
+		@Override
+		BigDecimal reduce() {
+			reduced = BigDecimalFunctions.ReducedAngle.of(angle, newMc);
+			return reduced.angle;
+		}
+
+		@Override
+		void add(BigDecimal chunk) {
+			Ball chunkSin = chunkBall(NumericalMethodsFunctions.sinOfShort(chunk, newMc));
+			Ball chunkCos = chunkBall(NumericalMethodsFunctions.cosOfShort(chunk, newMc));
+
+			// sin (a + b) = sin a * cos b + cos a * sin b
+			// cos (a + b) = cos a * cos b - sin a * sin b
+			Ball nextSin = sin.multiply(chunkCos, newMc).add(cos.multiply(chunkSin, newMc), newMc);
+			cos = cos.multiply(chunkCos, newMc).subtract(sin.multiply(chunkSin, newMc), newMc);
+			sin = nextSin;
+		}
+
+		@Override
+		Ball result() {
+
+			// Reducing the angle by d changes both by at most |d|.
+			Ball sinBall = sin.widen(reduced.error);
+			Ball cosBall = cos.widen(reduced.error);
+			return cosine ? reduced.cos(sinBall, cosBall) : reduced.sin(sinBall, cosBall);
+		}
+	}
+	/**
+	 * The logarithm, refined by the Newton-Raphson step of
+	 * {@link NumericalMethodsFunctions#lnNewtonRaphson(BigDecimal, MathContext)}.
+	 */
+	private static final class Ln extends Progression {
+		// Digits kept on top of the precision of the approximation.
+		private static final int GUARD_DIGITS = 5;
+
+		private final BigDecimal value;
+
+		// The last approximation with GUARD_DIGITS more digits, and as many
+		// more as its whole part has, so that its absolute error is below
+		// 10 ^ -(precision + 2).
+		private BigDecimal y;
+		private int wholeDigits;
+
+		Ln(BigDecimal value, MathContext mc) {
+			super(mc);
+			this.value = value;
+		}
+
+		@Override
+		BigDecimal calculate(MathContext mc) {
+			return BigDecimalFunctions.ln(value, mc);
+		}
+
+		@Override
+		Approximation refine(int precision) {
+			if (precision == 0) {
+				Approximation first = first();
+				if (!first.isFinal()) {
+					wholeDigits = Math.max(0, first.getValue().precision() - first.getValue().scale());
+					y = BigDecimalFunctions.ln(value, new MathContext(FIRST_PRECISION + GUARD_DIGITS + wholeDigits));
+				}
+				return first;
+			}
+			Cancellation.check();
+
+			// Each step doubles the number of correct digits.
+			int next = Math.min(2 * precision, mc.getPrecision());
+			MathContext stepMc = new MathContext(next + GUARD_DIGITS + wholeDigits);
+
+			// The correction has as many leading zeros as y has after the
+			// point, so e ^ y needs as many more digits.
+			int zeros = Math.max(0, y.scale() - y.precision());
+			MathContext newMc = new MathContext(stepMc.getPrecision() + 2 + zeros);
+
+			// y = y - 1 + value / e ^ y
+			if (next < mc.getPrecision()) {
+				BigDecimal correction = value.divide(BigDecimalFunctions.exp(y, newMc), newMc)
+						.subtract(BigDecimal.ONE);
+				y = y.add(correction, stepMc);
+				return approximation(y, next);
+			}
+
+			// The last step is taken in balls. ln (value) = y + ln (1 + c),
+			// where c = value / e ^ y - 1 and |ln (1 + c) - c| <= c ^ 2 for
+			// the small c left.
+			Ball correction = Ball.valueOf(value).divide(Ball.withinUlp(BigDecimalFunctions.exp(y, newMc)), newMc)
+					.subtract(Ball.valueOf(BigDecimal.ONE), newMc);
+			BigDecimal c = correction.magnitude();
+			return last(Ball.valueOf(y).add(correction, stepMc).widen(c.multiply(c)));
+		}
+	}
+}
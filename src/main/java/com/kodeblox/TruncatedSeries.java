@@ -0,0 +1,427 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * Sums a truncated power series. The series is
+ * <p>
+ * <code>sum(n = 0 ... terms - 1) of c(n) * y<sup>n</sup></code>
+ * <p>
+ * with <code>c(0) = 1</code> and <code>c(n) = c(n - 1) * p(n) / q(n)</code>,
+ * <p>
+ * where <code>p</code> and <code>q</code> are small whole numbers, like the
+ * reciprocal factorials of the exponential series.
+ * <p>
+ * The series is summed by rectangular splitting (Paterson and Stockmeyer).
+ * The powers <code>y ... y<sup>m</sup></code> are found once, and the terms
+ * are taken in blocks of <code>m</code>. Within a block every power is only
+ * multiplied by a whole number made of the small <code>p</code> and
+ * <code>q</code>, and the blocks are put together by Horner's rule in
+ * <code>y<sup>m</sup></code>. So <code>n</code> terms take about
+ * <code>2 * sqrt(n)</code> multiplications of two full precision numbers,
+ * instead of the <code>n</code> of summing them one by one. Below
+ * {@link #RECTANGULAR_SPLITTING_BITS} the short multiplications cost about
+ * as much as the full ones, and the terms are summed one by one. Short
+ * arguments at high precisions are summed by binary splitting instead.
+ * <p>
+ * All the series of {@link NumericalMethodsFunctions} are summed this way,
+ * and other functions can be added by describing their series with
+ * <code>p</code> and <code>q</code> and calling
+ * {@link #sum(BigDecimal, MathContext)}, which takes care of the number of
+ * terms and of the guard bits. For example the error function is
+ * <p>
+ * <code>erf (x) = 2 * x / sqrt(PI) * sum of (-x<sup>2</sup>)<sup>n</sup> / (n! * (2 * n + 1))</code>
+ *
+ * <pre>
+ * TruncatedSeries erf = new TruncatedSeries() {
+ * 	protected long p(int n) {
+ * 		return 1 - 2 * n;
+ * 	}
+ *
+ * 	protected long q(int n) {
+ * 		return n * (2L * n + 1);
+ * 	}
+ * };
+ * erf.sum(x.multiply(x), mc)
+ * </pre>
+ */
+public abstract class TruncatedSeries {
+
+	/**
+	 * Precision in bits from which the terms are summed in blocks, as
+	 * measured at about 100 and 200 digits.
+	 */
+	static final int RECTANGULAR_SPLITTING_BITS = 512;
+
+	/**
+	 * Number of terms past which a series is taken not to converge.
+	 */
+	static final int MAXIMUM_TERMS = 1 << 20;
+
+	// Terms summed one by one check for cancellation every this many plus
+	// one.
+	private static final int CHECK_TERMS = 63;
+
+	// Bits a sum may lose to terms that cancel out before it is summed again
+	// with more, and how many times it is.
+	private static final int CANCELLATION_BITS = 16;
+	private static final int MAXIMUM_RETRIES = 2;
+
+	private static final double LOG_2 = Math.log(2);
+
+	// log2(10)
+	private static final double BITS_PER_DIGIT = Math.log(10) / LOG_2;
+
+	/**
+	 * Returns the numerator of the ratio of the coefficient
+	 * <code>c(n)</code> to the one before, for <code>n >= 1</code>. A
+	 * numerator of <code>0</code> ends the series.
+	 *
+	 * @param n
+	 *            the index of the coefficient.
+	 * @return <code>p(n)</code>
+	 */
+	protected abstract long p(int n);
+
+	/**
+	 * Returns the positive denominator of the ratio of the coefficient
+	 * <code>c(n)</code> to the one before, for <code>n >= 1</code>.
+	 *
+	 * @param n
+	 *            the index of the coefficient.
+	 * @return <code>q(n)</code>
+	 */
+	protected abstract long q(int n);
+
+	/**
+	 * Sums the series at <code>argument</code>. The result is rounded
+	 * according to the passed context <code>mc</code>.
+	 * <p>
+	 * The number of terms is predicted like in
+	 * {@link #terms(BigInteger, int)}, so the terms must keep decreasing once
+	 * they are small. Short arguments are summed by binary splitting from the
+	 * same precision as in {@link BigDecimalFunctions}, the others in fixed
+	 * point. Terms that grow before they decrease get as many more guard bits
+	 * as they grow, and a sum that turns out much smaller than
+	 * <code>1</code>, because its terms cancel out, is summed again with the
+	 * bits it lost.
+	 *
+	 * @param argument
+	 *            the argument <code>y</code> of the series.
+	 * @param mc
+	 *            rounding mode and precision for the result of this operation.
+	 * @return the sum of the series
+	 * @throws ArithmeticException
+	 *             if the terms do not get small enough within
+	 *             {@link #MAXIMUM_TERMS} terms.
+	 */
+	public BigDecimal sum(BigDecimal argument, MathContext mc) {
+		if (argument.signum() == 0) {
+			return BigDecimal.ONE;
+		}
+
+		double logArgument = log2(argument);
+		int growth = growth(logArgument, terms(logArgument, FixedPoint.bits(mc)));
+		boolean binarySplitting = BigDecimalFunctions.binarySplitting(argument, mc);
+		int bits = FixedPoint.bits(mc) + growth + CANCELLATION_BITS;
+		BigDecimal result = null;
+		for (int retry = 0; retry <= MAXIMUM_RETRIES; retry++) {
+			result = binarySplitting ? sumOfShort(argument, BigDecimal.ONE, bits, mc)
+					: sumInFixedPoint(argument, logArgument, bits, mc);
+			int lost = result.signum() == 0 ? bits : (int) Math.ceil(-log2(result));
+			int needed = FixedPoint.bits(mc) + growth + lost;
+			if (needed <= bits) {
+				break;
+			}
+			bits = needed;
+		}
+		return result;
+	}
+
+	private BigDecimal sumInFixedPoint(BigDecimal argument, double logArgument, int bits, MathContext mc) {
+		int terms = terms(logArgument, bits);
+
+		// Arguments above 1 would carry the truncations of their powers into
+		// the blocks, so their terms are summed one by one.
+		bits += error(terms).bitLength();
+		int m = logArgument > 0 ? 1 : blockSize(terms, bits);
+		BigInteger sum = sum(powers(FixedPoint.valueOf(argument, bits), m, bits), terms, bits);
+
+		Metrics.steps(Metrics.Kernel.SERIES, terms, mc);
+		return FixedPoint.toBigDecimal(sum, BigDecimal.ONE, bits, mc);
+	}
+
+	/**
+	 * Returns the number of bits by which the largest of the first
+	 * <code>terms</code> terms is above <code>1</code>.
+	 */
+	private int growth(double logArgument, int terms) {
+		double logTerm = 0;
+		double largest = 0;
+		for (int n = 1; n < terms; n++) {
+			logTerm += logRatio(n, logArgument);
+			largest = Math.max(largest, logTerm);
+		}
+		return (int) Math.ceil(largest);
+	}
+
+	/**
+	 * Returns the number of terms needed for the series to be accurate to
+	 * <code>bits</code> bits, that is the index of the first term below
+	 * <code>2<sup>-bits</sup></code>. It is predicted from the logarithms of
+	 * the coefficients and of the argument, so the terms must keep
+	 * decreasing from there on and the rest of the series be about as small
+	 * as that term.
+	 *
+	 * @param argument
+	 *            the fixed point argument <code>y</code>.
+	 * @param bits
+	 *            the fraction bits of <code>argument</code>.
+	 * @return the number of terms to sum
+	 */
+	int terms(BigInteger argument, int bits) {
+		if (argument.signum() == 0) {
+			return 1;
+		}
+
+		// log2 |y| from its leading bits
+		BigInteger magnitude = argument.abs();
+		int shift = Math.max(0, magnitude.bitLength() - 63);
+		return terms(Math.log(magnitude.shiftRight(shift).doubleValue()) / LOG_2 + shift - bits, bits);
+	}
+
+	private int terms(double logArgument, int bits) {
+		double logTerm = 0;
+		int n = 0;
+		while (logTerm >= -bits) {
+			if (n == MAXIMUM_TERMS) {
+				throw new ArithmeticException("Series does not converge within " + MAXIMUM_TERMS + " terms");
+			}
+			n++;
+			logTerm += logRatio(n, logArgument);
+		}
+		return n;
+	}
+
+	/**
+	 * Returns <code>log2 |y * p(n) / q(n)|</code>, the bits by which the
+	 * <code>n<sup>th</sup></code> term is above the one before.
+	 */
+	private double logRatio(int n, double logArgument) {
+		return logArgument + Math.log(Math.abs((double) p(n)) / q(n)) / LOG_2;
+	}
+
+	/**
+	 * Returns a bound, in units of the last bit, on the error of a sum of
+	 * <code>terms</code> terms of a series whose argument is at most
+	 * <code>1</code> and whose ratios <code>p(n) / q(n)</code> are at most
+	 * <code>1</code>, like all of those in {@link NumericalMethodsFunctions}.
+	 * <p>
+	 * Every term, summed one by one or in a block, goes through at most
+	 * <code>terms</code> truncations of a unit, which the ratios never
+	 * enlarge. Another few units cover the rounding of the argument and the
+	 * terms left out, which are smaller than the last bit together.
+	 *
+	 * @param terms
+	 *            the number of terms summed.
+	 * @return the error of the fixed point sum
+	 */
+	static BigInteger error(int terms) {
+		return BigInteger.valueOf(terms + 3).pow(2);
+	}
+
+	/**
+	 * Sums the first <code>terms</code> terms of the series, given the powers
+	 * <code>1, y ... y<sup>m</sup></code> of its argument, so that series of
+	 * the same argument can share them.
+	 * <p>
+	 * With <code>Q</code> the product of the <code>q</code> of a block that
+	 * starts at <code>s</code>, the block is
+	 * <p>
+	 * <code>c(s) / Q * sum(k = 0 ... m - 1) of y<sup>k</sup> * p(s + 1) ... p(s + k) * q(s + k + 1) ... q(s + m)</code>
+	 * <p>
+	 * and the next block starts at <code>c(s + m) = c(s) * P / Q</code>, with
+	 * <code>P</code> the product of the <code>p</code>. Going down from the
+	 * last block, every block takes one multiplication by
+	 * <code>y<sup>m</sup></code> and one short division by <code>Q</code>.
+	 *
+	 * @param powers
+	 *            the fixed point powers of the argument, from
+	 *            {@link #powers(BigInteger, int, int)}.
+	 * @param terms
+	 *            the number of terms to sum, at least <code>1</code>.
+	 * @param bits
+	 *            the fraction bits of the powers and of the sum.
+	 * @return the fixed point sum
+	 */
+	BigInteger sum(BigInteger[] powers, int terms, int bits) {
+		int m = powers.length - 1;
+		if (m == 1) {
+			return sumByTerms(powers[1], terms, bits);
+		}
+
+		BigInteger[] suffixes = new BigInteger[m + 1];
+		BigInteger rest = BigInteger.ZERO;
+		for (int start = (terms - 1) / m * m; start >= 0; start -= m) {
+			Cancellation.check();
+			int length = Math.min(m, terms - start);
+
+			// suffixes[k] = q(s + k + 1) ... q(s + length)
+			suffixes[length] = BigInteger.ONE;
+			for (int k = length - 1; k >= 0; k--) {
+				suffixes[k] = suffixes[k + 1].multiply(BigInteger.valueOf(q(start + k + 1)));
+			}
+
+			// prefix = p(s + 1) ... p(s + k)
+			BigInteger prefix = BigInteger.ONE;
+			BigInteger block = BigInteger.ZERO;
+			for (int k = 0; k < length; k++) {
+				block = block.add(powers[k].multiply(prefix.multiply(suffixes[k])));
+				prefix = prefix.multiply(BigInteger.valueOf(p(start + k + 1)));
+			}
+
+			// Only the last block can be short, and it has nothing after it.
+			if (rest.signum() != 0) {
+				block = block.add(FixedPoint.multiply(powers[m], rest, bits).multiply(prefix));
+			}
+			rest = block.divide(suffixes[0]);
+		}
+		return rest;
+	}
+
+	private BigInteger sumByTerms(BigInteger argument, int terms, int bits) {
+		BigInteger term = FixedPoint.one(bits);
+		BigInteger sum = term;
+		for (int n = 1; n < terms; n++) {
+			if ((n & CHECK_TERMS) == 0) {
+				Cancellation.check();
+			}
+			term = FixedPoint.multiply(term, argument, bits);
+			long p = p(n);
+			if (p != 1) {
+				term = p == -1 ? term.negate() : term.multiply(BigInteger.valueOf(p));
+			}
+			term = term.divide(BigInteger.valueOf(q(n)));
+			sum = sum.add(term);
+		}
+		return sum;
+	}
+
+	/**
+	 * Returns the number of powers of the argument to find for a series of
+	 * <code>terms</code> terms, which balances the multiplications of the
+	 * powers against those of putting the blocks together. Below
+	 * {@link #RECTANGULAR_SPLITTING_BITS} it is <code>1</code>, which sums
+	 * the terms one by one.
+	 *
+	 * @param terms
+	 *            the number of terms to sum.
+	 * @param bits
+	 *            the fraction bits of the sum.
+	 * @return the highest power <code>m</code>
+	 */
+	static int blockSize(int terms, int bits) {
+		if (bits < RECTANGULAR_SPLITTING_BITS) {
+			return 1;
+		}
+		return Math.max(1, (int) Math.round(Math.sqrt(terms)));
+	}
+
+	/**
+	 * Returns <code>1, y, y<sup>2</sup> ... y<sup>m</sup></code> for the
+	 * fixed point argument <code>y</code>.
+	 *
+	 * @param argument
+	 *            the fixed point argument <code>y</code>.
+	 * @param m
+	 *            the highest power.
+	 * @param bits
+	 *            the fraction bits of <code>argument</code> and of the powers.
+	 * @return the fixed point powers
+	 */
+	static BigInteger[] powers(BigInteger argument, int m, int bits) {
+		BigInteger[] powers = new BigInteger[m + 1];
+		powers[0] = FixedPoint.one(bits);
+		for (int k = 1; k <= m; k++) {
+			powers[k] = FixedPoint.multiply(powers[k - 1], argument, bits);
+		}
+		return powers;
+	}
+
+	/**
+	 * Sums the series of a short <code>argument</code>, times a short
+	 * <code>factor</code>, by binary splitting until its terms are below
+	 * <code>10<sup>-precision</sup></code>. The terms left out decrease at
+	 * least by half for the arguments of {@link NumericalMethodsFunctions},
+	 * so they are below that together. The result is rounded according to the
+	 * passed context <code>mc</code>.
+	 */
+	BigDecimal sumOfShort(BigDecimal argument, BigDecimal factor, MathContext mc) {
+		return sumOfShort(argument, factor, (int) Math.ceil(mc.getPrecision() * BITS_PER_DIGIT), mc);
+	}
+
+	/**
+	 * Sums the series of a short <code>argument</code>, times a short
+	 * <code>factor</code>, by binary splitting until its terms are below
+	 * <code>2<sup>-bits</sup></code>.
+	 */
+	private BigDecimal sumOfShort(BigDecimal argument, BigDecimal factor, int bits, MathContext mc) {
+		int terms = terms(log2(argument), bits);
+		return splitting(BinarySplitting.numerator(argument), BinarySplitting.denominator(argument),
+				BinarySplitting.numerator(factor), BinarySplitting.denominator(factor)).sum(terms + 1, mc);
+	}
+
+	/**
+	 * Returns the binary splitting of the series of
+	 * <code>y = numerator / denominator</code>, whose first term is
+	 * <code>factorNumerator / factorDenominator</code> and whose terms have
+	 * the ratios <code>numerator * p(n) / (denominator * q(n))</code>.
+	 * Series whose coefficients are simpler than the products of their
+	 * ratios can split those instead.
+	 */
+	BinarySplitting splitting(final BigInteger numerator, final BigInteger denominator,
+			final BigInteger factorNumerator, final BigInteger factorDenominator) {
+		final BigInteger negated = numerator.negate();
+		return new BinarySplitting() {
+			@Override
+			BigInteger p(long n) {
+				if (n == 0) {
+					return factorNumerator;
+				}
+				long p = TruncatedSeries.this.p((int) n);
+				return p == 1 ? numerator : p == -1 ? negated : numerator.multiply(BigInteger.valueOf(p));
+			}
+
+			@Override
+			BigInteger q(long n) {
+				return n == 0 ? factorDenominator
+						: denominator.multiply(BigInteger.valueOf(TruncatedSeries.this.q((int) n)));
+			}
+		};
+	}
+
+	/**
+	 * Returns the binary logarithm of the absolute value of a non zero
+	 * <code>value</code>, also when it is out of the range of a double.
+	 */
+	private static double log2(BigDecimal value) {
+		int exponent = NumericalMethodsFunctions.decimalExponent(value);
+		return (Math.log10(Math.abs(value.movePointLeft(exponent).doubleValue())) + exponent) * BITS_PER_DIGIT;
+	}
+}
@@ -0,0 +1,90 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+public class BatchFunctionsTest {
+
+	private MathContext mc;
+	private BigDecimal[] values;
+
+	public BatchFunctionsTest() {
+		mc = new MathContext(32);
+		values = new BigDecimal[1000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = BigDecimal.valueOf(i + 1, 2);
+		}
+	}
+
+	@Test
+	public void testExp() {
+		BigDecimal[] out = new BigDecimal[values.length];
+		BatchFunctions.exp(values, out, mc);
+
+		System.out.println("Testing batch exp function with " + values.length + " values");
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(BigDecimalFunctions.exp(values[i], mc), out[i]);
+		}
+	}
+
+	@Test
+	public void testLnWithPool() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			List<BigDecimal> out = BatchFunctions.ln(Arrays.asList(values), mc, pool);
+
+			System.out.println("Testing batch ln function with " + values.length + " values");
+			assertEquals(values.length, out.size());
+			for (int i = 0; i < values.length; i++) {
+				assertEquals(BigDecimalFunctions.ln(values[i], mc), out.get(i));
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testPow() {
+		BigDecimal[] exponents = new BigDecimal[values.length];
+		for (int i = 0; i < values.length; i++) {
+			exponents[i] = values[values.length - 1 - i];
+		}
+		BigDecimal[] out = new BigDecimal[values.length];
+		BatchFunctions.pow(values, exponents, out, mc);
+
+		System.out.println("Testing batch pow function with " + values.length + " values");
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(BigDecimalFunctions.pow(values[i], exponents[i], mc), out[i]);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testShortOutput() {
+		BatchFunctions.sin(values, new BigDecimal[values.length - 1], mc);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFailingValue() {
+		BatchFunctions.ln(new BigDecimal[] { BigDecimal.ONE, BigDecimal.ONE.negate() }, new BigDecimal[2], mc);
+	}
+}
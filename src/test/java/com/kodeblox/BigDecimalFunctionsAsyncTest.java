@@ -0,0 +1,109 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.Test;
+
+public class BigDecimalFunctionsAsyncTest {
+
+	// Far more digits than can be calculated before the calculation is
+	// stopped.
+	private static final MathContext HUGE_MC = new MathContext(1000000);
+
+	private MathContext mc;
+
+	public BigDecimalFunctionsAsyncTest() {
+		mc = new MathContext(32);
+	}
+
+	@Test
+	public void testResults() throws Exception {
+		BigDecimalFunctionsAsync async = new BigDecimalFunctionsAsync();
+		BigDecimal value = new BigDecimal("1.5");
+
+		System.out.println("Testing asynchronous exp, ln and sincos functions");
+		assertEquals(BigDecimalFunctions.exp(value, mc), async.exp(value, mc).get());
+		assertEquals(BigDecimalFunctions.ln(value, mc), async.ln(value, mc).get());
+		assertArrayEquals(BigDecimalFunctions.sincos(value, mc), async.sincos(value, mc).get());
+	}
+
+	@Test
+	public void testException() throws Exception {
+		BigDecimalFunctionsAsync async = new BigDecimalFunctionsAsync();
+		try {
+			async.ln(BigDecimal.ONE.negate(), mc).get();
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IllegalArgumentException);
+		}
+	}
+
+	@Test
+	public void testCancel() throws Exception {
+		ThreadExecutor executor = new ThreadExecutor();
+		CompletableFuture<BigDecimal> future = new BigDecimalFunctionsAsync(executor).pi(HUGE_MC);
+		Thread.sleep(100);
+
+		System.out.println("Testing cancelling an asynchronous function");
+		assertTrue(future.cancel(true));
+		assertTrue(future.isCancelled());
+		executor.thread.join(60000);
+		assertFalse(executor.thread.isAlive());
+	}
+
+	@Test
+	public void testTimeout() throws Exception {
+		ThreadExecutor executor = new ThreadExecutor();
+		CompletableFuture<BigDecimal> future = new BigDecimalFunctionsAsync(executor, 100, TimeUnit.MILLISECONDS)
+				.pi(HUGE_MC);
+
+		System.out.println("Testing the timeout of an asynchronous function");
+		try {
+			future.get();
+			fail();
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof TimeoutException);
+		}
+		executor.thread.join(60000);
+		assertFalse(executor.thread.isAlive());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNonPositiveTimeout() {
+		new BigDecimalFunctionsAsync(new ThreadExecutor(), 0, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Runs every task on a thread of its own, and keeps the last one.
+	 */
+	private static final class ThreadExecutor implements Executor {
+		volatile Thread thread;
+
+		@Override
+		public void execute(Runnable task) {
+			thread = new Thread(task);
+			thread.start();
+		}
+	}
+}
@@ -18,6 +18,7 @@ import static org.junit.Assert.*;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.math.RoundingMode;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
@@ -28,9 +29,15 @@ import junitparams.Parameters;
 public class BigDecimalFunctionsTest {
 
 	private MathContext mc;
+	private MathContext highMc;
+	private MathContext veryHighMc;
+	private MathContext lowMc;
 
 	public BigDecimalFunctionsTest() {
 		mc = new MathContext(32);
+		highMc = new MathContext(64);
+		veryHighMc = new MathContext(256);
+		lowMc = MathContext.DECIMAL64;
 	}
 
 	public void printReport(Object actual, Object expected) {
@@ -140,6 +147,20 @@ public class BigDecimalFunctionsTest {
 		assertEquals(expected, actual);
 	}
 
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideSincos")
+	public void testSincos(String param, String sinAnswer, String cosAnswer) {
+
+		BigDecimal[] actual = BigDecimalFunctions.sincos(new BigDecimal(param), mc);
+		BigDecimal[] expected = { new BigDecimal(sinAnswer), new BigDecimal(cosAnswer) };
+
+		System.out.println("Testing sincos function with parameter as " + param);
+		printReport(actual[0], expected[0]);
+		printReport(actual[1], expected[1]);
+		assertEquals(expected[0], actual[0]);
+		assertEquals(expected[1], actual[1]);
+	}
+
 	@Test
 	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideFactorial")
 	public void testFactorial(String param, String answer) {
@@ -152,6 +173,35 @@ public class BigDecimalFunctionsTest {
 		assertEquals(expected, actual);
 	}
 
+	@Test(expected = IllegalArgumentException.class)
+	public void testFactorialOfNegativeInteger() {
+		BigDecimalFunctions.factorial(new BigDecimal("-3"), mc);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideGamma")
+	public void testGamma(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.gamma(new BigDecimal(param), mc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing gamma function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideLnGamma")
+	public void testLnGamma(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.lnGamma(new BigDecimal(param), mc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing lnGamma function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
 	@Test
 	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideArcsin")
 	public void testArcsin(String param, String answer) {
@@ -187,4 +237,339 @@ public class BigDecimalFunctionsTest {
 		printReport(actual, expected);
 		assertEquals(expected, actual);
 	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideSinh")
+	public void testSinh(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.sinh(new BigDecimal(param), mc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing sinh function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideCosh")
+	public void testCosh(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.cosh(new BigDecimal(param), mc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing cosh function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideTanh")
+	public void testTanh(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.tanh(new BigDecimal(param), mc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing tanh function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideSinhcosh")
+	public void testSinhcosh(String param, String sinhAnswer, String coshAnswer) {
+
+		BigDecimal[] actual = BigDecimalFunctions.sinhcosh(new BigDecimal(param), mc);
+		BigDecimal[] expected = { new BigDecimal(sinhAnswer), new BigDecimal(coshAnswer) };
+
+		System.out.println("Testing sinhcosh function with parameter as " + param);
+		printReport(actual[0], expected[0]);
+		printReport(actual[1], expected[1]);
+		assertEquals(expected[0], actual[0]);
+		assertEquals(expected[1], actual[1]);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideAsinh")
+	public void testAsinh(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.asinh(new BigDecimal(param), mc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing asinh function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideAcosh")
+	public void testAcosh(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.acosh(new BigDecimal(param), mc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing acosh function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideAtanh")
+	public void testAtanh(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.atanh(new BigDecimal(param), mc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing atanh function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "providePi")
+	public void testPi(String precision, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.pi(new MathContext(Integer.parseInt(precision)));
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing pi function with precision as " + precision);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideHighPrecisionSin")
+	public void testHighPrecisionSin(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.sin(new BigDecimal(param), highMc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing high precision sin function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideHighPrecisionCos")
+	public void testHighPrecisionCos(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.cos(new BigDecimal(param), highMc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing high precision cos function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideHighPrecisionArctan")
+	public void testHighPrecisionArctan(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.arctan(new BigDecimal(param), highMc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing high precision arctan function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideHighPrecisionExp")
+	public void testHighPrecisionExp(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.exp(new BigDecimal(param), highMc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing high precision exp function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideHighPrecisionLn")
+	public void testHighPrecisionLn(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.ln(new BigDecimal(param), highMc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing high precision ln function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideHighPrecisionSqrt")
+	public void testHighPrecisionSqrt(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.sqrt(new BigDecimal(param), highMc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing high precision sqrt function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideVeryHighPrecisionExp")
+	public void testVeryHighPrecisionExp(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.exp(new BigDecimal(param), veryHighMc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing very high precision exp function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideVeryHighPrecisionSin")
+	public void testVeryHighPrecisionSin(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.sin(new BigDecimal(param), veryHighMc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing very high precision sin function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideVeryHighPrecisionCos")
+	public void testVeryHighPrecisionCos(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.cos(new BigDecimal(param), veryHighMc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing very high precision cos function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideVeryHighPrecisionArctan")
+	public void testVeryHighPrecisionArctan(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.arctan(new BigDecimal(param), veryHighMc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing very high precision arctan function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideLowPrecisionExp")
+	public void testLowPrecisionExp(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.exp(new BigDecimal(param), lowMc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing low precision exp function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideLowPrecisionLn")
+	public void testLowPrecisionLn(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.ln(new BigDecimal(param), lowMc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing low precision ln function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideLowPrecisionSin")
+	public void testLowPrecisionSin(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.sin(new BigDecimal(param), lowMc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing low precision sin function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideLowPrecisionArctan")
+	public void testLowPrecisionArctan(String param, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.arctan(new BigDecimal(param), lowMc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing low precision arctan function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideCorrectRounding")
+	public void testCorrectRounding(String function, String param, String answer) {
+
+		// The exact results lie within a few units of the digit after the
+		// last from a rounding boundary.
+		MathContext roundingMc = new MathContext(20);
+		BigDecimal value = new BigDecimal(param);
+		BigDecimal actual;
+		if (function.equals("exp")) {
+			actual = BigDecimalFunctions.exp(value, roundingMc);
+		} else if (function.equals("ln")) {
+			actual = BigDecimalFunctions.ln(value, roundingMc);
+		} else if (function.equals("sin")) {
+			actual = BigDecimalFunctions.sin(value, roundingMc);
+		} else {
+			actual = BigDecimalFunctions.cos(value, roundingMc);
+		}
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing correct rounding of " + function + " function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideCorrectRoundingPow")
+	public void testCorrectRoundingPow(String base, String exponent, String answer) {
+
+		BigDecimal actual = BigDecimalFunctions.pow(new BigDecimal(base), new BigDecimal(exponent),
+				new MathContext(20));
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing correct rounding of pow function with parameters as " + base + ", " + exponent);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideCorrectRoundingSqrt")
+	public void testCorrectRoundingSqrt(String square, String offset, String precision, String roundingMode,
+			String answer) {
+
+		// The exact results lie just below or above a root with fewer digits.
+		MathContext roundingMc = new MathContext(Integer.parseInt(precision), RoundingMode.valueOf(roundingMode));
+		BigDecimal value = new BigDecimal(square).subtract(new BigDecimal(offset));
+		BigDecimal actual = BigDecimalFunctions.sqrt(value, roundingMc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing correct rounding of sqrt function with parameter as " + value);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+		assertEquals(BigDecimalFunctions.pow(value, new BigDecimal("0.5"), roundingMc), actual);
+	}
+
+	@Test
+	@Parameters(source = BigDecimalFunctionsTestProvider.class, method = "provideCorrectRoundingGamma")
+	public void testCorrectRoundingGamma(String param, String precision, String roundingMode, String answer) {
+
+		// The exact results lie just past a rounding boundary.
+		MathContext roundingMc = new MathContext(Integer.parseInt(precision), RoundingMode.valueOf(roundingMode));
+		BigDecimal actual = BigDecimalFunctions.gamma(new BigDecimal(param), roundingMc);
+		BigDecimal expected = new BigDecimal(answer);
+
+		System.out.println("Testing correct rounding of gamma function with parameter as " + param);
+		printReport(actual, expected);
+		assertEquals(expected, actual);
+	}
 }
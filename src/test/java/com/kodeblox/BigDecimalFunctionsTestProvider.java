@@ -26,7 +26,11 @@ public class BigDecimalFunctionsTestProvider {
 				$("1.5", "0.99749498660405443094172337114149"), 
 				$("3", "0.14112000805986722210074480280811"),
 				$("4", "-0.75680249530792825137263909451183"), 
-				$("6", "-0.27941549819892587281155544661189")
+				$("6", "-0.27941549819892587281155544661189"),
+				$("3.1415926535897932384626433832795", "2.8841971693993751058209749445923E-33"),
+				$("1E+22", "-0.85220084976718880177270589375303"),
+				$("-1E+22", "0.85220084976718880177270589375303"),
+				$("1E+100", "-0.37237612366127668826208669555316")
 				);
 	}
 	
@@ -39,7 +43,11 @@ public class BigDecimalFunctionsTestProvider {
 				$("1.5", "0.070737201667702910088189851434269"), 
 				$("3", "-0.98999249660044545727157279473126"),
 				$("4", "-0.65364362086361191463916818309775"), 
-				$("6", "0.96017028665036602054565229792292")
+				$("6", "0.96017028665036602054565229792292"),
+				$("3.1415926535897932384626433832795", "-1.0000000000000000000000000000000"),
+				$("1E+22", "0.52321478539513894549759447338471"),
+				$("-1E+22", "0.52321478539513894549759447338471"),
+				$("1E+100", "-0.92808190507465534345619464377696")
 				);
 	}
 	
@@ -52,7 +60,11 @@ public class BigDecimalFunctionsTestProvider {
 				$("1.5", "14.101419947171719387646083651988"), 
 				$("3", "-0.14254654307427780529563541053391"),
 				$("4", "1.1578212823495775831373424182673"), 
-				$("6", "-0.29100619138474915705369958886818")
+				$("6", "-0.29100619138474915705369958886818"),
+				$("3.1415926535897932384626433832795", "-2.8841971693993751058209749445923E-33"),
+				$("1E+22", "-1.6287782256068988785493759369395"),
+				$("-1E+22", "1.6287782256068988785493759369395"),
+				$("1E+100", "0.40123196199081435418575434365329")
 				);
 	}
 
@@ -64,7 +76,12 @@ public class BigDecimalFunctionsTestProvider {
 				$("123456.789", "11.723646487185880981139958983910"),
 				$("0.123456789", "-2.0918640707783931229679897441961"),
 				$("1.234", "0.21026092548319607136082943601527"), 
-				$("0.000001", "-13.815510557964274104107948728106")
+				$("0.000001", "-13.815510557964274104107948728106"),
+				$("1.2345E+30", "69.288218819624467662373655357388"),
+				$("1E-300", "-690.77552789821370520539743640531"),
+				$("0.9999", "-0.00010000500033335833533350001428696"),
+				$("1.0001", "0.000099995000333308335333166680951131"),
+				$("0.75", "-0.28768207245178092743921900599383")
 				);
 	}
 	
@@ -74,7 +91,10 @@ public class BigDecimalFunctionsTestProvider {
 				$("50", "2","7.0710678118654752440084436210485"),
 				$("50.69", "4", "2.6682749117231202741176959364951"),
 				$("0.123456789", "9", "0.79260575194142481623067720344431"),
-				$("1.234", "4", "1.0539713118296461859613463982569")
+				$("1.234", "4", "1.0539713118296461859613463982569"),
+				$("1.2345E-20", "7", "0.0014319481713402375237883986177322"),
+				$("1.2345E+30", "3", "10727463151.582115135067684370586"),
+				$("123456.789", "7", "5.3377629449198989736131593981879")
 				);
 	}
 	
@@ -83,34 +103,81 @@ public class BigDecimalFunctionsTestProvider {
 				$("5", "2.5", "55.901699437494742410229341718282"), 
 				$("50", "2.123","4044.9515049125629865357783044149"),
 				$("50.69", "4.398", "31495480.383910008138356720479906"),
-				$("123456.789", "0.598", "1108.4751369350932829172004105236")
+				$("123456.789", "0.598", "1108.4751369350932829172004105236"),
+				$("4", "1.5", "8.0000000000000000000000000000000"),
+				$("16", "-0.25", "0.5"),
+				$("2", "0.5", "1.4142135623730950488016887242097"),
+				$("10.5", "2.75", "643.08824684957993398868366655430")
 				);
 	}
 	
 	public static Object[] providePowLong() {
 		return $(
-				$("50.69", "5", "334665894.5492056349")
+				$("50.69", "5", "334665894.5492056349"),
+				$("2", "-10", "0.0009765625"),
+				$("1.2345678901234567", "1000", "3.2732351986215303297732283333632E+91"),
+				$("1.0000001", "-123456789", "0.0000043485057278501254234612560247243")
 				);
 	}
 	
 	public static Object[] provideExp() {
 		return $(
-				$("50.69", "10336827947635332209195.556992944")
+				$("50.69", "10336827947635332209195.556992944"),
+				$("-50.69", "9.6741476695349413644477985691958E-23"),
+				$("-0.5", "0.60653065971263342360379953499118"),
+				$("1.2345E-20", "1.0000000000000000000123450000000"),
+				$("12345.6789", "4.5732150011971815977108683431702E+5361")
 				);
 	}
 	
 	public static Object[] provideSqrt() {
 		return $(
-				$("50.69", "7.1196910045310252916502843877933")
+				$("50.69", "7.1196910045310252916502843877933"),
+				$("1.2345E+30", "1111080555135405.1124500443874308"),
+				$("1.2345E-20", "1.1110805551354051124500443874308E-10"),
+				$("0.000123", "0.011090536506409417162051600102610")
 				);
 	}
 	
+	public static Object[] provideSincos() {
+		return $(
+				$("-4", "0.75680249530792825137263909451183", "-0.65364362086361191463916818309775"),
+				$("0.5", "0.47942553860420300027328793521557", "0.87758256189037271611628158260383"),
+				$("2", "0.90929742682568169539601986591174", "-0.41614683654714238699756822950076"),
+				$("5.5", "-0.70554032557039190623191917552207", "0.70866977429126000002742118132584"),
+				$("100", "-0.50636564110975879365655761045979", "0.86231887228768393410193851395084")
+				);
+	}
+
 	public static Object[] provideFactorial() {
 		return $(
 				$("5", "120"), 
 				$("20", "2432902008176640000"),
 				$("25", "15511210043330985984000000"),
-				$("28", "304888344611713860501504000000")
+				$("28", "304888344611713860501504000000"),
+				$("2000", "3.3162750924506332411753933805763E+5735"),
+				$("1.5", "1.3293403881791370204736256125059"),
+				$("-0.5", "1.7724538509055160272981674833411")
+				);
+	}
+
+	public static Object[] provideGamma() {
+		return $(
+				$("0.5", "1.7724538509055160272981674833411"),
+				$("-2.5", "-0.94530872048294188122568932444861"),
+				$("3.7", "4.1706517837966031653936029986180"),
+				$("12", "39916800"),
+				$("123.456", "8.8531493293190841383651171065800E+203")
+				);
+	}
+
+	public static Object[] provideLnGamma() {
+		return $(
+				$("0.25", "1.2880225246980774573706104402197"),
+				$("1.5", "-0.12078223763524522234551844578165"),
+				$("2.001", "0.00042310673480016362517970294442489"),
+				$("1000", "5905.2204232091812118260769123614"),
+				$("1000000.5", "12815511.476902765642114023844200")
 				);
 	}
 	
@@ -121,6 +188,8 @@ public class BigDecimalFunctionsTestProvider {
 				$("-0.25", "-0.25268025514207865348565743699371"),
 				$("0.25", "0.25268025514207865348565743699371"),
 				$("0.5", "0.52359877559829887307710723054658"),
+				$("0.9999999999999", "1.5707958795813011192696556298425"),
+				$("0.99999999999999999999", "1.5707963266534752629940121867595"),
 				$("1", "1.5707963267948966192313216916398")
 				);
 	}
@@ -132,6 +201,8 @@ public class BigDecimalFunctionsTestProvider {
 				$("-0.25", "1.8234765819369752727169791286335"),
 				$("0.25", "1.3181160716528179657456642546460"),
 				$("0.5", "1.0471975511965977461542144610932"),
+				$("0.9999999999999", "4.4721359549996166606179723347960E-7"),
+				$("0.99999999999999999999", "1.4142135623730950488028672355117E-10"),
 				$("1", "0")
 				);
 	}
@@ -149,4 +220,238 @@ public class BigDecimalFunctionsTestProvider {
 				$("50", "1.5507989928217460861705684947382")
 				);
 	}
+
+	public static Object[] provideSinh() {
+		return $(
+				$("-3", "-10.017874927409901898974593619466"),
+				$("-0.25", "-0.25261231680816830791412515054206"),
+				$("1E-10", "1.0000000000000000000016666666667E-10"),
+				$("0.5", "0.52109530549374736162242562641149"),
+				$("2", "3.6268604078470187676682139828013"),
+				$("50", "2592352764293536232043.7266614667")
+				);
+	}
+
+	public static Object[] provideCosh() {
+		return $(
+				$("-3", "10.067661995777765841953936035116"),
+				$("-0.25", "1.0314130998795731761592954175204"),
+				$("1E-10", "1.0000000000000000000050000000000"),
+				$("0.5", "1.1276259652063807852262251614027"),
+				$("2", "3.7621956910836314595622134777737"),
+				$("50", "2592352764293536232043.7266614667")
+				);
+	}
+
+	public static Object[] provideTanh() {
+		return $(
+				$("-0.3", "-0.29131261245159090581822127282377"),
+				$("0.25", "0.24491866240370912927780113149102"),
+				$("1", "0.76159415595576488811945828260479"),
+				$("5", "0.99990920426259513121099044753447"),
+				$("100", "1.0000000000000000000000000000000")
+				);
+	}
+
+	public static Object[] provideSinhcosh() {
+		return $(
+				$("-2", "-3.6268604078470187676682139828013", "3.7621956910836314595622134777737"),
+				$("0.1", "0.10016675001984402582372938352191", "1.0050041680558035989879784429683"),
+				$("0.5", "0.52109530549374736162242562641149", "1.1276259652063807852262251614027"),
+				$("10", "11013.232874703393377236524554846", "11013.232920103323139721376090438")
+				);
+	}
+
+	public static Object[] provideAsinh() {
+		return $(
+				$("-2", "-1.4436354751788103424932767402731"),
+				$("1E-5", "0.0000099999999998333333333408333333329"),
+				$("0.3", "0.29567304756342243910271052973352"),
+				$("0.75", "0.69314718055994530941723212145818"),
+				$("1000", "7.6009027095419886115232897846649")
+				);
+	}
+
+	public static Object[] provideAcosh() {
+		return $(
+				$("1", "0"),
+				$("1.25", "0.69314718055994530941723212145818"),
+				$("1.6", "1.0469679150031884110664065408935"),
+				$("2", "1.3169578969248167086250463473080"),
+				$("1E+6", "14.508657738523969413525180755814")
+				);
+	}
+
+	public static Object[] provideAtanh() {
+		return $(
+				$("-0.75", "-0.97295507452765665255267637172159"),
+				$("-0.1", "-0.10033534773107558063572655206004"),
+				$("0.5", "0.54930614433405484569762261846126"),
+				$("0.9", "1.4722194895832202300045137159439"),
+				$("0.999999", "7.2543286192620472067417570836363")
+				);
+	}
+
+	public static Object[] providePi() {
+		return $(
+				$("16", "3.141592653589793"),
+				$("64", "3.141592653589793238462643383279502884197169399375105820974944592"),
+				$("100", "3.141592653589793238462643383279502884197169399375105820974944592307816406286208998628034825342117068")
+				);
+	}
+
+	public static Object[] provideHighPrecisionSin() {
+		return $(
+				$("-6", "0.2794154981989258728115554466118947596279948643182043184833513697"),
+				$("3", "0.1411200080598672221007448028081102798469332642522655841518826412"),
+				$("4", "-0.7568024953079282513726390945118290941359128873364725714854167734"),
+				$("10", "-0.5440211108893698134047476618513772816836430129162238915741840126")
+				);
+	}
+
+	public static Object[] provideHighPrecisionCos() {
+		return $(
+				$("-6", "0.9601702866503660205456522979229244054519376792110126981292864261"),
+				$("3", "-0.9899924966004454572715727947312613023936790966155883288140859329"),
+				$("4", "-0.6536436208636119146391681830977503814241335966462182470070102839"),
+				$("10", "-0.8390715290764524522588639478240648345199301651331685468359537310")
+				);
+	}
+
+	public static Object[] provideHighPrecisionArctan() {
+		return $(
+				$("-1", "-0.7853981633974483096156608458198757210492923498437764552437361481"),
+				$("0.5", "0.4636476090008061162142562314612144020285370542861202638109330887"),
+				$("50", "1.550798992821746086170568494738154954149351501001044426581577853")
+				);
+	}
+
+	public static Object[] provideHighPrecisionExp() {
+		return $(
+				$("1", "2.718281828459045235360287471352662497757247093699959574966967628"),
+				$("-1", "0.3678794411714423215955237701614608674458111310317678345078368017"),
+				$("0.001", "1.001000500166708341668055753993058311563076200580701460228514674"),
+				$("50.69", "10336827947635332209195.55699294393343791967607776084573294943664")
+				);
+	}
+
+	public static Object[] provideHighPrecisionLn() {
+		return $(
+				$("2", "0.6931471805599453094172321214581765680755001343602552541206800095"),
+				$("10", "2.302585092994045684017991454684364207601101488628772976033327901"),
+				$("5", "1.609437912434100374600759333226187639525601354268517721912647891"),
+				$("0.123456789", "-2.091864070778393122967989744196073658696231556638554809114861164")
+				);
+	}
+
+	public static Object[] provideHighPrecisionSqrt() {
+		return $(
+				$("2", "1.414213562373095048801688724209698078569671875376948073176679738"),
+				$("3", "1.732050807568877293527446341505872366942805253810380628055806979"),
+				$("50.69", "7.119691004531025291650284387793336487756913298652488818302775806")
+				);
+	}
+
+	public static Object[] provideVeryHighPrecisionExp() {
+		return $(
+				$("0.5",
+						"1.648721270700128146848650787814163571653776100710148011575079311640661021194215608632776520056366643002866637756307797004671166975219609159840971452490059796929422659098403914719948464659489244896868905336418465720841066656859800088924981211712287375214972"),
+				$("-50.69",
+						"9.674147669534941364447798569195832183378726191155115163239298579886155631485991115688073739826320700451381577443683981787855186819934120713543694107325343456656903066518873683708616210124963813147930370232776624315099854223087843531491541954336189588036871E-23")
+				);
+	}
+
+	public static Object[] provideVeryHighPrecisionSin() {
+		return $(
+				$("0.5",
+						"0.4794255386042030002732879352155713880818033679406006751886166131255350002878148322096312746843482690861320910845057174178110937486099402827801539620461919246099572939322814005335463381880552285956701356998542336391210717207773801529798713771695151761807211"),
+				$("10",
+						"-0.5440211108893698134047476618513772816836430129162238915741840126167572096404934257070756738949832161582938242382628322855195070564382997031308242946106336402632162819848563292640476567956663204637792692740253772729061127670645104848711045712637941468213929")
+				);
+	}
+
+	public static Object[] provideVeryHighPrecisionCos() {
+		return $(
+				$("0.5",
+						"0.8775825618903727161162815826038296519916451971097440529976108683159507632742139474057941840846822583554784005931090539934138279768332802667997561209502240155876291568785907234769393109896167396770144089976491285702134682183845438183933161688075406608111594"),
+				$("10",
+						"-0.8390715290764524522588639478240648345199301651331685468359537310487925868662707684009337127604221389274510544053502436236984233798795775196961863613859901624057619918200640010096655096546904104828445966689803867547169711710105208269213073241834125670722656")
+				);
+	}
+
+	public static Object[] provideVeryHighPrecisionArctan() {
+		return $(
+				$("0.2",
+						"0.1973955598498807583700497651947902934475851037878521015176889402410339699782437857326978280372880441126281180736913601044564798867942393557475654952163032700522107470015645015560061286185526633257318692806643896806189528405825931124251613297313993397113234"),
+				$("3",
+						"1.249045772398254425829917077281090123077829404129896719054669236797151965737293954957608990320417159552066873879511414175279279334012656713402870421976225900081907291840364731808892667143663044249449380274680981203022155450131429257930709747155985592381434")
+				);
+	}
+
+	public static Object[] provideLowPrecisionExp() {
+		return $(
+				$("0.5", "1.648721270700128"),
+				$("-3.25", "0.03877420783172201"),
+				$("12.75", "344551.8961378237")
+				);
+	}
+
+	public static Object[] provideLowPrecisionLn() {
+		return $(
+				$("2", "0.6931471805599453"),
+				$("0.75", "-0.2876820724517809"),
+				$("1234.5", "7.118421308785234")
+				);
+	}
+
+	public static Object[] provideLowPrecisionSin() {
+		return $(
+				$("0.5", "0.4794255386042030"),
+				$("2.5", "0.5984721441039565"),
+				$("-1.75", "-0.9839859468739369")
+				);
+	}
+
+	public static Object[] provideLowPrecisionArctan() {
+		return $(
+				$("0.5", "0.4636476090008061"),
+				$("3", "1.249045772398254"),
+				$("-0.125", "-0.1243549945467614")
+				);
+	}
+
+	public static Object[] provideCorrectRounding() {
+		return $(
+				$("exp", "7.9450", "2821.4324614083096376"),
+				$("ln", "2.6534", "0.97584183650067935074"),
+				$("sin", "5.1820", "-0.89174438462269520580"),
+				$("sin", "9.3274", "0.097224136498634954638"),
+				$("cos", "4.8253", "0.11267125731632275577")
+				);
+	}
+
+	public static Object[] provideCorrectRoundingPow() {
+		return $(
+				$("3.7917", "6.54", "6103.4326194870140175"),
+				$("8.1988", "7.38", "5539584.0766162432173")
+				);
+	}
+
+	public static Object[] provideCorrectRoundingSqrt() {
+		return $(
+				$("1.52415787532388367526596557677488187881", "1E-60", "20", "DOWN", "1.2345678901234567890"),
+				$("1.52399025", "1E-40", "5", "DOWN", "1.2344"),
+				$("1.52399025", "-1E-40", "5", "UP", "1.2346"),
+				$("1.52399025", "1E-40", "5", "CEILING", "1.2345")
+				);
+	}
+
+	public static Object[] provideCorrectRoundingGamma() {
+		return $(
+				$("1.000000677", "3", "DOWN", "0.999"),
+				$("2.0000000341", "3", "CEILING", "1.01"),
+				$("-2.65", "12", "UP", "-0.895860307768"),
+				$("-3.9952", "12", "CEILING", "8.74384692611")
+				);
+	}
 }
@@ -0,0 +1,99 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import org.junit.Test;
+
+public class CachedFunctionsTest {
+
+	private MathContext mc;
+
+	public CachedFunctionsTest() {
+		mc = new MathContext(32);
+	}
+
+	@Test
+	public void testHit() {
+		CachedFunctions cached = new CachedFunctions(16);
+		BigDecimal first = cached.exp(new BigDecimal("1.5"), mc);
+		BigDecimal second = cached.exp(new BigDecimal("1.50"), mc);
+
+		System.out.println("Testing cached exp function");
+		assertEquals(BigDecimalFunctions.exp(new BigDecimal("1.5"), mc), first);
+		assertSame(first, second);
+		assertEquals(1, cached.missCount());
+		assertEquals(1, cached.hitCount());
+	}
+
+	@Test
+	public void testContextIsPartOfKey() {
+		CachedFunctions cached = new CachedFunctions(16);
+		BigDecimal two = new BigDecimal("2");
+		assertEquals(BigDecimalFunctions.ln(two, mc), cached.ln(two, mc));
+		assertEquals(BigDecimalFunctions.ln(two, new MathContext(32, RoundingMode.DOWN)),
+				cached.ln(two, new MathContext(32, RoundingMode.DOWN)));
+		assertEquals(BigDecimalFunctions.sqrt(two, mc), cached.sqrt(two, mc));
+		assertEquals(BigDecimalFunctions.pow(two, 3, mc), cached.pow(two, 3, mc));
+		assertEquals(BigDecimalFunctions.root(two, 3, mc), cached.root(two, 3, mc));
+		assertEquals(0, cached.hitCount());
+		assertEquals(5, cached.missCount());
+	}
+
+	@Test
+	public void testScaleOfArguments() {
+		CachedFunctions cached = new CachedFunctions(16);
+
+		System.out.println("Testing cached functions with trailing zeros in their arguments");
+		assertEquals(new BigDecimal("8.000"), cached.pow(new BigDecimal("2.0"), 3, mc));
+		assertEquals(new BigDecimal("2.0"), cached.sqrt(new BigDecimal("4.00"), mc));
+		assertEquals(new BigDecimal("2.2500"), cached.pow(new BigDecimal("1.50"), new BigDecimal("2.0"), mc));
+
+		// A hit returns the result of the call that missed.
+		assertEquals(new BigDecimal("8.000"), cached.pow(new BigDecimal("2"), 3, mc));
+		assertEquals(1, cached.hitCount());
+	}
+
+	@Test
+	public void testEviction() {
+		CachedFunctions cached = new CachedFunctions(4);
+		for (int i = 0; i < 10; i++) {
+			cached.sin(BigDecimal.valueOf(i), mc);
+		}
+
+		System.out.println("Testing cached sin function with eviction");
+		assertTrue(cached.size() <= 4);
+		assertEquals(10 - cached.size(), cached.evictionCount());
+	}
+
+	@Test
+	public void testSincosIsCopied() {
+		CachedFunctions cached = new CachedFunctions(16);
+		BigDecimal[] first = cached.sincos(BigDecimal.ONE, mc);
+		first[0] = null;
+		BigDecimal[] second = cached.sincos(BigDecimal.ONE, mc);
+		assertEquals(BigDecimalFunctions.sin(BigDecimal.ONE, mc), second[0]);
+		assertEquals(BigDecimalFunctions.cos(BigDecimal.ONE, mc), second[1]);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFailingValue() {
+		new CachedFunctions(16).ln(BigDecimal.ONE.negate(), mc);
+	}
+}
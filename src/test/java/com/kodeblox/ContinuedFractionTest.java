@@ -0,0 +1,102 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+
+package com.kodeblox;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import org.junit.Test;
+
+public class ContinuedFractionTest {
+
+	// tan (x) = x / (1 - x ^ 2 / (3 - x ^ 2 / (5 - ...)))
+	private static final ContinuedFraction TAN_FRACTION = new ContinuedFraction() {
+		@Override
+		protected BigDecimal a(int n, BigDecimal x) {
+			return n == 1 ? x : x.multiply(x).negate();
+		}
+
+		@Override
+		protected BigDecimal b(int n, BigDecimal x) {
+			return BigDecimal.valueOf(n == 0 ? 0 : 2 * n - 1);
+		}
+	};
+
+	// erfc (x) = e ^ (-x ^ 2) / sqrt(PI) / (x + (1 / 2) / (x + 1 / (x + (3 / 2) / (x + ...))))
+	private static final ContinuedFraction ERFC_FRACTION = new ContinuedFraction() {
+		@Override
+		protected BigDecimal a(int n, BigDecimal x) {
+			return BigDecimal.valueOf(n).divide(BigDecimal.valueOf(2));
+		}
+
+		@Override
+		protected BigDecimal b(int n, BigDecimal x) {
+			return x;
+		}
+	};
+
+	private MathContext mc;
+	private MathContext newMc;
+
+	public ContinuedFractionTest() {
+		mc = new MathContext(32);
+		newMc = new MathContext(40);
+	}
+
+	@Test
+	public void testSameAsTan() {
+		String[] angles = { "0.5", "-0.3", "1", "1.5" };
+		for (String angle : angles) {
+			BigDecimal x = new BigDecimal(angle);
+			System.out.println("Testing tan continued fraction with parameter as " + angle);
+			assertEquals(BigDecimalFunctions.tan(x, mc), TAN_FRACTION.evaluate(x, newMc).round(mc));
+		}
+	}
+
+	@Test
+	public void testErfc() {
+		String[][] cases = { { "3", "0.000022090496998585441372776129582320" },
+				{ "5", "1.5374597944280348501883434853834E-12" } };
+		BigDecimal sqrtPi = BigDecimalFunctions.sqrt(BigDecimalFunctions.pi(newMc), newMc);
+		for (String[] test : cases) {
+			BigDecimal x = new BigDecimal(test[0]);
+			BigDecimal actual = BigDecimalFunctions.exp(x.multiply(x).negate(), newMc)
+					.divide(sqrtPi.multiply(ERFC_FRACTION.evaluate(x, newMc), newMc), newMc).round(mc);
+
+			System.out.println("Testing erfc continued fraction with parameter as " + test[0]);
+			assertEquals(new BigDecimal(test[1]), actual);
+		}
+	}
+
+	@Test
+	public void testSqrt2() {
+
+		// sqrt(2) = 1 + 1 / (2 + 1 / (2 + ...))
+		ContinuedFraction sqrt2 = new ContinuedFraction() {
+			@Override
+			protected BigDecimal a(int n, BigDecimal argument) {
+				return BigDecimal.ONE;
+			}
+
+			@Override
+			protected BigDecimal b(int n, BigDecimal argument) {
+				return BigDecimal.valueOf(n == 0 ? 1 : 2);
+			}
+		};
+		assertEquals(BigDecimalFunctions.sqrt(BigDecimal.valueOf(2), mc), sqrt2.evaluate(null, mc));
+	}
+}
@@ -0,0 +1,93 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import org.junit.After;
+import org.junit.Test;
+
+public class LookupTablesTest {
+
+	private static final String[] EXPONENTS = { "0.5", "-0.75", "1.5", "-2.25", "10", "123.456", "-50.5", "0.001",
+			"1E-20" };
+
+	private static final String[] VALUES = { "0.5", "0.75", "1.5", "2.25", "10.5", "123.456", "0.001", "1.0000001",
+			"0.99999999999" };
+
+	private MathContext mc;
+
+	public LookupTablesTest() {
+		mc = new MathContext(32);
+	}
+
+	@After
+	public void disable() {
+		LookupTables.disableAll();
+	}
+
+	@Test
+	public void testSameResults() {
+		MathContext downMc = new MathContext(32, RoundingMode.DOWN);
+		BigDecimal[] exps = new BigDecimal[EXPONENTS.length];
+		BigDecimal[] logs = new BigDecimal[VALUES.length];
+		BigDecimal[] downLogs = new BigDecimal[VALUES.length];
+		for (int i = 0; i < EXPONENTS.length; i++) {
+			exps[i] = BigDecimalFunctions.exp(new BigDecimal(EXPONENTS[i]), mc);
+		}
+		for (int i = 0; i < VALUES.length; i++) {
+			logs[i] = BigDecimalFunctions.ln(new BigDecimal(VALUES[i]), mc);
+			downLogs[i] = BigDecimalFunctions.ln(new BigDecimal(VALUES[i]), downMc);
+		}
+
+		LookupTables.enable(mc, 8);
+
+		System.out.println("Testing exp and ln with lookup tables");
+		for (int i = 0; i < EXPONENTS.length; i++) {
+			assertEquals(exps[i], BigDecimalFunctions.exp(new BigDecimal(EXPONENTS[i]), mc));
+		}
+		for (int i = 0; i < VALUES.length; i++) {
+			assertEquals(logs[i], BigDecimalFunctions.ln(new BigDecimal(VALUES[i]), mc));
+			assertEquals(downLogs[i], BigDecimalFunctions.ln(new BigDecimal(VALUES[i]), downMc));
+		}
+	}
+
+	@Test
+	public void testFootprint() {
+		long small = LookupTables.enable(mc, 4);
+		assertEquals(small, LookupTables.footprint());
+		long large = LookupTables.enable(mc, 10);
+		assertEquals(large, LookupTables.footprint());
+		assertTrue(large > 32 * small);
+
+		long other = LookupTables.enable(new MathContext(64), 4);
+		assertEquals(large + other, LookupTables.footprint());
+		LookupTables.disable(mc);
+		assertEquals(other, LookupTables.footprint());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooManyBits() {
+		LookupTables.enable(mc, LookupTables.MAXIMUM_BITS + 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnlimitedPrecision() {
+		LookupTables.enable(MathContext.UNLIMITED, 8);
+	}
+}
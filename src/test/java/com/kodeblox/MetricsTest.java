@@ -0,0 +1,120 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+package com.kodeblox;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Map;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class MetricsTest {
+
+	@Test
+	public void testDisabledByDefault() {
+		Assume.assumeFalse(Boolean.getBoolean("com.kodeblox.metrics"));
+		BigDecimalFunctions.exp(BigDecimal.ONE.negate(), new MathContext(32));
+
+		System.out.println("Testing that metrics are off by default");
+		assertFalse(Metrics.get().isEnabled());
+		assertEquals(Long.valueOf(0), Metrics.get().getCalls().get("exp"));
+		assertEquals(Long.valueOf(0), Metrics.get().getKernelSteps().get("expTaylorSeries"));
+	}
+
+	@Test
+	public void testRecording() {
+		Assume.assumeTrue(Boolean.getBoolean("com.kodeblox.metrics"));
+		Metrics metrics = Metrics.get();
+		metrics.reset();
+		BigDecimalFunctions.exp(new BigDecimal("1.5"), new MathContext(50));
+
+		System.out.println("Testing that metrics record the calls of a function");
+		assertTrue(metrics.isEnabled());
+		assertEquals(Long.valueOf(1), metrics.getCalls().get("exp"));
+		assertEquals(Double.valueOf(50), metrics.getMeanPrecisions().get("exp"));
+		assertEquals(Long.valueOf(50), metrics.getMaximumPrecisions().get("exp"));
+		assertEquals(1, sum(metrics.getLatencyHistograms().get("exp")));
+		assertTrue(sum(metrics.getKernelCalls()) > 0);
+		assertTrue(sum(metrics.getKernelSteps()) > 0);
+		assertTrue(sum(metrics.getMaximumKernelSteps()) > 0);
+
+		metrics.reset();
+		assertEquals(Long.valueOf(0), metrics.getCalls().get("exp"));
+		assertEquals(Long.valueOf(0), metrics.getMaximumPrecisions().get("exp"));
+		assertEquals(0, sum(metrics.getLatencyHistograms().get("exp")));
+		assertEquals(0, sum(metrics.getKernelCalls()));
+		assertEquals(0, sum(metrics.getKernelSteps()));
+		assertEquals(0, sum(metrics.getMaximumKernelSteps()));
+	}
+
+	@Test
+	public void testOutermostCallsOnly() {
+		Assume.assumeTrue(Boolean.getBoolean("com.kodeblox.metrics"));
+		Metrics metrics = Metrics.get();
+		metrics.reset();
+		MathContext mc = new MathContext(50);
+		BigDecimalFunctions.root(new BigDecimal("1.3"), 3, mc);
+		BigDecimalFunctions.arctan(new BigDecimal("-7"), mc);
+		BigDecimalFunctions.gamma(new BigDecimal("3.7"), mc);
+
+		System.out.println("Testing that metrics leave out the calls the functions make of one another");
+		assertEquals(Long.valueOf(1), metrics.getCalls().get("root"));
+		assertEquals(Long.valueOf(1), metrics.getCalls().get("arctan"));
+		assertEquals(Long.valueOf(1), metrics.getCalls().get("gamma"));
+		assertEquals(Long.valueOf(0), metrics.getCalls().get("pow"));
+		assertEquals(Long.valueOf(0), metrics.getCalls().get("ln"));
+		assertEquals(Long.valueOf(0), metrics.getCalls().get("exp"));
+		assertEquals(Long.valueOf(1), metrics.getKernelCalls().get("rootNewtonRaphson"));
+		Map<String, long[]> latencies = metrics.getLatencyHistograms();
+		assertEquals(1, sum(latencies.get("root")));
+		assertEquals(1, sum(latencies.get("arctan")));
+		assertEquals(0, sum(latencies.get("pow")));
+	}
+
+	@Test
+	public void testMXBean() throws Exception {
+		MBeanServer server = MBeanServerFactory.newMBeanServer();
+		ObjectName name = new ObjectName(Metrics.OBJECT_NAME);
+		server.registerMBean(Metrics.get(), name);
+
+		System.out.println("Testing the metrics MXBean");
+		assertTrue(server.getAttribute(name, "Calls") instanceof TabularData);
+		assertTrue(server.getAttribute(name, "LatencyHistograms") instanceof TabularData);
+		assertTrue(server.getAttribute(name, "MeanKernelPrecisions") instanceof TabularData);
+		server.invoke(name, "reset", null, null);
+	}
+
+	private static long sum(long[] histogram) {
+		long sum = 0;
+		for (long count : histogram) {
+			sum += count;
+		}
+		return sum;
+	}
+
+	private static long sum(Map<String, Long> counts) {
+		long sum = 0;
+		for (long count : counts.values()) {
+			sum += count;
+		}
+		return sum;
+	}
+}
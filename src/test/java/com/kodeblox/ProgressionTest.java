@@ -0,0 +1,170 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+
+package com.kodeblox;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import org.junit.Test;
+
+public class ProgressionTest {
+
+	private static final String[] VALUES = { "0.5", "1.5", "-2.25", "10", "123.456", "0.001", "1.0000001",
+			"3.14159265358979323846264338327950288419716939937510" };
+
+	private MathContext mc;
+
+	public ProgressionTest() {
+		mc = new MathContext(300);
+	}
+
+	@Test
+	public void testApproximations() {
+		MathContext referenceMc = new MathContext(mc.getPrecision() + 20);
+
+		System.out.println("Testing progressions of exp, ln, sin and cos functions");
+		for (String string : VALUES) {
+			BigDecimal value = new BigDecimal(string);
+			check(Progression.exp(value, mc), BigDecimalFunctions.exp(value, referenceMc),
+					BigDecimalFunctions.exp(value, mc));
+			check(Progression.ln(value.abs(), mc), BigDecimalFunctions.ln(value.abs(), referenceMc),
+					BigDecimalFunctions.ln(value.abs(), mc));
+			check(Progression.sin(value, mc), BigDecimalFunctions.sin(value, referenceMc),
+					BigDecimalFunctions.sin(value, mc));
+			check(Progression.cos(value, mc), BigDecimalFunctions.cos(value, referenceMc),
+					BigDecimalFunctions.cos(value, mc));
+		}
+	}
+
+	@Test
+	public void testDirectedRounding() {
+		RoundingMode[] modes = { RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR };
+		int[] precisions = { 17, 50, 120 };
+
+		System.out.println("Testing progressions of exp, ln, sin and cos functions in directed rounding modes");
+		for (RoundingMode mode : modes) {
+			for (int precision : precisions) {
+				MathContext directedMc = new MathContext(precision, mode);
+				MathContext referenceMc = new MathContext(precision + 20);
+				for (String string : VALUES) {
+					BigDecimal value = new BigDecimal(string);
+					check(Progression.exp(value, directedMc), BigDecimalFunctions.exp(value, referenceMc),
+							BigDecimalFunctions.exp(value, directedMc));
+					check(Progression.ln(value.abs(), directedMc), BigDecimalFunctions.ln(value.abs(), referenceMc),
+							BigDecimalFunctions.ln(value.abs(), directedMc));
+					check(Progression.sin(value, directedMc), BigDecimalFunctions.sin(value, referenceMc),
+							BigDecimalFunctions.sin(value, directedMc));
+					check(Progression.cos(value, directedMc), BigDecimalFunctions.cos(value, referenceMc),
+							BigDecimalFunctions.cos(value, directedMc));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCorrectlyRounded() {
+		MathContext upMc = new MathContext(17, RoundingMode.UP);
+		check(Progression.sin(new BigDecimal("-0.816756"), upMc),
+				BigDecimalFunctions.sin(new BigDecimal("-0.816756"), new MathContext(40)),
+				new BigDecimal("-0.72892886089574755"));
+		MathContext ceilingMc = new MathContext(17, RoundingMode.CEILING);
+		check(Progression.cos(new BigDecimal("967.880"), ceilingMc),
+				BigDecimalFunctions.cos(new BigDecimal("967.880"), new MathContext(40)),
+				BigDecimalFunctions.cos(new BigDecimal("967.880"), ceilingMc));
+		MathContext halfUpMc = new MathContext(50, RoundingMode.HALF_UP);
+		check(Progression.cos(new BigDecimal("99.4366"), halfUpMc),
+				BigDecimalFunctions.cos(new BigDecimal("99.4366"), new MathContext(70)),
+				BigDecimalFunctions.cos(new BigDecimal("99.4366"), halfUpMc));
+	}
+
+	@Test
+	public void testExact() {
+		Progression progression = Progression.exp(BigDecimal.ZERO, mc);
+		Progression.Approximation approximation = progression.next();
+		assertEquals(BigDecimal.ONE, approximation.getValue());
+		assertEquals(BigDecimal.ZERO, approximation.getError());
+		assertTrue(approximation.isFinal());
+		assertFalse(progression.hasNext());
+	}
+
+	@Test
+	public void testLowPrecision() {
+		MathContext lowMc = new MathContext(10);
+		Progression progression = Progression.sin(BigDecimal.ONE, lowMc);
+		assertEquals(BigDecimalFunctions.sin(BigDecimal.ONE, lowMc), progression.next().getValue());
+		assertFalse(progression.hasNext());
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testNoMoreApproximations() {
+		Progression progression = Progression.ln(BigDecimal.ONE, mc);
+		progression.next();
+		progression.next();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNonPositiveLog() {
+		Progression.ln(BigDecimal.ONE.negate(), mc);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnlimitedPrecision() {
+		Progression.exp(BigDecimal.ONE, MathContext.UNLIMITED);
+	}
+
+	@Test
+	public void testRefine() throws Exception {
+		final List<Progression.Approximation> approximations = new ArrayList<Progression.Approximation>();
+		Progression progression = Progression.exp(new BigDecimal("1.5"), mc);
+
+		System.out.println("Testing asynchronous refinement of a progression");
+		Progression.Approximation last = new BigDecimalFunctionsAsync()
+				.refine(progression, new Consumer<Progression.Approximation>() {
+					@Override
+					public void accept(Progression.Approximation approximation) {
+						approximations.add(approximation);
+					}
+				}).get();
+		assertTrue(approximations.size() > 1);
+		assertSame(approximations.get(approximations.size() - 1), last);
+		assertEquals(BigDecimalFunctions.exp(new BigDecimal("1.5"), mc), last.getValue());
+	}
+
+	/**
+	 * Checks that the approximations of <code>progression</code> have more
+	 * digits every time, are within their error of <code>reference</code>, and
+	 * end with <code>result</code>.
+	 */
+	private void check(Progression progression, BigDecimal reference, BigDecimal result) {
+		int precision = 0;
+		Progression.Approximation approximation = null;
+		while (progression.hasNext()) {
+			approximation = progression.next();
+			assertTrue(approximation.getPrecision() > precision);
+			assertTrue(approximation.getValue().subtract(reference).abs().compareTo(approximation.getError()) <= 0);
+			precision = approximation.getPrecision();
+		}
+		assertTrue(approximation.isFinal());
+		assertEquals(progression.getMathContext().getPrecision(), approximation.getPrecision());
+		assertEquals(result, approximation.getValue());
+	}
+}
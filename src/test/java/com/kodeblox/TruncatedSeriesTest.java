@@ -0,0 +1,150 @@
+/*Copyright 2016 Sayak Mukhopadhyay
+
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+
+    http://www.apache.org/licenses/LICENSE-2.0
+
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.*/
+
+
+package com.kodeblox;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import org.junit.Test;
+
+public class TruncatedSeriesTest {
+
+	// erf (x) = 2 * x / sqrt(PI) * sum of (-x ^ 2) ^ n / (n! * (2 * n + 1))
+	private static final TruncatedSeries ERF_SERIES = new TruncatedSeries() {
+		@Override
+		protected long p(int n) {
+			return 1 - 2 * n;
+		}
+
+		@Override
+		protected long q(int n) {
+			return n * (2L * n + 1);
+		}
+	};
+
+	// J0 (x) = sum of (-x ^ 2 / 4) ^ n / n! ^ 2
+	private static final TruncatedSeries BESSEL_J0_SERIES = new TruncatedSeries() {
+		@Override
+		protected long p(int n) {
+			return -1;
+		}
+
+		@Override
+		protected long q(int n) {
+			return (long) n * n;
+		}
+	};
+
+	// x ^ n / n!
+	private static final TruncatedSeries EXP_SERIES = new TruncatedSeries() {
+		@Override
+		protected long p(int n) {
+			return 1;
+		}
+
+		@Override
+		protected long q(int n) {
+			return n;
+		}
+	};
+
+	private MathContext mc;
+	private MathContext newMc;
+
+	public TruncatedSeriesTest() {
+		mc = new MathContext(32);
+		newMc = new MathContext(40);
+	}
+
+	@Test
+	public void testErf() {
+		String[][] cases = { { "0.5", "0.52049987781304653768274665389196" },
+				{ "2", "0.99532226501895273416206925636725" }, { "3", "0.99997790950300141455862722387042" } };
+		BigDecimal sqrtPi = BigDecimalFunctions.sqrt(BigDecimalFunctions.pi(newMc), newMc);
+		for (String[] test : cases) {
+			BigDecimal x = new BigDecimal(test[0]);
+			BigDecimal actual = ERF_SERIES.sum(x.multiply(x), newMc).multiply(x.multiply(BigDecimal.valueOf(2)))
+					.divide(sqrtPi, newMc).round(mc);
+
+			System.out.println("Testing erf series with parameter as " + test[0]);
+			assertEquals(new BigDecimal(test[1]), actual);
+		}
+	}
+
+	@Test
+	public void testBesselJ0() {
+		String[][] cases = { { "1", "0.76519768655796655144971752610266" },
+				{ "10", "-0.24593576445134833519776086248533" },
+				{ "2.4048", "0.000013268284301081560893518334457565" } };
+		for (String[] test : cases) {
+			BigDecimal x = new BigDecimal(test[0]);
+			BigDecimal actual = BESSEL_J0_SERIES.sum(x.multiply(x).divide(BigDecimal.valueOf(4)), newMc).round(mc);
+
+			System.out.println("Testing Bessel J0 series with parameter as " + test[0]);
+			assertEquals(new BigDecimal(test[1]), actual);
+		}
+	}
+
+	@Test
+	public void testSameAsExp() {
+		String[] exponents = { "0.25", "-0.75", "1.5", "-20", "1E-20" };
+		for (String exponent : exponents) {
+			BigDecimal x = new BigDecimal(exponent);
+			System.out.println("Testing exp series with parameter as " + exponent);
+			assertEquals(BigDecimalFunctions.exp(x, mc), EXP_SERIES.sum(x, newMc).round(mc));
+		}
+
+		// Summed by binary splitting
+		MathContext highMc = new MathContext(600);
+		BigDecimal x = new BigDecimal("0.25");
+		assertEquals(BigDecimalFunctions.exp(x, highMc),
+				EXP_SERIES.sum(x, new MathContext(610)).round(highMc));
+	}
+
+	@Test
+	public void testTerminating() {
+
+		// (1 + y) ^ 3 = sum of 3! / (n! * (3 - n)!) * y ^ n
+		TruncatedSeries cube = new TruncatedSeries() {
+			@Override
+			protected long p(int n) {
+				return 4 - n;
+			}
+
+			@Override
+			protected long q(int n) {
+				return n;
+			}
+		};
+		assertEquals(0, BigDecimal.valueOf(27).compareTo(cube.sum(BigDecimal.valueOf(2), mc)));
+	}
+
+	@Test(expected = ArithmeticException.class)
+	public void testDivergent() {
+		new TruncatedSeries() {
+			@Override
+			protected long p(int n) {
+				return n;
+			}
+
+			@Override
+			protected long q(int n) {
+				return 1;
+			}
+		}.sum(new BigDecimal("0.5"), mc);
+	}
+}